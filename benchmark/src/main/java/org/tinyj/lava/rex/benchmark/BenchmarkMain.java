@@ -0,0 +1,28 @@
+package org.tinyj.lava.rex.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar.
+ * <p>
+ * Runs the benchmarks selected on the command line (all by default) with
+ * the GC profiler attached, so allocation rates are reported next to
+ * throughput and latency. Any other JMH command line option is honored.
+ * <p>
+ * E.g. {@code java -jar target/benchmarks.jar RexBridgeBenchmark.function -p path=CHECKED}
+ */
+public class BenchmarkMain {
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    new Runner(new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build())
+        .run();
+  }
+}
@@ -0,0 +1,144 @@
+package org.tinyj.lava.rex.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.tinyj.lava.*;
+import org.tinyj.lava.rex.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures iterating in-memory collections with a Lava lambda.
+ * <p>
+ * For lists, arrays and maps four variants are measured:
+ * <ul>
+ * <li>{@code plain}: a hand written loop invoking the Lava lambda</li>
+ * <li>{@code loop}: the {@link Rex#forEach} loop helpers</li>
+ * <li>{@code bridged}: the collection's own {@code forEach} with a bridged
+ *     lambda, e.g. {@code list.forEach(Rex.rex(checked))}</li>
+ * <li>{@code stream}: the stream equivalent, e.g.
+ *     {@code list.stream().forEach(Rex.rex(checked))}</li>
+ * </ul>
+ * The lambdas never fail, only the cost of the loop is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LoopBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  public int size;
+
+  private List<String> list;
+  private String[] array;
+  private Map<String, String> map;
+  private long sum;
+
+  private final LavaConsumer<String, Exception> consumer = x -> sum += x.length();
+  private final LavaBiConsumer<String, String, Exception> biConsumer = (x, y) -> sum += y.length();
+
+  private RexConsumer<String, Exception> rexConsumer;
+  private RexBiConsumer<String, String, Exception> rexBiConsumer;
+  private RexConsumer<Map.Entry<String, String>, Exception> rexEntryConsumer;
+
+  @Setup
+  public void setup() {
+    list = new ArrayList<>(size);
+    map = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      final String element = Integer.toString(i);
+      list.add(element);
+      map.put(element, element);
+    }
+    array = list.toArray(new String[0]);
+    rexConsumer = Rex.rex(consumer);
+    rexBiConsumer = Rex.rex(biConsumer);
+    rexEntryConsumer = Rex.rex((Map.Entry<String, String> entry) -> biConsumer.checkedAccept(entry.getKey(), entry.getValue()));
+  }
+
+  @Benchmark
+  public long list_plain() throws Exception {
+    sum = 0;
+    for (int i = 0, n = list.size(); i < n; i++) {
+      consumer.checkedAccept(list.get(i));
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long list_loop() throws Exception {
+    sum = 0;
+    Rex.forEach(list, consumer);
+    return sum;
+  }
+
+  @Benchmark
+  public long list_bridged() {
+    sum = 0;
+    list.forEach(rexConsumer);
+    return sum;
+  }
+
+  @Benchmark
+  public long list_stream() {
+    sum = 0;
+    list.stream().forEach(rexConsumer);
+    return sum;
+  }
+
+  @Benchmark
+  public long array_plain() throws Exception {
+    sum = 0;
+    for (String x : array) {
+      consumer.checkedAccept(x);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long array_loop() throws Exception {
+    sum = 0;
+    Rex.forEach(array, consumer);
+    return sum;
+  }
+
+  @Benchmark
+  public long array_stream() {
+    sum = 0;
+    Arrays.stream(array).forEach(rexConsumer);
+    return sum;
+  }
+
+  @Benchmark
+  public long map_plain() throws Exception {
+    sum = 0;
+    for (Map.Entry<String, String> entry : map.entrySet()) {
+      biConsumer.checkedAccept(entry.getKey(), entry.getValue());
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long map_loop() throws Exception {
+    sum = 0;
+    Rex.forEach(map, biConsumer);
+    return sum;
+  }
+
+  @Benchmark
+  public long map_bridged() {
+    sum = 0;
+    map.forEach(rexBiConsumer);
+    return sum;
+  }
+
+  @Benchmark
+  public long map_stream() {
+    sum = 0;
+    map.entrySet().stream().forEach(rexEntryConsumer);
+    return sum;
+  }
+}
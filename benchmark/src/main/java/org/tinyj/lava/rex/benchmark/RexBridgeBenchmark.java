@@ -0,0 +1,384 @@
+package org.tinyj.lava.rex.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.tinyj.lava.*;
+import org.tinyj.lava.rex.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.*;
+
+import static org.tinyj.lava.rex.Rex.rex;
+
+/**
+ * Measures the cost of the Rex bridges compared to plain
+ * {@code java.util.function} lambdas.
+ * <p>
+ * For each of the nine bridged interfaces three variants are measured:
+ * <ul>
+ * <li>{@code plain}: a {@code java.util.function} lambda with the same body,
+ *     checked failures are wrapped by hand</li>
+ * <li>{@code rex}: the default method of the Rex interface returned by
+ *     {@link Rex#rex}</li>
+ * <li>{@code invoke}: the corresponding {@link Rex#invoke} convenience method</li>
+ * </ul>
+ * Each variant runs on the {@link Path#SUCCESS no-exception path}, the
+ * {@link Path#RUNTIME RuntimeException fall-through path} and the
+ * {@link Path#CHECKED checked-exception-wrapping path}. Raised exceptions
+ * are preallocated so only the cost of the bridge itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RexBridgeBenchmark {
+
+  public enum Path {
+    /** lambda returns normally */
+    SUCCESS,
+    /** lambda raises a {@link RuntimeException} */
+    RUNTIME,
+    /** lambda raises a checked exception */
+    CHECKED
+  }
+
+  @Param
+  public Path path;
+
+  private Exception failure;
+
+  private final String x = "x";
+  private final String y = "y";
+
+  private final LavaRunnable<Exception> lavaRunnable = () -> raise();
+  private final LavaSupplier<String, Exception> lavaSupplier = () -> raise(x);
+  private final LavaFunction<String, String, Exception> lavaFunction = x -> raise(x);
+  private final LavaBiFunction<String, String, String, Exception> lavaBiFunction = (x, y) -> raise(y);
+  private final LavaConsumer<String, Exception> lavaConsumer = x -> raise();
+  private final LavaBiConsumer<String, String, Exception> lavaBiConsumer = (x, y) -> raise();
+  private final LavaCondition<Exception> lavaCondition = () -> raise(true);
+  private final LavaPredicate<String, Exception> lavaPredicate = x -> raise(true);
+  private final LavaBiPredicate<String, String, Exception> lavaBiPredicate = (x, y) -> raise(true);
+
+  private final Runnable plainRunnable = () -> raiseUnchecked();
+  private final Supplier<String> plainSupplier = () -> raiseUnchecked(x);
+  private final Function<String, String> plainFunction = x -> raiseUnchecked(x);
+  private final BiFunction<String, String, String> plainBiFunction = (x, y) -> raiseUnchecked(y);
+  private final Consumer<String> plainConsumer = x -> raiseUnchecked();
+  private final BiConsumer<String, String> plainBiConsumer = (x, y) -> raiseUnchecked();
+  private final BooleanSupplier plainCondition = () -> raiseUnchecked(true);
+  private final Predicate<String> plainPredicate = x -> raiseUnchecked(true);
+  private final BiPredicate<String, String> plainBiPredicate = (x, y) -> raiseUnchecked(true);
+
+  private RexRunnable<Exception> rexRunnable;
+  private RexSupplier<String, Exception> rexSupplier;
+  private RexFunction<String, String, Exception> rexFunction;
+  private RexBiFunction<String, String, String, Exception> rexBiFunction;
+  private RexConsumer<String, Exception> rexConsumer;
+  private RexBiConsumer<String, String, Exception> rexBiConsumer;
+  private RexCondition<Exception> rexCondition;
+  private RexPredicate<String, Exception> rexPredicate;
+  private RexBiPredicate<String, String, Exception> rexBiPredicate;
+
+  @Setup
+  public void setup() {
+    switch (path) {
+      case SUCCESS:
+        failure = null;
+        break;
+      case RUNTIME:
+        failure = new IllegalStateException();
+        break;
+      case CHECKED:
+        failure = new IOException();
+        break;
+    }
+    rexRunnable = rex(lavaRunnable);
+    rexSupplier = rex(lavaSupplier);
+    rexFunction = rex(lavaFunction);
+    rexBiFunction = rex(lavaBiFunction);
+    rexConsumer = rex(lavaConsumer);
+    rexBiConsumer = rex(lavaBiConsumer);
+    rexCondition = rex(lavaCondition);
+    rexPredicate = rex(lavaPredicate);
+    rexBiPredicate = rex(lavaBiPredicate);
+  }
+
+  @Benchmark
+  public Object runnable_plain() {
+    try {
+      plainRunnable.run();
+      return null;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object runnable_rex() {
+    try {
+      rexRunnable.run();
+      return null;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object runnable_invoke() {
+    try {
+      Rex.invoke(lavaRunnable);
+      return null;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object supplier_plain() {
+    try {
+      return plainSupplier.get();
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object supplier_rex() {
+    try {
+      return rexSupplier.get();
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object supplier_invoke() {
+    try {
+      return Rex.invoke(lavaSupplier);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object function_plain() {
+    try {
+      return plainFunction.apply(x);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object function_rex() {
+    try {
+      return rexFunction.apply(x);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object function_invoke() {
+    try {
+      return Rex.invoke(lavaFunction, x);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object biFunction_plain() {
+    try {
+      return plainBiFunction.apply(x, y);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object biFunction_rex() {
+    try {
+      return rexBiFunction.apply(x, y);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object biFunction_invoke() {
+    try {
+      return Rex.invoke(lavaBiFunction, x, y);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object consumer_plain() {
+    try {
+      plainConsumer.accept(x);
+      return null;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object consumer_rex() {
+    try {
+      rexConsumer.accept(x);
+      return null;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object consumer_invoke() {
+    try {
+      Rex.invoke(lavaConsumer, x);
+      return null;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object biConsumer_plain() {
+    try {
+      plainBiConsumer.accept(x, y);
+      return null;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object biConsumer_rex() {
+    try {
+      rexBiConsumer.accept(x, y);
+      return null;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object biConsumer_invoke() {
+    try {
+      Rex.invoke(lavaBiConsumer, x, y);
+      return null;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object condition_plain() {
+    try {
+      return plainCondition.getAsBoolean();
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object condition_rex() {
+    try {
+      return rexCondition.getAsBoolean();
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object condition_invoke() {
+    try {
+      return Rex.invoke(lavaCondition);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object predicate_plain() {
+    try {
+      return plainPredicate.test(x);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object predicate_rex() {
+    try {
+      return rexPredicate.test(x);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object predicate_invoke() {
+    try {
+      return Rex.invoke(lavaPredicate, x);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object biPredicate_plain() {
+    try {
+      return plainBiPredicate.test(x, y);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object biPredicate_rex() {
+    try {
+      return rexBiPredicate.test(x, y);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object biPredicate_invoke() {
+    try {
+      return Rex.invoke(lavaBiPredicate, x, y);
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  private void raise() throws Exception {
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private <T> T raise(T result) throws Exception {
+    raise();
+    return result;
+  }
+
+  private void raiseUnchecked() {
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure != null) {
+      throw new WrappedCheckedException(failure);
+    }
+  }
+
+  private <T> T raiseUnchecked(T result) {
+    raiseUnchecked();
+    return result;
+  }
+}
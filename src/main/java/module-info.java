@@ -1,5 +1,6 @@
 module org.tinyj.lava.rex {
   exports org.tinyj.lava.rex;
 
+  requires java.management;
   requires org.tinyj.lava.api;
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package org.tinyj.lava.rex;
+
+import java.util.Objects;
+
+/**
+ * The outcome of a checked invocation: either a result or the checked
+ * exception raised.
+ * <p>
+ * Attempts are created by {@link Rex#attempt} and the {@code try} methods
+ * of the Rex interfaces, e.g. {@link RexFunction#tryApply}. In loops where
+ * failures are expected, returning the exception as a value avoids
+ * wrapping and rethrowing it. Unchecked exceptions are never captured.
+ * <p>
+ * Successful attempts with {@code null}, {@code true} or {@code false}
+ * results are shared instances, so bridging a predicate allocates nothing
+ * on success.
+ *
+ * @param <R> result type
+ * @param <E> upper limit of the captured exception type
+ */
+public final class Attempt<R, E extends Exception> {
+
+  private static final Attempt<?, ?> NULL = new Attempt<>(null, null);
+  private static final Attempt<Boolean, ?> TRUE = new Attempt<>(true, null);
+  private static final Attempt<Boolean, ?> FALSE = new Attempt<>(false, null);
+
+  private final R result;
+  private final E failure;
+
+  private Attempt(R result, E failure) {
+    this.result = result;
+    this.failure = failure;
+  }
+
+  /**
+   * @param <R> result type
+   * @param <E> upper exception limit
+   * @param result result of the attempt
+   * @return successful attempt yielding {@code result}
+   */
+  @SuppressWarnings("unchecked")
+  public static <R, E extends Exception> Attempt<R, E> success(R result) {
+    return result == null ? (Attempt<R, E>) NULL : new Attempt<>(result, null);
+  }
+
+  /**
+   * @param <E> upper exception limit
+   * @param result result of the attempt
+   * @return successful attempt yielding {@code result}, a shared instance
+   */
+  @SuppressWarnings("unchecked")
+  public static <E extends Exception> Attempt<Boolean, E> success(boolean result) {
+    return (Attempt<Boolean, E>) (result ? TRUE : FALSE);
+  }
+
+  /**
+   * @param <R> result type
+   * @param <E> upper exception limit
+   * @param failure exception raised by the attempt
+   * @return failed attempt
+   */
+  public static <R, E extends Exception> Attempt<R, E> failure(E failure) {
+    return new Attempt<>(null, Objects.requireNonNull(failure, "failure"));
+  }
+
+  /**
+   * @return {@code true} if the attempt yielded a result
+   */
+  public boolean isSuccess() { return failure == null; }
+
+  /**
+   * @return {@code true} if the attempt raised an exception
+   */
+  public boolean isFailure() { return failure != null; }
+
+  /**
+   * @return the attempt's result
+   * @throws E the exception raised by the attempt
+   */
+  public R get() throws E {
+    if (failure != null) {
+      throw failure;
+    }
+    return result;
+  }
+
+  /**
+   * @param other value to return if the attempt failed
+   * @return the attempt's result if successful, {@code other} otherwise
+   */
+  public R orElse(R other) { return failure == null ? result : other; }
+
+  /**
+   * @return the exception raised by the attempt, {@code null} if successful
+   */
+  public E failure() { return failure; }
+
+  @Override
+  public String toString() {
+    return failure == null ? "Success[" + result + "]" : "Failure[" + failure + "]";
+  }
+}
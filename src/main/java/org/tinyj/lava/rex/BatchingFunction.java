@@ -0,0 +1,268 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.LavaFunction;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link RexFunction} coalescing concurrent single-key lookups into
+ * bulk calls.
+ * <p>
+ * Keys requested concurrently within a short {@link Builder#window(Duration)
+ * window} are collected into one batch, duplicates removed, and loaded by a
+ * single invocation of the bulk function. A batch is loaded as soon as it
+ * reaches the {@link Builder#maxBatchSize(int) maximum size}, otherwise
+ * once the window of the caller opening it has passed. The bulk function
+ * is invoked on the thread of the caller completing the batch, no
+ * background thread is involved.
+ * <p>
+ * Each caller receives the value mapped to its key, {@code null} if the
+ * bulk function returned no mapping. If the bulk function fails, all
+ * callers of the batch receive its exception. Bulk functions able to fail
+ * per key return {@link Attempt}s, see
+ * {@link Builder#buildAttempting(LavaFunction)}.
+ * <p>
+ * E.g.
+ * <pre>{@code
+ * RexFunction<Long, User, SQLException> users = BatchingFunction.builder()
+ *     .maxBatchSize(100)
+ *     .window(Duration.ofMillis(2))
+ *     .build(userDao::findByIds);
+ * }</pre>
+ *
+ * @param <X> the key type
+ * @param <R> the result type
+ * @param <E> upper limit of thrown exception types
+ */
+public final class BatchingFunction<X, R, E extends Exception> implements RexFunction<X, R, E> {
+
+  private final LavaFunction<? super List<X>, ? extends Map<? super X, ?>, ? extends E> bulk;
+  private final boolean attempting;
+  private final int maxBatchSize;
+  private final long windowNanos;
+  private final AtomicReference<Batch<X>> open = new AtomicReference<>();
+
+  private BatchingFunction(Builder builder,
+                           LavaFunction<? super List<X>, ? extends Map<? super X, ?>, ? extends E> bulk,
+                           boolean attempting) {
+    this.bulk = Objects.requireNonNull(bulk, "bulk");
+    this.attempting = attempting;
+    this.maxBatchSize = builder.maxBatchSize;
+    this.windowNanos = builder.windowNanos;
+  }
+
+  /**
+   * @return builder for a new batching function
+   */
+  public static Builder builder() { return new Builder(); }
+
+  /**
+   * Look up {@code x} as part of a batch.
+   *
+   * @param x key to look up, not {@code null}
+   * @return value mapped to {@code x} by the bulk function
+   * @throws E checked exception raised by the bulk function or, if
+   *     attempting, for {@code x}
+   */
+  @Override
+  public R checkedApply(X x) throws E {
+    if (x == null) {
+      throw new NullPointerException("key");
+    }
+    for (; ; ) {
+      Batch<X> batch = open.get();
+      if (batch == null) {
+        batch = new Batch<>();
+        if (!open.compareAndSet(null, batch)) {
+          continue;
+        }
+      }
+      final CompletableFuture<Object> slot = batch.join(x, maxBatchSize);
+      if (slot == null) {
+        open.compareAndSet(batch, null);
+        continue;
+      }
+      if (batch.isFilledBy(slot)) {
+        open.compareAndSet(batch, null);
+        load(batch);
+      } else if (slot == batch.first) {
+        awaitWindow(slot);
+        if (batch.seal()) {
+          open.compareAndSet(batch, null);
+          load(batch);
+        }
+      }
+      return result(slot);
+    }
+  }
+
+  private void awaitWindow(CompletableFuture<Object> slot) {
+    try {
+      slot.get(windowNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException | ExecutionException e) {
+      // window has passed or batch completed
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void load(Batch<X> batch) {
+    final Map<X, CompletableFuture<Object>> slots = batch.slots;
+    try {
+      final Map<? super X, ?> results = bulk.checkedApply(Collections.unmodifiableList(new ArrayList<>(slots.keySet())));
+      for (Map.Entry<X, CompletableFuture<Object>> slot : slots.entrySet()) {
+        slot.getValue().complete(results == null ? null : results.get(slot.getKey()));
+      }
+    } catch (Throwable e) {
+      for (CompletableFuture<Object> slot : slots.values()) {
+        slot.completeExceptionally(e);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private R result(CompletableFuture<Object> slot) throws E {
+    final Object result;
+    try {
+      result = slot.join();
+    } catch (CompletionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw Rex.<E>sneakyThrow((Exception) cause);
+    }
+    if (attempting) {
+      return result == null ? null : ((Attempt<? extends R, ? extends E>) result).get();
+    }
+    return (R) result;
+  }
+
+  /**
+   * Keys collected for one bulk call. Once sealed no further key is
+   * accepted. A batch sealed because it is full is loaded by the caller
+   * filling it, otherwise by the caller sealing it after the window.
+   */
+  private static final class Batch<X> {
+
+    final Map<X, CompletableFuture<Object>> slots = new LinkedHashMap<>();
+    CompletableFuture<Object> first;
+    private CompletableFuture<Object> filledBy;
+    private boolean sealed;
+
+    /**
+     * @return the slot to await the result for {@code x} with,
+     *     {@code null} if the batch is sealed
+     */
+    synchronized CompletableFuture<Object> join(X x, int maxBatchSize) {
+      if (sealed) {
+        return null;
+      }
+      CompletableFuture<Object> slot = slots.get(x);
+      if (slot == null) {
+        slot = new CompletableFuture<>();
+        slots.put(x, slot);
+        if (first == null) {
+          first = slot;
+        }
+        if (slots.size() >= maxBatchSize) {
+          sealed = true;
+          filledBy = slot;
+        }
+      }
+      return slot;
+    }
+
+    /**
+     * @return {@code true} if the batch was filled by the caller awaiting
+     *     {@code slot}
+     */
+    synchronized boolean isFilledBy(CompletableFuture<Object> slot) { return filledBy == slot; }
+
+    /**
+     * @return {@code true} if the batch was open and is sealed now
+     */
+    synchronized boolean seal() {
+      if (sealed) {
+        return false;
+      }
+      sealed = true;
+      return true;
+    }
+  }
+
+  /**
+   * Builder of {@link BatchingFunction}s. By default batches hold up to 100
+   * keys and are loaded at the latest 1ms after they were opened.
+   */
+  public static final class Builder {
+
+    private int maxBatchSize = 100;
+    private long windowNanos = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private Builder() {}
+
+    /**
+     * @param maxBatchSize maximum number of distinct keys per bulk call
+     * @return this builder
+     */
+    public Builder maxBatchSize(int maxBatchSize) {
+      if (maxBatchSize < 1) {
+        throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+      }
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * @param window duration to collect keys for after opening a batch
+     * @return this builder
+     */
+    public Builder window(Duration window) {
+      if (window.isNegative()) {
+        throw new IllegalArgumentException("negative window: " + window);
+      }
+      this.windowNanos = window.toNanos();
+      return this;
+    }
+
+    /**
+     * @param <X> the key type
+     * @param <R> the result type
+     * @param <E> upper exception limit
+     * @param bulk function loading the values of a list of distinct keys
+     * @return batching function
+     */
+    public <X, R, E extends Exception> BatchingFunction<X, R, E>
+    build(LavaFunction<? super List<X>, ? extends Map<? super X, ? extends R>, ? extends E> bulk) {
+      return new BatchingFunction<>(this, bulk, false);
+    }
+
+    /**
+     * Build a batching function from a bulk function reporting success or
+     * failure per key.
+     *
+     * @param <X> the key type
+     * @param <R> the result type
+     * @param <E> upper exception limit
+     * @param bulk function loading the values of a list of distinct keys
+     * @return batching function
+     */
+    public <X, R, E extends Exception> BatchingFunction<X, R, E>
+    buildAttempting(LavaFunction<? super List<X>, ? extends Map<? super X, ? extends Attempt<? extends R, ? extends E>>, ? extends E> bulk) {
+      return new BatchingFunction<>(this, bulk, true);
+    }
+  }
+}
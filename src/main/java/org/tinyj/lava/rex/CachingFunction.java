@@ -0,0 +1,456 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.LavaBiFunction;
+import org.tinyj.lava.LavaFunction;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link RexFunction} caching the results of an expensive function.
+ * <p>
+ * Results are kept in a {@link ConcurrentHashMap}, cache hits never block.
+ * Concurrent misses for the same key are coalesced: the function is
+ * invoked once and all callers receive its result or checked exception.
+ * Checked exceptions are only cached if configured to.
+ * <p>
+ * If the cache is bounded, each new entry competes with the oldest entry
+ * for admission. The entry accessed less frequently, as estimated by a
+ * {@link FrequencySketch}, is evicted. So a burst of one-off keys does not
+ * flush frequently used entries.
+ * <p>
+ * E.g.
+ * <pre>{@code
+ * RexFunction<String, Schema, IOException> schemas = CachingFunction.builder()
+ *     .maximumSize(1_000)
+ *     .expireAfterWrite(Duration.ofMinutes(10))
+ *     .build(SchemaLoader::load);
+ * }</pre>
+ *
+ * @param <X> the function's argument type
+ * @param <R> the function's result type
+ * @param <E> upper limit of thrown exception types
+ */
+public final class CachingFunction<X, R, E extends Exception> implements RexFunction<X, R, E> {
+
+  private static final Object NULL = new Object();
+  private static final long NEVER = Long.MAX_VALUE;
+
+  private final LavaFunction<? super X, ? extends R, ? extends E> function;
+  private final long maximumSize;
+  private final long expireAfterWriteNanos;
+  private final long failureTtlNanos;
+  private final Strength valueStrength;
+
+  private final ConcurrentHashMap<Object, Entry<R, E>> entries = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Entry<R, E>> admissionOrder = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+  private final ReentrantLock maintenance = new ReentrantLock();
+  private final FrequencySketch sketch;
+
+  private CachingFunction(Builder builder, LavaFunction<? super X, ? extends R, ? extends E> function) {
+    this.function = Objects.requireNonNull(function, "function");
+    this.maximumSize = builder.maximumSize;
+    this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+    this.failureTtlNanos = builder.failureTtlNanos;
+    this.valueStrength = builder.valueStrength;
+    this.sketch = maximumSize == NEVER ? null : new FrequencySketch(maximumSize);
+  }
+
+  /**
+   * @return builder for a new cache
+   */
+  public static Builder builder() { return new Builder(); }
+
+  /**
+   * Return the cached result for {@code x} or compute it.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws E checked exception raised by the function, possibly cached
+   * @throws IllegalStateException if invoked by the function for the key
+   *     it is computing the result of
+   */
+  @Override
+  public R checkedApply(X x) throws E {
+    final Object key = x == null ? NULL : x;
+    if (sketch != null) {
+      sketch.increment(key.hashCode());
+    }
+    for (; ; ) {
+      Entry<R, E> entry = entries.get(key);
+      if (entry == null) {
+        entry = new Entry<>(key);
+        final Entry<R, E> existing = entries.putIfAbsent(key, entry);
+        if (existing == null) {
+          return load(entry, x);
+        }
+        entry = existing;
+      }
+      final CompletableFuture<Attempt<R, E>> loading = entry.loading;
+      if (loading != null) {
+        if (entry.loader == Thread.currentThread()) {
+          throw new IllegalStateException("Recursive load");
+        }
+        return await(loading);
+      }
+      if (entry.expiresAt == NEVER || System.nanoTime() - entry.expiresAt < 0) {
+        if (entry.failure != null) {
+          throw entry.failure;
+        }
+        final Object value = entry.value();
+        if (value != null) {
+          return unmaskNull(value);
+        }
+      }
+      entries.remove(key, entry);
+    }
+  }
+
+  /**
+   * Discard the cached result for {@code x}, if any.
+   *
+   * @param x argument to discard the result for
+   */
+  public void invalidate(X x) { entries.remove(x == null ? NULL : x); }
+
+  /**
+   * Discard all cached results.
+   */
+  public void invalidateAll() { entries.clear(); }
+
+  /**
+   * @return number of cached entries including expired and collected
+   *     entries not purged yet
+   */
+  public long estimatedSize() { return entries.size(); }
+
+  @SuppressWarnings("unchecked")
+  private R load(Entry<R, E> entry, X x) throws E {
+    final CompletableFuture<Attempt<R, E>> loading = entry.loading;
+    Attempt<R, E> outcome;
+    try {
+      outcome = Attempt.success(function.checkedApply(x));
+    } catch (RuntimeException | Error e) {
+      entries.remove(entry.key, entry);
+      entry.loader = null;
+      entry.loading = null;
+      loading.completeExceptionally(e);
+      throw e;
+    } catch (Exception e) {
+      outcome = Attempt.failure((E) e);
+    }
+    final long now = System.nanoTime();
+    if (outcome.isSuccess()) {
+      entry.store(maskNull(outcome.orElse(null)), valueStrength, collected);
+      entry.expiresAt = expireAfterWriteNanos == NEVER ? NEVER : now + expireAfterWriteNanos;
+    } else {
+      entry.failure = outcome.failure();
+      entry.expiresAt = failureTtlNanos == NEVER ? NEVER : now + failureTtlNanos;
+    }
+    entry.loader = null;
+    entry.loading = null;
+    loading.complete(outcome);
+    if (outcome.isFailure() && failureTtlNanos == 0) {
+      entries.remove(entry.key, entry);
+    } else if (sketch != null) {
+      admissionOrder.add(entry);
+      queued.incrementAndGet();
+    }
+    maintain(entry);
+    return outcome.get();
+  }
+
+  private static <R, E extends Exception> R await(CompletableFuture<Attempt<R, E>> loading) throws E {
+    try {
+      return loading.join().get();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw (RuntimeException) e.getCause();
+    }
+  }
+
+  /**
+   * Purge collected values and evict entries exceeding the maximum size.
+   * Skipped if another thread is maintaining the cache, so no caller ever
+   * waits for it.
+   */
+  private void maintain(Entry<R, E> candidate) {
+    if (!maintenance.tryLock()) {
+      return;
+    }
+    try {
+      Reference<?> reference;
+      while ((reference = collected.poll()) != null) {
+        final Entry<?, ?> entry = ((ValueReference) reference).entry();
+        entries.remove(entry.key, entry);
+      }
+      if (sketch != null) {
+        evict(candidate);
+      }
+    } finally {
+      maintenance.unlock();
+    }
+  }
+
+  private void evict(Entry<R, E> candidate) {
+    while (entries.size() > maximumSize) {
+      final Entry<R, E> victim = admissionOrder.poll();
+      if (victim == null) {
+        return;
+      }
+      queued.decrementAndGet();
+      if (entries.get(victim.key) != victim) {
+        continue;
+      }
+      if (candidate != null && candidate != victim && entries.get(candidate.key) == candidate
+          && sketch.frequency(candidate.key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+        admissionOrder.add(victim);
+        queued.incrementAndGet();
+        entries.remove(candidate.key, candidate);
+        candidate = null;
+      } else {
+        entries.remove(victim.key, victim);
+      }
+    }
+    if (queued.get() > 2 * entries.size() + 16) {
+      for (Iterator<Entry<R, E>> i = admissionOrder.iterator(); i.hasNext(); ) {
+        final Entry<R, E> entry = i.next();
+        if (entries.get(entry.key) != entry) {
+          i.remove();
+          queued.decrementAndGet();
+        }
+      }
+    }
+  }
+
+  private static Object maskNull(Object value) { return value == null ? NULL : value; }
+
+  @SuppressWarnings("unchecked")
+  private static <R> R unmaskNull(Object value) { return value == NULL ? null : (R) value; }
+
+  /**
+   * A cache entry. While loading, {@link #loading} is non-null and
+   * completed by the loading thread, {@link #loader}. Writing {@code null}
+   * to it publishes the other fields.
+   */
+  private static final class Entry<R, E extends Exception> {
+
+    final Object key;
+    volatile CompletableFuture<Attempt<R, E>> loading = new CompletableFuture<>();
+    Thread loader = Thread.currentThread();
+    private Object value;
+    E failure;
+    long expiresAt;
+
+    Entry(Object key) { this.key = key; }
+
+    void store(Object value, Strength strength, ReferenceQueue<Object> queue) {
+      switch (strength) {
+        case SOFT:
+          this.value = value == NULL ? NULL : new SoftValue(value, queue, this);
+          break;
+        case WEAK:
+          this.value = value == NULL ? NULL : new WeakValue(value, queue, this);
+          break;
+        default:
+          this.value = value;
+      }
+    }
+
+    /**
+     * @return the stored value, {@code null} if it has been collected
+     */
+    Object value() {
+      return value instanceof ValueReference ? ((Reference<?>) value).get() : value;
+    }
+  }
+
+  private interface ValueReference {
+    Entry<?, ?> entry();
+  }
+
+  private static final class SoftValue extends SoftReference<Object> implements ValueReference {
+
+    private final Entry<?, ?> entry;
+
+    SoftValue(Object value, ReferenceQueue<Object> queue, Entry<?, ?> entry) {
+      super(value, queue);
+      this.entry = entry;
+    }
+
+    @Override
+    public Entry<?, ?> entry() { return entry; }
+  }
+
+  private static final class WeakValue extends WeakReference<Object> implements ValueReference {
+
+    private final Entry<?, ?> entry;
+
+    WeakValue(Object value, ReferenceQueue<Object> queue, Entry<?, ?> entry) {
+      super(value, queue);
+      this.entry = entry;
+    }
+
+    @Override
+    public Entry<?, ?> entry() { return entry; }
+  }
+
+  private enum Strength { STRONG, SOFT, WEAK }
+
+  /**
+   * Builder of {@link CachingFunction}s. By default caches are unbounded,
+   * entries never expire, values are held strongly and checked exceptions
+   * are not cached.
+   */
+  public static final class Builder {
+
+    private long maximumSize = NEVER;
+    private long expireAfterWriteNanos = NEVER;
+    private long failureTtlNanos = 0;
+    private Strength valueStrength = Strength.STRONG;
+
+    private Builder() {}
+
+    /**
+     * @param maximumSize maximum number of cached entries
+     * @return this builder
+     */
+    public Builder maximumSize(long maximumSize) {
+      if (maximumSize < 0) {
+        throw new IllegalArgumentException("negative maximum size: " + maximumSize);
+      }
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * @param ttl duration after which a computed result expires
+     * @return this builder
+     */
+    public Builder expireAfterWrite(Duration ttl) {
+      this.expireAfterWriteNanos = nanos(ttl);
+      return this;
+    }
+
+    /**
+     * Hold values by {@link SoftReference}, so the garbage collector may
+     * discard them when memory runs low.
+     *
+     * @return this builder
+     */
+    public Builder softValues() {
+      this.valueStrength = Strength.SOFT;
+      return this;
+    }
+
+    /**
+     * Hold values by {@link WeakReference}, so they are discarded once no
+     * longer referenced elsewhere.
+     *
+     * @return this builder
+     */
+    public Builder weakValues() {
+      this.valueStrength = Strength.WEAK;
+      return this;
+    }
+
+    /**
+     * Cache checked exceptions raised until the entry is evicted.
+     *
+     * @return this builder
+     */
+    public Builder cachingFailures() {
+      this.failureTtlNanos = NEVER;
+      return this;
+    }
+
+    /**
+     * Cache checked exceptions raised for {@code ttl}.
+     *
+     * @param ttl duration to cache failures for
+     * @return this builder
+     */
+    public Builder cachingFailures(Duration ttl) {
+      this.failureTtlNanos = nanos(ttl);
+      return this;
+    }
+
+    /**
+     * @param <X> the function's argument type
+     * @param <R> the function's result type
+     * @param <E> upper exception limit
+     * @param function function to cache the results of
+     * @return caching function
+     */
+    public <X, R, E extends Exception> CachingFunction<X, R, E>
+    build(LavaFunction<? super X, ? extends R, ? extends E> function) {
+      return new CachingFunction<>(this, function);
+    }
+
+    /**
+     * Build a cache keyed by both arguments of {@code biFunction}.
+     *
+     * @param <X> the bi-function's first argument type
+     * @param <Y> the bi-function's second argument type
+     * @param <R> the bi-function's result type
+     * @param <E> upper exception limit
+     * @param biFunction bi-function to cache the results of
+     * @return caching bi-function
+     */
+    public <X, Y, R, E extends Exception> RexBiFunction<X, Y, R, E>
+    build(LavaBiFunction<? super X, ? super Y, ? extends R, ? extends E> biFunction) {
+      Objects.requireNonNull(biFunction, "biFunction");
+      final CachingFunction<Pair<X, Y>, R, E> cache = build(pair -> biFunction.checkedApply(pair.x, pair.y));
+      return (x, y) -> cache.checkedApply(new Pair<>(x, y));
+    }
+
+    private static long nanos(Duration ttl) {
+      if (ttl.isNegative()) {
+        throw new IllegalArgumentException("negative ttl: " + ttl);
+      }
+      try {
+        return ttl.toNanos();
+      } catch (ArithmeticException e) {
+        return NEVER;
+      }
+    }
+  }
+
+  private static final class Pair<X, Y> {
+
+    final X x;
+    final Y y;
+
+    Pair(X x, Y y) {
+      this.x = x;
+      this.y = y;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Pair)) {
+        return false;
+      }
+      final Pair<?, ?> pair = (Pair<?, ?>) o;
+      return Objects.equals(x, pair.x) && Objects.equals(y, pair.y);
+    }
+
+    @Override
+    public int hashCode() { return 31 * Objects.hashCode(x) + Objects.hashCode(y); }
+  }
+}
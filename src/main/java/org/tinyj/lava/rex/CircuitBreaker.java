@@ -0,0 +1,555 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stops invoking a failing dependency until it had time to recover.
+ * <p>
+ * While {@link State#CLOSED closed} decorated lambdas are invoked and their
+ * outcomes recorded in a sliding time window. Once the window holds at least
+ * {@link Builder#minimumCalls(int) minimumCalls} outcomes and the share of
+ * failures reaches the {@link Builder#failureRateThreshold(double) threshold},
+ * the breaker {@link State#OPEN opens}: decorated lambdas fail fast with a
+ * preallocated, stackless {@link CircuitBreakerOpenException}. After
+ * {@link Builder#openDuration(Duration) openDuration} the breaker turns
+ * {@link State#HALF_OPEN half-open} and admits a limited number of trial
+ * calls. If they all succeed the breaker closes, the first failure opens it
+ * again.
+ * <p>
+ * No lock is taken: the state is swapped atomically and outcomes are
+ * counted by {@link LongAdder}s in a ring of time buckets. Counts recorded
+ * concurrently with a bucket rolling over may get lost, which is negligible
+ * for estimating a failure rate.
+ * <p>
+ * E.g.
+ * <pre>{@code
+ * CircuitBreaker breaker = CircuitBreaker.builder("inventory")
+ *     .failureRateThreshold(0.5)
+ *     .openDuration(Duration.ofSeconds(30))
+ *     .build();
+ * RexFunction<Sku, Stock, IOException> stock = breaker.function(inventory::lookup);
+ * }</pre>
+ */
+public final class CircuitBreaker {
+
+  /**
+   * State of a {@link CircuitBreaker}.
+   */
+  public enum State {
+    /** Calls are admitted and outcomes recorded. */
+    CLOSED,
+    /** Calls fail fast. */
+    OPEN,
+    /** A limited number of trial calls is admitted. */
+    HALF_OPEN
+  }
+
+  private static final Phase CLOSED = new Phase(State.CLOSED, 0, 0);
+
+  private final String name;
+  private final double failureRateThreshold;
+  private final int minimumCalls;
+  private final long openNanos;
+  private final int trialCalls;
+  private final List<Class<? extends Exception>> recordOn;
+  private final long bucketNanos;
+  private final Bucket[] buckets;
+  private final CircuitBreakerOpenException rejection;
+  private final AtomicReference<Phase> phase = new AtomicReference<>(CLOSED);
+
+  private CircuitBreaker(Builder builder) {
+    this.name = builder.name;
+    this.failureRateThreshold = builder.failureRateThreshold;
+    this.minimumCalls = builder.minimumCalls;
+    this.openNanos = builder.openNanos;
+    this.trialCalls = builder.trialCalls;
+    this.recordOn = builder.recordOn;
+    this.bucketNanos = Math.max(1, builder.windowNanos / builder.buckets);
+    this.buckets = new Bucket[builder.buckets];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new Bucket();
+    }
+    this.rejection = new CircuitBreakerOpenException(name);
+  }
+
+  /**
+   * @param name name of the breaker, usually the name of the protected
+   *             dependency
+   * @return builder for a new breaker
+   */
+  public static Builder builder(String name) { return new Builder(name); }
+
+  /**
+   * @return name of this breaker
+   */
+  public String getName() { return name; }
+
+  /**
+   * @return current state of this breaker
+   */
+  public State getState() {
+    final Phase current = phase.get();
+    if (current.state == State.OPEN && System.nanoTime() - current.since >= openNanos) {
+      return State.HALF_OPEN;
+    }
+    return current.state;
+  }
+
+  /**
+   * Close this breaker and forget all recorded outcomes.
+   */
+  public void reset() {
+    clearWindow();
+    phase.set(CLOSED);
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only while this breaker admits
+   * calls.
+   *
+   * @param <E>     upper exception limit
+   * @param checked runnable to protect
+   * @return protected runnable
+   */
+  public <E extends Exception> RexRunnable<E>
+  runnable(LavaRunnable<? extends E> checked) {
+    return () -> {
+      final Phase admitted = acquire();
+      try {
+        checked.checkedRun();
+      } catch (Exception e) {
+        onFailure(admitted, e);
+        throw e;
+      }
+      onSuccess(admitted);
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only while this breaker admits
+   * calls.
+   *
+   * @param <R>     result type
+   * @param <E>     upper exception limit
+   * @param checked supplier to protect
+   * @return protected supplier
+   */
+  public <R, E extends Exception> RexSupplier<R, E>
+  supplier(LavaSupplier<? extends R, ? extends E> checked) {
+    return () -> {
+      final Phase admitted = acquire();
+      final R result;
+      try {
+        result = checked.checkedGet();
+      } catch (Exception e) {
+        onFailure(admitted, e);
+        throw e;
+      }
+      onSuccess(admitted);
+      return result;
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only while this breaker admits
+   * calls.
+   *
+   * @param <X>     argument type
+   * @param <R>     result type
+   * @param <E>     upper exception limit
+   * @param checked function to protect
+   * @return protected function
+   */
+  public <X, R, E extends Exception> RexFunction<X, R, E>
+  function(LavaFunction<? super X, ? extends R, ? extends E> checked) {
+    return x -> {
+      final Phase admitted = acquire();
+      final R result;
+      try {
+        result = checked.checkedApply(x);
+      } catch (Exception e) {
+        onFailure(admitted, e);
+        throw e;
+      }
+      onSuccess(admitted);
+      return result;
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only while this breaker admits
+   * calls.
+   *
+   * @param <X>     first argument type
+   * @param <Y>     second argument type
+   * @param <R>     result type
+   * @param <E>     upper exception limit
+   * @param checked bi-function to protect
+   * @return protected bi-function
+   */
+  public <X, Y, R, E extends Exception> RexBiFunction<X, Y, R, E>
+  biFunction(LavaBiFunction<? super X, ? super Y, ? extends R, ? extends E> checked) {
+    return (x, y) -> {
+      final Phase admitted = acquire();
+      final R result;
+      try {
+        result = checked.checkedApply(x, y);
+      } catch (Exception e) {
+        onFailure(admitted, e);
+        throw e;
+      }
+      onSuccess(admitted);
+      return result;
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only while this breaker admits
+   * calls.
+   *
+   * @param <X>     argument type
+   * @param <E>     upper exception limit
+   * @param checked consumer to protect
+   * @return protected consumer
+   */
+  public <X, E extends Exception> RexConsumer<X, E>
+  consumer(LavaConsumer<? super X, ? extends E> checked) {
+    return x -> {
+      final Phase admitted = acquire();
+      try {
+        checked.checkedAccept(x);
+      } catch (Exception e) {
+        onFailure(admitted, e);
+        throw e;
+      }
+      onSuccess(admitted);
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only while this breaker admits
+   * calls.
+   *
+   * @param <X>     first argument type
+   * @param <Y>     second argument type
+   * @param <E>     upper exception limit
+   * @param checked bi-consumer to protect
+   * @return protected bi-consumer
+   */
+  public <X, Y, E extends Exception> RexBiConsumer<X, Y, E>
+  biConsumer(LavaBiConsumer<? super X, ? super Y, ? extends E> checked) {
+    return (x, y) -> {
+      final Phase admitted = acquire();
+      try {
+        checked.checkedAccept(x, y);
+      } catch (Exception e) {
+        onFailure(admitted, e);
+        throw e;
+      }
+      onSuccess(admitted);
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only while this breaker admits
+   * calls.
+   *
+   * @param <X>     argument type
+   * @param <E>     upper exception limit
+   * @param checked predicate to protect
+   * @return protected predicate
+   */
+  public <X, E extends Exception> RexPredicate<X, E>
+  predicate(LavaPredicate<? super X, ? extends E> checked) {
+    return x -> {
+      final Phase admitted = acquire();
+      final boolean result;
+      try {
+        result = checked.checkedTest(x);
+      } catch (Exception e) {
+        onFailure(admitted, e);
+        throw e;
+      }
+      onSuccess(admitted);
+      return result;
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only while this breaker admits
+   * calls.
+   *
+   * @param <X>     first argument type
+   * @param <Y>     second argument type
+   * @param <E>     upper exception limit
+   * @param checked bi-predicate to protect
+   * @return protected bi-predicate
+   */
+  public <X, Y, E extends Exception> RexBiPredicate<X, Y, E>
+  biPredicate(LavaBiPredicate<? super X, ? super Y, ? extends E> checked) {
+    return (x, y) -> {
+      final Phase admitted = acquire();
+      final boolean result;
+      try {
+        result = checked.checkedTest(x, y);
+      } catch (Exception e) {
+        onFailure(admitted, e);
+        throw e;
+      }
+      onSuccess(admitted);
+      return result;
+    };
+  }
+
+  /**
+   * @return the phase the call is admitted in
+   * @throws CircuitBreakerOpenException if the call isn't admitted
+   */
+  private Phase acquire() {
+    for (; ; ) {
+      final Phase current = phase.get();
+      switch (current.state) {
+        case CLOSED:
+          return current;
+        case OPEN:
+          if (System.nanoTime() - current.since < openNanos) {
+            throw rejection;
+          }
+          phase.compareAndSet(current, new Phase(State.HALF_OPEN, System.nanoTime(), trialCalls));
+          break;
+        default:
+          if (current.permits.decrementAndGet() >= 0) {
+            return current;
+          }
+          // trial calls that never report back must not keep the breaker half-open forever
+          if (System.nanoTime() - current.since < openNanos) {
+            throw rejection;
+          }
+          phase.compareAndSet(current, new Phase(State.HALF_OPEN, System.nanoTime(), trialCalls));
+      }
+    }
+  }
+
+  private void onSuccess(Phase admitted) {
+    if (admitted.state == State.CLOSED) {
+      bucket().successes.increment();
+    } else if (admitted.successes.incrementAndGet() == trialCalls) {
+      clearWindow();
+      phase.compareAndSet(admitted, CLOSED);
+    }
+  }
+
+  private void onFailure(Phase admitted, Exception e) {
+    if (!isRecorded(e)) {
+      onSuccess(admitted);
+    } else if (admitted.state == State.CLOSED) {
+      bucket().failures.increment();
+      if (isFailureRateExceeded()) {
+        phase.compareAndSet(admitted, new Phase(State.OPEN, System.nanoTime(), 0));
+      }
+    } else {
+      phase.compareAndSet(admitted, new Phase(State.OPEN, System.nanoTime(), 0));
+    }
+  }
+
+  private boolean isRecorded(Exception e) {
+    if (recordOn.isEmpty()) {
+      return true;
+    }
+    for (Class<? extends Exception> type : recordOn) {
+      if (type.isInstance(e)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isFailureRateExceeded() {
+    final long oldest = System.nanoTime() / bucketNanos - buckets.length;
+    long failures = 0;
+    long calls = 0;
+    for (Bucket bucket : buckets) {
+      if (bucket.epoch.get() > oldest) {
+        final long bucketFailures = bucket.failures.sum();
+        failures += bucketFailures;
+        calls += bucketFailures + bucket.successes.sum();
+      }
+    }
+    return calls >= minimumCalls && failures >= failureRateThreshold * calls;
+  }
+
+  private Bucket bucket() {
+    final long epoch = System.nanoTime() / bucketNanos;
+    final Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+    final long previous = bucket.epoch.get();
+    if (previous != epoch && bucket.epoch.compareAndSet(previous, epoch)) {
+      bucket.successes.reset();
+      bucket.failures.reset();
+    }
+    return bucket;
+  }
+
+  private void clearWindow() {
+    for (Bucket bucket : buckets) {
+      bucket.epoch.set(Long.MIN_VALUE);
+      bucket.successes.reset();
+      bucket.failures.reset();
+    }
+  }
+
+  @Override
+  public String toString() { return "CircuitBreaker[" + name + ", " + getState() + "]"; }
+
+  /**
+   * Immutable state of the breaker, replaced atomically on transition. Only
+   * half-open phases count trial calls.
+   */
+  private static final class Phase {
+
+    final State state;
+    final long since;
+    final AtomicInteger permits;
+    final AtomicInteger successes;
+
+    Phase(State state, long since, int trialCalls) {
+      this.state = state;
+      this.since = since;
+      this.permits = state == State.HALF_OPEN ? new AtomicInteger(trialCalls) : null;
+      this.successes = state == State.HALF_OPEN ? new AtomicInteger() : null;
+    }
+  }
+
+  private static final class Bucket {
+
+    final AtomicLong epoch = new AtomicLong(Long.MIN_VALUE);
+    final LongAdder successes = new LongAdder();
+    final LongAdder failures = new LongAdder();
+  }
+
+  /**
+   * Builder of {@link CircuitBreaker}s. By default a breaker opens for 30
+   * seconds once at least half of at least 20 calls failed within 10
+   * seconds, and admits a single trial call when half-open. Any exception
+   * counts as failure.
+   */
+  public static final class Builder {
+
+    private final String name;
+    private double failureRateThreshold = 0.5;
+    private int minimumCalls = 20;
+    private long windowNanos = TimeUnit.SECONDS.toNanos(10);
+    private int buckets = 10;
+    private long openNanos = TimeUnit.SECONDS.toNanos(30);
+    private int trialCalls = 1;
+    private List<Class<? extends Exception>> recordOn = Collections.emptyList();
+
+    private Builder(String name) {
+      if (name == null) {
+        throw new NullPointerException("name");
+      }
+      this.name = name;
+    }
+
+    /**
+     * @param threshold share of failed calls opening the breaker, greater
+     *                  than {@code 0} and at most {@code 1}
+     * @return this builder
+     */
+    public Builder failureRateThreshold(double threshold) {
+      if (!(threshold > 0 && threshold <= 1)) {
+        throw new IllegalArgumentException("threshold must be in (0, 1]: " + threshold);
+      }
+      this.failureRateThreshold = threshold;
+      return this;
+    }
+
+    /**
+     * @param minimumCalls number of calls within the window required before
+     *                     the breaker may open
+     * @return this builder
+     */
+    public Builder minimumCalls(int minimumCalls) {
+      if (minimumCalls < 1) {
+        throw new IllegalArgumentException("minimumCalls must be positive: " + minimumCalls);
+      }
+      this.minimumCalls = minimumCalls;
+      return this;
+    }
+
+    /**
+     * @param window  duration of the sliding window outcomes are recorded in
+     * @param buckets number of buckets the window is divided into, the
+     *                window slides by one bucket at a time
+     * @return this builder
+     */
+    public Builder slidingWindow(Duration window, int buckets) {
+      if (window.isNegative() || window.isZero() || buckets < 1) {
+        throw new IllegalArgumentException("invalid window: " + window + ", " + buckets);
+      }
+      this.windowNanos = window.toNanos();
+      this.buckets = buckets;
+      return this;
+    }
+
+    /**
+     * @param openDuration duration the breaker stays open before admitting
+     *                     trial calls
+     * @return this builder
+     */
+    public Builder openDuration(Duration openDuration) {
+      if (openDuration.isNegative()) {
+        throw new IllegalArgumentException("negative open duration: " + openDuration);
+      }
+      this.openNanos = openDuration.toNanos();
+      return this;
+    }
+
+    /**
+     * @param trialCalls number of calls admitted while half-open, all of
+     *                   which must succeed to close the breaker
+     * @return this builder
+     */
+    public Builder trialCalls(int trialCalls) {
+      if (trialCalls < 1) {
+        throw new IllegalArgumentException("trialCalls must be positive: " + trialCalls);
+      }
+      this.trialCalls = trialCalls;
+      return this;
+    }
+
+    /**
+     * Count exceptions of the given types and their subtypes as failures
+     * only, other exceptions count as success.
+     *
+     * @param types exception types counted as failures
+     * @return this builder
+     */
+    @SafeVarargs
+    public final Builder recordOn(Class<? extends Exception>... types) {
+      final List<Class<? extends Exception>> copy = new ArrayList<>(types.length);
+      for (Class<? extends Exception> type : types) {
+        if (type == null) {
+          throw new NullPointerException("types");
+        }
+        copy.add(type);
+      }
+      this.recordOn = Collections.unmodifiableList(copy);
+      return this;
+    }
+
+    /**
+     * @return new breaker
+     */
+    public CircuitBreaker build() { return new CircuitBreaker(this); }
+  }
+}
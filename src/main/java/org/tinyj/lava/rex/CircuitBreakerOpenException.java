@@ -0,0 +1,17 @@
+package org.tinyj.lava.rex;
+
+/**
+ * Raised by lambdas decorated by a {@link CircuitBreaker} instead of
+ * invoking the decorated lambda while the breaker is open.
+ * <p>
+ * Each breaker raises a single preallocated instance without stack trace,
+ * so failing fast costs no more than a regular return.
+ */
+public final class CircuitBreakerOpenException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  CircuitBreakerOpenException(String name) {
+    super("circuit breaker '" + name + "' is open", null, false, false);
+  }
+}
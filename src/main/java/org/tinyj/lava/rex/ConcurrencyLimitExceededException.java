@@ -0,0 +1,21 @@
+package org.tinyj.lava.rex;
+
+/**
+ * Raised by lambdas decorated by a {@link ConcurrencyLimiter} when no permit
+ * could be acquired: immediately if the limit is reached and no
+ * {@link ConcurrencyLimiter.Builder#maxWait(java.time.Duration) maxWait} is
+ * configured, otherwise once {@code maxWait} elapsed without a permit being
+ * released. The decorated lambda was not invoked.
+ * <p>
+ * The downstream resource is saturated, so callers should shed the request
+ * (e.g. answer with a fallback or report overload) rather than retry it
+ * right away. The exception carries no stack trace.
+ */
+public final class ConcurrencyLimitExceededException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  ConcurrencyLimitExceededException(String name) {
+    super("concurrency limit of '" + name + "' exceeded", null, false, false);
+  }
+}
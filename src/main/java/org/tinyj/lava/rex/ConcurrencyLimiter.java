@@ -0,0 +1,462 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Limits the number of concurrent invocations of a blocking dependency,
+ * adapting the limit to the latency observed.
+ * <p>
+ * The limit follows an additive increase, multiplicative decrease scheme.
+ * The limiter tracks the lowest latency recently observed as baseline.
+ * While invocations complete within {@link Builder#tolerance(double)
+ * tolerance} times the baseline and the limit is in use, the limit grows by
+ * about one per limit's worth of invocations. Once an invocation takes
+ * longer, the backend is considered overloaded and the limit is
+ * {@link Builder#backoffRatio(double) reduced} by a constant factor, at
+ * most once per such invocation's duration.
+ * <p>
+ * Invocations exceeding the limit are rejected with a preallocated,
+ * stackless {@link ConcurrencyLimitExceededException}, or wait up to
+ * {@link Builder#maxWait(Duration) maxWait} for a permit. The in-flight
+ * count and limit are maintained with atomics. The lock is only taken by
+ * waiting callers and by releases while callers are waiting.
+ * <p>
+ * E.g.
+ * <pre>{@code
+ * ConcurrencyLimiter limiter = ConcurrencyLimiter.builder("database")
+ *     .initialLimit(20)
+ *     .maxWait(Duration.ofMillis(50))
+ *     .build();
+ * RexFunction<Long, Order, SQLException> orders = limiter.function(dao::findOrder);
+ * }</pre>
+ */
+public final class ConcurrencyLimiter {
+
+  private final String name;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double backoffRatio;
+  private final long maxWaitNanos;
+  private final ConcurrencyLimitExceededException rejection;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong limitBits;
+  private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+  private volatile long baselineNanos;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+  private volatile int waiting;
+
+  private ConcurrencyLimiter(Builder builder) {
+    this.name = builder.name;
+    this.minLimit = builder.minLimit;
+    this.maxLimit = builder.maxLimit;
+    this.tolerance = builder.tolerance;
+    this.backoffRatio = builder.backoffRatio;
+    this.maxWaitNanos = builder.maxWaitNanos;
+    this.limitBits = new AtomicLong(Double.doubleToLongBits(
+        Math.max(minLimit, Math.min(maxLimit, builder.initialLimit))));
+    this.rejection = new ConcurrencyLimitExceededException(name);
+  }
+
+  /**
+   * @param name name of the limiter, usually the name of the protected
+   *             dependency
+   * @return builder for a new limiter
+   */
+  public static Builder builder(String name) { return new Builder(name); }
+
+  /**
+   * @return name of this limiter
+   */
+  public String getName() { return name; }
+
+  /**
+   * @return current concurrency limit
+   */
+  public int getLimit() { return (int) limit(); }
+
+  /**
+   * @return number of invocations in flight
+   */
+  public int getInFlight() { return inFlight.get(); }
+
+  /**
+   * Decorate {@code checked} to be invoked only within the concurrency
+   * limit.
+   *
+   * @param <E>     upper exception limit
+   * @param checked runnable to limit
+   * @return limited runnable
+   */
+  public <E extends Exception> RexRunnable<E>
+  runnable(LavaRunnable<? extends E> checked) {
+    return () -> {
+      final long start = acquire();
+      try {
+        checked.checkedRun();
+      } finally {
+        release(start);
+      }
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only within the concurrency
+   * limit.
+   *
+   * @param <R>     result type
+   * @param <E>     upper exception limit
+   * @param checked supplier to limit
+   * @return limited supplier
+   */
+  public <R, E extends Exception> RexSupplier<R, E>
+  supplier(LavaSupplier<? extends R, ? extends E> checked) {
+    return () -> {
+      final long start = acquire();
+      try {
+        return checked.checkedGet();
+      } finally {
+        release(start);
+      }
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only within the concurrency
+   * limit.
+   *
+   * @param <X>     argument type
+   * @param <R>     result type
+   * @param <E>     upper exception limit
+   * @param checked function to limit
+   * @return limited function
+   */
+  public <X, R, E extends Exception> RexFunction<X, R, E>
+  function(LavaFunction<? super X, ? extends R, ? extends E> checked) {
+    return x -> {
+      final long start = acquire();
+      try {
+        return checked.checkedApply(x);
+      } finally {
+        release(start);
+      }
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only within the concurrency
+   * limit.
+   *
+   * @param <X>     first argument type
+   * @param <Y>     second argument type
+   * @param <R>     result type
+   * @param <E>     upper exception limit
+   * @param checked bi-function to limit
+   * @return limited bi-function
+   */
+  public <X, Y, R, E extends Exception> RexBiFunction<X, Y, R, E>
+  biFunction(LavaBiFunction<? super X, ? super Y, ? extends R, ? extends E> checked) {
+    return (x, y) -> {
+      final long start = acquire();
+      try {
+        return checked.checkedApply(x, y);
+      } finally {
+        release(start);
+      }
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only within the concurrency
+   * limit.
+   *
+   * @param <X>     argument type
+   * @param <E>     upper exception limit
+   * @param checked consumer to limit
+   * @return limited consumer
+   */
+  public <X, E extends Exception> RexConsumer<X, E>
+  consumer(LavaConsumer<? super X, ? extends E> checked) {
+    return x -> {
+      final long start = acquire();
+      try {
+        checked.checkedAccept(x);
+      } finally {
+        release(start);
+      }
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only within the concurrency
+   * limit.
+   *
+   * @param <X>     first argument type
+   * @param <Y>     second argument type
+   * @param <E>     upper exception limit
+   * @param checked bi-consumer to limit
+   * @return limited bi-consumer
+   */
+  public <X, Y, E extends Exception> RexBiConsumer<X, Y, E>
+  biConsumer(LavaBiConsumer<? super X, ? super Y, ? extends E> checked) {
+    return (x, y) -> {
+      final long start = acquire();
+      try {
+        checked.checkedAccept(x, y);
+      } finally {
+        release(start);
+      }
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only within the concurrency
+   * limit.
+   *
+   * @param <X>     argument type
+   * @param <E>     upper exception limit
+   * @param checked predicate to limit
+   * @return limited predicate
+   */
+  public <X, E extends Exception> RexPredicate<X, E>
+  predicate(LavaPredicate<? super X, ? extends E> checked) {
+    return x -> {
+      final long start = acquire();
+      try {
+        return checked.checkedTest(x);
+      } finally {
+        release(start);
+      }
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to be invoked only within the concurrency
+   * limit.
+   *
+   * @param <X>     first argument type
+   * @param <Y>     second argument type
+   * @param <E>     upper exception limit
+   * @param checked bi-predicate to limit
+   * @return limited bi-predicate
+   */
+  public <X, Y, E extends Exception> RexBiPredicate<X, Y, E>
+  biPredicate(LavaBiPredicate<? super X, ? super Y, ? extends E> checked) {
+    return (x, y) -> {
+      final long start = acquire();
+      try {
+        return checked.checkedTest(x, y);
+      } finally {
+        release(start);
+      }
+    };
+  }
+
+  /**
+   * @return {@link System#nanoTime()} when the permit was acquired
+   * @throws ConcurrencyLimitExceededException if no permit was acquired
+   */
+  private long acquire() {
+    if (tryAcquire() || maxWaitNanos > 0 && awaitPermit()) {
+      return System.nanoTime();
+    }
+    throw rejection;
+  }
+
+  private boolean tryAcquire() {
+    for (; ; ) {
+      final int current = inFlight.get();
+      if (current >= (int) limit()) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private boolean awaitPermit() {
+    long remaining = maxWaitNanos;
+    lock.lock();
+    try {
+      waiting++;
+      try {
+        while (!tryAcquire()) {
+          if (remaining <= 0) {
+            return false;
+          }
+          remaining = released.awaitNanos(remaining);
+        }
+        return true;
+      } finally {
+        waiting--;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(long start) {
+    final long latency = System.nanoTime() - start;
+    final int concurrency = inFlight.getAndDecrement();
+    adjust(latency, concurrency);
+    if (waiting > 0) {
+      lock.lock();
+      try {
+        released.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Adjust the limit to an invocation's latency.
+   *
+   * @param latency     duration of the invocation
+   * @param concurrency invocations in flight when it completed, including
+   *                    itself
+   */
+  private void adjust(long latency, int concurrency) {
+    final long baseline = baselineNanos;
+    if (baseline == 0 || latency < baseline) {
+      baselineNanos = Math.max(1, latency);
+    } else {
+      // let the baseline drift up slowly, so it follows lasting changes
+      baselineNanos = baseline + ((latency - baseline) >> 10);
+    }
+    if (baseline > 0 && latency > tolerance * baseline) {
+      final long now = System.nanoTime();
+      final long last = lastDecrease.get();
+      if (now - last >= latency && lastDecrease.compareAndSet(last, now)) {
+        updateLimit(limit -> Math.max(minLimit, limit * backoffRatio));
+      }
+    } else if (2 * concurrency >= limit()) {
+      updateLimit(limit -> Math.min(maxLimit, limit + 1 / limit));
+    }
+  }
+
+  private double limit() { return Double.longBitsToDouble(limitBits.get()); }
+
+  private void updateLimit(DoubleUnaryOperator update) {
+    for (; ; ) {
+      final long bits = limitBits.get();
+      final long updated = Double.doubleToLongBits(update.applyAsDouble(Double.longBitsToDouble(bits)));
+      if (bits == updated || limitBits.compareAndSet(bits, updated)) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ConcurrencyLimiter[" + name + ", limit=" + getLimit() + ", inFlight=" + getInFlight() + "]";
+  }
+
+  /**
+   * Builder of {@link ConcurrencyLimiter}s. By default the limit starts at
+   * 20 and varies between 1 and 1000, is reduced by 10% once an invocation
+   * takes twice the baseline latency, and excess invocations are rejected
+   * immediately.
+   */
+  public static final class Builder {
+
+    private final String name;
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 1000;
+    private double tolerance = 2;
+    private double backoffRatio = 0.9;
+    private long maxWaitNanos = 0;
+
+    private Builder(String name) {
+      if (name == null) {
+        throw new NullPointerException("name");
+      }
+      this.name = name;
+    }
+
+    /**
+     * @param initialLimit limit before any latency was observed
+     * @return this builder
+     */
+    public Builder initialLimit(int initialLimit) {
+      if (initialLimit < 1) {
+        throw new IllegalArgumentException("initialLimit must be positive: " + initialLimit);
+      }
+      this.initialLimit = initialLimit;
+      return this;
+    }
+
+    /**
+     * @param minLimit lower bound of the limit
+     * @param maxLimit upper bound of the limit
+     * @return this builder
+     */
+    public Builder limitRange(int minLimit, int maxLimit) {
+      if (minLimit < 1 || maxLimit < minLimit) {
+        throw new IllegalArgumentException("invalid limit range: " + minLimit + ", " + maxLimit);
+      }
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+      return this;
+    }
+
+    /**
+     * @param tolerance factor by which an invocation may exceed the baseline
+     *                  latency before the backend is considered overloaded
+     * @return this builder
+     */
+    public Builder tolerance(double tolerance) {
+      if (!(tolerance > 1)) {
+        throw new IllegalArgumentException("tolerance must be greater than 1: " + tolerance);
+      }
+      this.tolerance = tolerance;
+      return this;
+    }
+
+    /**
+     * @param backoffRatio factor applied to the limit when the backend is
+     *                     considered overloaded
+     * @return this builder
+     */
+    public Builder backoffRatio(double backoffRatio) {
+      if (!(backoffRatio > 0 && backoffRatio < 1)) {
+        throw new IllegalArgumentException("backoffRatio must be in (0, 1): " + backoffRatio);
+      }
+      this.backoffRatio = backoffRatio;
+      return this;
+    }
+
+    /**
+     * @param maxWait maximum duration an invocation waits for a permit
+     *                before it is rejected, zero to reject immediately
+     * @return this builder
+     */
+    public Builder maxWait(Duration maxWait) {
+      if (maxWait.isNegative()) {
+        throw new IllegalArgumentException("negative maxWait: " + maxWait);
+      }
+      this.maxWaitNanos = maxWait.toNanos();
+      return this;
+    }
+
+    /**
+     * @return new limiter
+     */
+    public ConcurrencyLimiter build() { return new ConcurrencyLimiter(this); }
+  }
+}
@@ -0,0 +1,135 @@
+package org.tinyj.lava.rex;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A point in time by which a computation has to complete.
+ * <p>
+ * {@link Rex#withDeadline(Duration, org.tinyj.lava.LavaSupplier)} makes a
+ * deadline {@link #current() current} for the code it runs, so nested
+ * invocations can read the remaining budget and give up early. Nested
+ * scopes never extend the enclosing deadline.
+ * <p>
+ * E.g.
+ * <pre>{@code
+ * Deadline.checkCurrent();
+ * socket.setSoTimeout((int) Deadline.currentRemaining().toMillis());
+ * }</pre>
+ */
+public final class Deadline {
+
+  private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+  private final long deadlineNanos;
+
+  private Deadline(long deadlineNanos) { this.deadlineNanos = deadlineNanos; }
+
+  /**
+   * @param timeout time budget
+   * @return deadline expiring after {@code timeout}, or the current deadline
+   *     if it expires earlier
+   */
+  public static Deadline after(Duration timeout) {
+    final long now = System.nanoTime();
+    final long budget = saturatedNanos(timeout);
+    final long deadline = budget > Long.MAX_VALUE / 2 ? now + Long.MAX_VALUE / 2 : now + budget;
+    final Deadline current = CURRENT.get();
+    return current != null && current.deadlineNanos - deadline <= 0 ? current : new Deadline(deadline);
+  }
+
+  /**
+   * @return deadline in scope on the current thread, if any
+   */
+  public static Optional<Deadline> current() { return Optional.ofNullable(CURRENT.get()); }
+
+  /**
+   * @return remaining budget of the current deadline, {@code null} if
+   *     there is no deadline in scope
+   */
+  public static Duration currentRemaining() {
+    final Deadline current = CURRENT.get();
+    return current == null ? null : current.remaining();
+  }
+
+  /**
+   * @return remaining budget in nanoseconds of the current deadline,
+   *     {@link Long#MAX_VALUE} if there is no deadline in scope
+   */
+  static long currentRemainingNanos() {
+    final Deadline current = CURRENT.get();
+    return current == null ? Long.MAX_VALUE : current.remainingNanos();
+  }
+
+  /**
+   * Fail fast if the current deadline has expired.
+   *
+   * @throws DeadlineExceededException if the current deadline has expired
+   */
+  public static void checkCurrent() {
+    final Deadline current = CURRENT.get();
+    if (current != null) {
+      current.check();
+    }
+  }
+
+  /**
+   * @return remaining budget, zero or negative once expired
+   */
+  public long remainingNanos() { return deadlineNanos - System.nanoTime(); }
+
+  /**
+   * @return remaining budget, zero or negative once expired
+   */
+  public Duration remaining() { return Duration.ofNanos(remainingNanos()); }
+
+  /**
+   * @return {@code true} if the budget is spent
+   */
+  public boolean isExpired() { return remainingNanos() <= 0; }
+
+  /**
+   * @throws DeadlineExceededException if this deadline has expired
+   */
+  public void check() {
+    final long remaining = remainingNanos();
+    if (remaining <= 0) {
+      throw exceeded(remaining);
+    }
+  }
+
+  DeadlineExceededException exceeded(long remaining) {
+    return new DeadlineExceededException("deadline exceeded by " + Duration.ofNanos(-remaining));
+  }
+
+  /**
+   * Make this deadline current on the calling thread.
+   *
+   * @return the deadline previously current, to be passed to
+   *     {@link #restore(Deadline)}
+   */
+  Deadline enter() {
+    final Deadline previous = CURRENT.get();
+    CURRENT.set(this);
+    return previous;
+  }
+
+  static void restore(Deadline previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+
+  private static long saturatedNanos(Duration duration) {
+    try {
+      return duration.toNanos();
+    } catch (ArithmeticException e) {
+      return duration.isNegative() ? Long.MIN_VALUE / 2 : Long.MAX_VALUE;
+    }
+  }
+
+  @Override
+  public String toString() { return "Deadline[remaining=" + remaining() + "]"; }
+}
@@ -0,0 +1,14 @@
+package org.tinyj.lava.rex;
+
+/**
+ * Raised when the time budget of a {@link Deadline} is spent.
+ * <p>
+ * Timeouts are expected under load, so this exception captures no stack
+ * trace and is cheap to raise.
+ */
+public final class DeadlineExceededException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  DeadlineExceededException(String message) { super(message, null, false, false); }
+}
@@ -0,0 +1,172 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+
+/**
+ * Table translating checked exceptions to specific unchecked exceptions
+ * instead of {@link WrappedCheckedException}.
+ * <p>
+ * The handler registered for the most specific superclass of an exception
+ * is used. The handler found for an exception class is cached in a
+ * {@link ClassValue}, so translating costs a single lookup regardless of
+ * the number of registered types and the depth of the class hierarchy.
+ * Exceptions without handler, or for which the handler returns
+ * {@code null}, are wrapped as usual.
+ * <pre>{@code
+ * ExceptionTranslator translator = ExceptionTranslator.builder()
+ *     .translate(IOException.class, UncheckedIOException::new)
+ *     .translate(SQLException.class, e -> new DataAccessException(e))
+ *     .build();
+ *
+ * ExceptionTranslator.setDefault(translator);          // all Rex bridges
+ * StackTracePolicy.none().translating(translator)      // a single bridge
+ *     .rex(checkedFunction);
+ * }</pre>
+ */
+public final class ExceptionTranslator {
+
+  private static final ExceptionTranslator NONE = new ExceptionTranslator(new IdentityHashMap<>());
+  private static final ExceptionTranslator STANDARD = builder()
+      .translate(IOException.class, UncheckedIOException::new)
+      .translate(InterruptedException.class, ExceptionTranslator::cancellation)
+      .build();
+
+  private static volatile ExceptionTranslator defaultTranslator = NONE;
+
+  private final Map<Class<?>, Function<Exception, RuntimeException>> handlers;
+  private final ClassValue<Function<Exception, RuntimeException>> resolved =
+      new ClassValue<Function<Exception, RuntimeException>>() {
+        @Override
+        protected Function<Exception, RuntimeException> computeValue(Class<?> type) { return resolve(type); }
+      };
+
+  private ExceptionTranslator(Map<Class<?>, Function<Exception, RuntimeException>> handlers) {
+    this.handlers = handlers;
+  }
+
+  /**
+   * @return translator without handlers, all checked exceptions are wrapped
+   */
+  public static ExceptionTranslator none() { return NONE; }
+
+  /**
+   * Translator mapping {@link IOException} to {@link UncheckedIOException}
+   * and {@link InterruptedException} to {@link CancellationException}. When
+   * translating an {@link InterruptedException} the interrupt status of the
+   * current thread is restored.
+   *
+   * @return translator for common JDK exceptions
+   */
+  public static ExceptionTranslator standard() { return STANDARD; }
+
+  /**
+   * @return the translator consulted by bridges without translator of
+   *     their own
+   */
+  public static ExceptionTranslator getDefault() { return defaultTranslator; }
+
+  /**
+   * Set the translator consulted by the default methods of the Rex
+   * interfaces and by bridges without translator of their own.
+   *
+   * @param translator the new default translator
+   */
+  public static void setDefault(ExceptionTranslator translator) {
+    if (translator == null) {
+      throw new NullPointerException("translator");
+    }
+    defaultTranslator = translator;
+  }
+
+  /**
+   * @return builder for a new translator
+   */
+  public static Builder builder() { return new Builder(new IdentityHashMap<>()); }
+
+  /**
+   * @return builder initialized with the handlers of this translator
+   */
+  public Builder toBuilder() { return new Builder(new IdentityHashMap<>(handlers)); }
+
+  /**
+   * Translate a checked exception using the handler registered for its most
+   * specific superclass.
+   *
+   * @param e exception to translate
+   * @return the translated exception, {@code null} if there is no handler
+   *     or the handler returned {@code null}
+   */
+  public RuntimeException translate(Exception e) {
+    if (handlers.isEmpty()) {
+      return null;
+    }
+    final Function<Exception, RuntimeException> handler = resolved.get(e.getClass());
+    return handler == null ? null : handler.apply(e);
+  }
+
+  private Function<Exception, RuntimeException> resolve(Class<?> type) {
+    for (Class<?> t = type; t != null; t = t.getSuperclass()) {
+      final Function<Exception, RuntimeException> handler = handlers.get(t);
+      if (handler != null) {
+        return handler;
+      }
+    }
+    return null;
+  }
+
+  private static RuntimeException cancellation(InterruptedException e) {
+    Thread.currentThread().interrupt();
+    final CancellationException cancellation = new CancellationException(e.getMessage());
+    cancellation.initCause(e);
+    return cancellation;
+  }
+
+  /**
+   * Builder for {@link ExceptionTranslator}.
+   */
+  public static final class Builder {
+
+    private final Map<Class<?>, Function<Exception, RuntimeException>> handlers;
+
+    private Builder(Map<Class<?>, Function<Exception, RuntimeException>> handlers) { this.handlers = handlers; }
+
+    /**
+     * Translate exceptions of type {@code type} and its subtypes, unless a
+     * handler is registered for a more specific type. Replaces any handler
+     * previously registered for {@code type}.
+     *
+     * @param <T> exception type
+     * @param type exception type
+     * @param handler creates the unchecked exception to throw instead of
+     *                an exception of type {@code type}
+     * @return this builder
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Exception> Builder translate(Class<T> type,
+                                                   Function<? super T, ? extends RuntimeException> handler) {
+      if (type == null) {
+        throw new NullPointerException("type");
+      }
+      if (handler == null) {
+        throw new NullPointerException("handler");
+      }
+      if (RuntimeException.class.isAssignableFrom(type)) {
+        throw new IllegalArgumentException("unchecked exceptions are never translated: " + type.getName());
+      }
+      handlers.put(type, (Function<Exception, RuntimeException>) handler);
+      return this;
+    }
+
+    /**
+     * @return translator using the handlers registered so far
+     */
+    public ExceptionTranslator build() { return new ExceptionTranslator(new IdentityHashMap<>(handlers)); }
+  }
+}
@@ -0,0 +1,226 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.LavaSupplier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * Runs suppliers concurrently as one unit of work, backing
+ * {@link Rex#invokeAll} and {@link Rex#invokeAny}.
+ * <p>
+ * Once the outcome is decided the remaining subtasks are cancelled: tasks
+ * not started yet are skipped and running ones are interrupted. Before
+ * returning or throwing the caller waits for all subtasks to terminate,
+ * so no subtask outlives the call. The {@link Deadline#current() current
+ * deadline} is propagated to all subtasks and bounds the wait.
+ * <p>
+ * Failures raised by subtasks after they have been cancelled usually are
+ * a consequence of the interrupt and are dropped.
+ */
+final class FanOut<R> {
+
+  private final Subtask<R>[] subtasks;
+  private final CountDownLatch terminated;
+  private final AtomicReference<Object> outcome = new AtomicReference<>();
+  private final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+  private final boolean any;
+  private volatile boolean cancelled;
+
+  @SuppressWarnings("unchecked")
+  private FanOut(Collection<? extends LavaSupplier<? extends R, ?>> tasks, boolean any) {
+    this.subtasks = (Subtask<R>[]) new Subtask<?>[tasks.size()];
+    this.terminated = new CountDownLatch(subtasks.length);
+    this.any = any;
+    int i = 0;
+    for (LavaSupplier<? extends R, ?> task : tasks) {
+      if (task == null) {
+        throw new NullPointerException("tasks");
+      }
+      subtasks[i++] = new Subtask<>(this, task);
+    }
+  }
+
+  static <R, E extends Exception> List<R>
+  invokeAll(Collection<? extends LavaSupplier<? extends R, ? extends E>> tasks) throws E {
+    final FanOut<R> fanOut = new FanOut<>(tasks, false);
+    fanOut.run();
+    if (fanOut.outcome.get() instanceof Throwable) {
+      throw fanOut.<E>failure();
+    }
+    final List<R> results = new ArrayList<>(fanOut.subtasks.length);
+    for (Subtask<R> subtask : fanOut.subtasks) {
+      results.add(subtask.result);
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  static <R, E extends Exception> R
+  invokeAny(Collection<? extends LavaSupplier<? extends R, ? extends E>> tasks) throws E {
+    if (tasks.isEmpty()) {
+      throw new IllegalArgumentException("no tasks");
+    }
+    final FanOut<R> fanOut = new FanOut<>(tasks, true);
+    fanOut.run();
+    final Object outcome = fanOut.outcome.get();
+    if (outcome instanceof Subtask) {
+      @SuppressWarnings("unchecked") final Subtask<R> winner = (Subtask<R>) outcome;
+      return winner.result;
+    }
+    throw fanOut.<E>failure();
+  }
+
+  private void run() {
+    final Deadline deadline = Deadline.current().orElse(null);
+    final Executor executor = VirtualThreads.executor();
+    for (Subtask<R> subtask : subtasks) {
+      subtask.deadline = deadline;
+      executor.execute(subtask);
+    }
+    try {
+      if (deadline == null) {
+        terminated.await();
+      } else if (!terminated.await(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS)) {
+        outcome.compareAndSet(null, deadline.exceeded(deadline.remainingNanos()));
+        cancel();
+        awaitUninterruptibly();
+      }
+    } catch (InterruptedException e) {
+      cancel();
+      awaitUninterruptibly();
+      Thread.currentThread().interrupt();
+      throw wrapCheckedException(e);
+    }
+  }
+
+  private void awaitUninterruptibly() {
+    boolean interrupted = false;
+    for (; ; ) {
+      try {
+        terminated.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * @return the deciding failure with all other failures suppressed
+   */
+  private <E extends Exception> RuntimeException failure() throws E {
+    final Throwable failure = (Throwable) outcome.get();
+    for (Throwable other : failures) {
+      if (other != failure) {
+        failure.addSuppressed(other);
+      }
+    }
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+    throw Rex.<E>sneakyThrow((Exception) failure);
+  }
+
+  private void succeeded(Subtask<R> subtask) {
+    if (any && outcome.compareAndSet(null, subtask)) {
+      cancel();
+    }
+  }
+
+  private void failed(Throwable failure) {
+    if (cancelled) {
+      return;
+    }
+    failures.add(failure);
+    if (any) {
+      if (failures.size() == subtasks.length) {
+        outcome.compareAndSet(null, failures.peek());
+      }
+    } else if (outcome.compareAndSet(null, failure)) {
+      cancel();
+    }
+  }
+
+  private void cancel() {
+    cancelled = true;
+    for (Subtask<R> subtask : subtasks) {
+      subtask.interrupt();
+    }
+  }
+
+  private static final class Subtask<R> implements Runnable {
+
+    private final FanOut<R> scope;
+    private final LavaSupplier<? extends R, ?> task;
+    Deadline deadline;
+    R result;
+    private Thread runner;
+    private boolean done;
+
+    Subtask(FanOut<R> scope, LavaSupplier<? extends R, ?> task) {
+      this.scope = scope;
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      try {
+        if (scope.cancelled || !start()) {
+          return;
+        }
+        final Deadline previous = deadline == null ? null : deadline.enter();
+        try {
+          result = task.checkedGet();
+          scope.succeeded(this);
+        } catch (Throwable t) {
+          scope.failed(t);
+        } finally {
+          finish();
+          if (deadline != null) {
+            Deadline.restore(previous);
+          }
+        }
+      } finally {
+        scope.terminated.countDown();
+      }
+    }
+
+    private synchronized boolean start() {
+      if (scope.cancelled) {
+        return false;
+      }
+      runner = Thread.currentThread();
+      return true;
+    }
+
+    /**
+     * Deregister the running thread. An interrupt sent by {@link #interrupt}
+     * must not leak into the next task run by a pooled thread.
+     */
+    private synchronized void finish() {
+      runner = null;
+      done = true;
+      if (scope.cancelled) {
+        Thread.interrupted();
+      }
+    }
+
+    private synchronized void interrupt() {
+      if (runner != null && !done) {
+        runner.interrupt();
+      }
+    }
+  }
+}
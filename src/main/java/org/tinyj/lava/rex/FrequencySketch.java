@@ -0,0 +1,123 @@
+package org.tinyj.lava.rex;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate access frequency of keys, used by {@link CachingFunction}
+ * to decide which entries to keep.
+ * <p>
+ * A count-min sketch with four 4-bit counters per key. Once the number of
+ * recorded accesses reaches ten times the table size all counters are
+ * halved, so the frequencies reflect recent history.
+ * <p>
+ * The sketch is thread-safe. Each table word is updated by compare-and-set,
+ * so a saturated counter never carries into its neighbour and no increment
+ * is lost. Halving runs in the thread whose increment reaches the sample
+ * size, concurrently with other increments. A concurrent increment may
+ * therefore be halved along with its word or not, and
+ * {@link #frequency(int)} may observe the four counters of a key at
+ * slightly different points in time. Both only affect the accuracy of the
+ * estimate.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long ONE_MASK = 0x1111111111111111L;
+
+  private final AtomicLongArray table;
+  private final int tableMask;
+  private final int sampleSize;
+  private final AtomicInteger additions = new AtomicInteger();
+
+  /**
+   * @param maximumSize number of keys expected to be tracked
+   */
+  FrequencySketch(long maximumSize) {
+    final int size = ceilingPowerOfTwo((int) Math.min(Math.max(maximumSize, 16), 1 << 24));
+    table = new AtomicLongArray(size);
+    tableMask = size - 1;
+    sampleSize = 10 * size;
+  }
+
+  /**
+   * @param hash hash code of the key
+   * @return estimated number of recent accesses, at most 15
+   */
+  int frequency(int hash) {
+    final int spread = spread(hash);
+    final int start = (spread & 3) << 2;
+    int frequency = 15;
+    for (int i = 0; i < 4; i++) {
+      final int index = indexOf(spread, i);
+      final int count = (int) ((table.get(index) >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Record an access.
+   *
+   * @param hash hash code of the key
+   */
+  void increment(int hash) {
+    final int spread = spread(hash);
+    final int start = (spread & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(spread, i), start + i);
+    }
+    // exactly one thread observes the sample size being reached
+    if (added && additions.incrementAndGet() == sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int counter) {
+    final int offset = counter << 2;
+    final long mask = 0xfL << offset;
+    for (; ; ) {
+      final long word = table.get(index);
+      if ((word & mask) == mask) {
+        return false;
+      }
+      if (table.compareAndSet(index, word, word + (1L << offset))) {
+        return true;
+      }
+    }
+  }
+
+  private void reset() {
+    int odd = 0;
+    for (int i = 0; i < table.length(); i++) {
+      for (; ; ) {
+        final long word = table.get(i);
+        if (table.compareAndSet(i, word, (word >>> 1) & RESET_MASK)) {
+          odd += Long.bitCount(word & ONE_MASK);
+          break;
+        }
+      }
+    }
+    final int truncated = odd >>> 2;
+    additions.updateAndGet(n -> Math.max(0, (n >>> 1) - truncated));
+  }
+
+  private int indexOf(int spread, int depth) {
+    long hash = (spread + SEEDS[depth]) * SEEDS[depth];
+    hash += hash >>> 32;
+    return ((int) hash) & tableMask;
+  }
+
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+
+  private static int ceilingPowerOfTwo(int x) {
+    return 1 << -Integer.numberOfLeadingZeros(x - 1);
+  }
+}
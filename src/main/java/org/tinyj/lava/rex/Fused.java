@@ -0,0 +1,147 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.LavaFunction;
+import org.tinyj.lava.LavaPredicate;
+
+import java.util.Objects;
+
+/**
+ * Flat compositions backing the {@code ...Checked} combinators of
+ * {@link RexFunction} and {@link RexPredicate}.
+ * <p>
+ * Composing a composition appends to its stages instead of nesting it, so
+ * a chain of any length is evaluated by a single loop two frames deep.
+ * Stages are invoked through their checked methods, the composition wraps
+ * checked exceptions once, when invoked through its {@code java.util.function}
+ * method.
+ */
+final class Fused {
+
+  private Fused() {}
+
+  @SuppressWarnings("unchecked")
+  static <X, R, V, E extends Exception> RexFunction<X, V, E>
+  andThen(LavaFunction<? super X, ? extends R, ? extends E> first,
+          LavaFunction<? super R, ? extends V, ? extends E> second) {
+    Objects.requireNonNull(first, "before");
+    Objects.requireNonNull(second, "after");
+    return (RexFunction<X, V, E>) new Chain(Chain.concat(Chain.stages(first), Chain.stages(second)));
+  }
+
+  @SuppressWarnings("unchecked")
+  static <X, E extends Exception> RexPredicate<X, E>
+  and(LavaPredicate<? super X, ? extends E> first, LavaPredicate<? super X, ? extends E> second) {
+    Objects.requireNonNull(second, "other");
+    return (RexPredicate<X, E>) new Junction(true, Junction.terms(true, first), Junction.terms(true, second));
+  }
+
+  @SuppressWarnings("unchecked")
+  static <X, E extends Exception> RexPredicate<X, E>
+  or(LavaPredicate<? super X, ? extends E> first, LavaPredicate<? super X, ? extends E> second) {
+    Objects.requireNonNull(second, "other");
+    return (RexPredicate<X, E>) new Junction(false, Junction.terms(false, first), Junction.terms(false, second));
+  }
+
+  @SuppressWarnings("unchecked")
+  static <X, E extends Exception> RexPredicate<X, E>
+  negate(LavaPredicate<? super X, ? extends E> predicate) {
+    if (predicate instanceof Negation) {
+      return (RexPredicate<X, E>) Rex.rex(((Negation) predicate).negated);
+    }
+    return (RexPredicate<X, E>) new Negation((LavaPredicate<Object, ?>) predicate);
+  }
+
+  /**
+   * Functions applied one after another.
+   */
+  private static final class Chain implements RexFunction<Object, Object, Exception> {
+
+    private final LavaFunction<Object, Object, ?>[] stages;
+
+    Chain(LavaFunction<Object, Object, ?>[] stages) { this.stages = stages; }
+
+    @Override
+    public Object checkedApply(Object x) throws Exception {
+      Object value = x;
+      for (LavaFunction<Object, Object, ?> stage : stages) {
+        value = stage.checkedApply(value);
+      }
+      return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    static LavaFunction<Object, Object, ?>[] stages(LavaFunction<?, ?, ?> function) {
+      if (function instanceof Chain) {
+        return ((Chain) function).stages;
+      }
+      final LavaFunction<Object, Object, ?>[] stages = newStages(1);
+      stages[0] = (LavaFunction<Object, Object, ?>) function;
+      return stages;
+    }
+
+    static LavaFunction<Object, Object, ?>[] concat(LavaFunction<Object, Object, ?>[] first,
+                                                   LavaFunction<Object, Object, ?>[] second) {
+      final LavaFunction<Object, Object, ?>[] stages = newStages(first.length + second.length);
+      System.arraycopy(first, 0, stages, 0, first.length);
+      System.arraycopy(second, 0, stages, first.length, second.length);
+      return stages;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LavaFunction<Object, Object, ?>[] newStages(int length) {
+      return (LavaFunction<Object, Object, ?>[]) new LavaFunction<?, ?, ?>[length];
+    }
+  }
+
+  /**
+   * Conjunction or disjunction of predicates, evaluated left to right and
+   * short-circuiting.
+   */
+  private static final class Junction implements RexPredicate<Object, Exception> {
+
+    private final boolean all;
+    private final LavaPredicate<Object, ?>[] terms;
+
+    Junction(boolean all, LavaPredicate<Object, ?>[] first, LavaPredicate<Object, ?>[] second) {
+      this.all = all;
+      this.terms = newTerms(first.length + second.length);
+      System.arraycopy(first, 0, terms, 0, first.length);
+      System.arraycopy(second, 0, terms, first.length, second.length);
+    }
+
+    @Override
+    public boolean checkedTest(Object x) throws Exception {
+      for (LavaPredicate<Object, ?> term : terms) {
+        if (term.checkedTest(x) != all) {
+          return !all;
+        }
+      }
+      return all;
+    }
+
+    @SuppressWarnings("unchecked")
+    static LavaPredicate<Object, ?>[] terms(boolean all, LavaPredicate<?, ?> predicate) {
+      if (predicate instanceof Junction && ((Junction) predicate).all == all) {
+        return ((Junction) predicate).terms;
+      }
+      final LavaPredicate<Object, ?>[] terms = newTerms(1);
+      terms[0] = (LavaPredicate<Object, ?>) predicate;
+      return terms;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LavaPredicate<Object, ?>[] newTerms(int length) {
+      return (LavaPredicate<Object, ?>[]) new LavaPredicate<?, ?>[length];
+    }
+  }
+
+  private static final class Negation implements RexPredicate<Object, Exception> {
+
+    private final LavaPredicate<Object, ?> negated;
+
+    Negation(LavaPredicate<Object, ?> negated) { this.negated = negated; }
+
+    @Override
+    public boolean checkedTest(Object x) throws Exception { return !negated.checkedTest(x); }
+  }
+}
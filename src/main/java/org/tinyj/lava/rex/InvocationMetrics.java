@@ -0,0 +1,124 @@
+package org.tinyj.lava.rex;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invocation counts, failures and latencies of an instrumented lambda.
+ * <p>
+ * Counters are {@link LongAdder}s and latencies are recorded into a
+ * lock-free log-linear histogram, so recording scales with the number of
+ * invoking threads and can be left enabled in production. Readings are
+ * taken without stopping recording and therefore only approximately
+ * consistent with each other.
+ *
+ * @see Rex#instrumented(String, org.tinyj.lava.LavaFunction)
+ * @see MetricsRegistry
+ */
+public final class InvocationMetrics implements InvocationMetricsMXBean {
+
+  private final String name;
+  private final LongAdder invocations = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+  private final ConcurrentHashMap<Class<?>, LongAdder> failuresByType = new ConcurrentHashMap<>();
+  private final LatencyHistogram latencies = new LatencyHistogram();
+
+  InvocationMetrics(String name) { this.name = name; }
+
+  /**
+   * Record a successful invocation.
+   *
+   * @param startNanos {@link System#nanoTime()} when the invocation started
+   */
+  void success(long startNanos) { record(System.nanoTime() - startNanos, null); }
+
+  /**
+   * Record an invocation raising {@code failure}.
+   *
+   * @param startNanos {@link System#nanoTime()} when the invocation started
+   * @param failure exception raised by the invocation
+   */
+  void failure(long startNanos, Throwable failure) {
+    record(System.nanoTime() - startNanos, failure);
+    failures.increment();
+    failuresByType.computeIfAbsent(failure.getClass(), type -> new LongAdder()).increment();
+  }
+
+  private void record(long nanos, Throwable failure) {
+    invocations.increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulate(nanos);
+    latencies.record(nanos);
+    RexEvents.invoked(name, nanos, failure);
+  }
+
+  @Override
+  public String getName() { return name; }
+
+  @Override
+  public long getInvocations() { return invocations.sum(); }
+
+  @Override
+  public long getFailures() { return failures.sum(); }
+
+  @Override
+  public Map<String, Long> getFailuresByType() {
+    final Map<String, Long> byType = new TreeMap<>();
+    for (Map.Entry<Class<?>, LongAdder> entry : failuresByType.entrySet()) {
+      byType.put(entry.getKey().getName(), entry.getValue().sum());
+    }
+    return byType;
+  }
+
+  @Override
+  public long getMeanLatencyNanos() {
+    final long count = invocations.sum();
+    return count == 0 ? 0 : totalNanos.sum() / count;
+  }
+
+  @Override
+  public long getMaxLatencyNanos() { return maxNanos.get(); }
+
+  @Override
+  public long getP50LatencyNanos() { return latencyQuantileNanos(0.5); }
+
+  @Override
+  public long getP99LatencyNanos() { return latencyQuantileNanos(0.99); }
+
+  @Override
+  public long getP999LatencyNanos() { return latencyQuantileNanos(0.999); }
+
+  /**
+   * @param quantile quantile between {@code 0} and {@code 1}, e.g.
+   *                 {@code 0.99} for the 99th percentile
+   * @return latency in nanoseconds not exceeded by {@code quantile} of the
+   *     invocations, overestimated by less than 25%
+   */
+  public long latencyQuantileNanos(double quantile) {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("quantile must be between 0 and 1: " + quantile);
+    }
+    return Math.min(latencies.quantile(quantile), getMaxLatencyNanos());
+  }
+
+  @Override
+  public void reset() {
+    invocations.reset();
+    failures.reset();
+    totalNanos.reset();
+    maxNanos.reset();
+    failuresByType.clear();
+    latencies.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "InvocationMetrics[" + name + ", invocations=" + getInvocations() + ", failures=" + getFailures()
+        + ", mean=" + getMeanLatencyNanos() + "ns, p99=" + getP99LatencyNanos() + "ns]";
+  }
+}
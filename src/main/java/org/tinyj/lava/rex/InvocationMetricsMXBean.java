@@ -0,0 +1,62 @@
+package org.tinyj.lava.rex;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link InvocationMetrics}.
+ *
+ * @see MetricsRegistry#registerMBeans()
+ */
+public interface InvocationMetricsMXBean {
+
+  /**
+   * @return name of the instrumented lambda
+   */
+  String getName();
+
+  /**
+   * @return number of completed invocations, successful or not
+   */
+  long getInvocations();
+
+  /**
+   * @return number of invocations raising an exception
+   */
+  long getFailures();
+
+  /**
+   * @return number of invocations raising an exception by exception class
+   *     name
+   */
+  Map<String, Long> getFailuresByType();
+
+  /**
+   * @return mean latency in nanoseconds
+   */
+  long getMeanLatencyNanos();
+
+  /**
+   * @return maximum latency in nanoseconds
+   */
+  long getMaxLatencyNanos();
+
+  /**
+   * @return median latency in nanoseconds
+   */
+  long getP50LatencyNanos();
+
+  /**
+   * @return 99th percentile latency in nanoseconds
+   */
+  long getP99LatencyNanos();
+
+  /**
+   * @return 99.9th percentile latency in nanoseconds
+   */
+  long getP999LatencyNanos();
+
+  /**
+   * Reset all counters and the latency histogram.
+   */
+  void reset();
+}
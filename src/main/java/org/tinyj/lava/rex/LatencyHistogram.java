@@ -0,0 +1,73 @@
+package org.tinyj.lava.rex;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds.
+ * <p>
+ * Buckets are log-linear: each power of two is divided into four
+ * sub-buckets, so any recorded value is reported with a relative error
+ * below 25% while the whole range of {@code long} fits into 256 counters.
+ * Recording is a single atomic increment.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 2;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+  void record(long nanos) { counts.getAndIncrement(index(nanos)); }
+
+  /**
+   * @param quantile quantile between {@code 0} and {@code 1}
+   * @return upper bound of the bucket holding {@code quantile}, {@code 0}
+   *     if nothing was recorded
+   */
+  long quantile(double quantile) {
+    final int length = counts.length();
+    final long[] snapshot = new long[length];
+    long total = 0;
+    for (int i = 0; i < length; i++) {
+      total += snapshot[i] = counts.get(i);
+    }
+    if (total == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for (int i = 0; i < length; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return upperBound(i);
+      }
+    }
+    return upperBound(length - 1);
+  }
+
+  void reset() {
+    for (int i = 0; i < counts.length(); i++) {
+      counts.set(i, 0);
+    }
+  }
+
+  static int index(long nanos) {
+    if (nanos < SUB_BUCKETS) {
+      return nanos <= 0 ? 0 : (int) nanos;
+    }
+    final int log2 = 63 - Long.numberOfLeadingZeros(nanos);
+    final int sub = (int) (nanos >>> (log2 - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return ((log2 - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + sub;
+  }
+
+  static long upperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    final int log2 = (index >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+    final long sub = index & (SUB_BUCKETS - 1);
+    final long lower = (1L << log2) + (sub << (log2 - SUB_BUCKET_BITS));
+    final long width = 1L << (log2 - SUB_BUCKET_BITS);
+    return lower + width - 1 < 0 ? Long.MAX_VALUE : lower + width - 1;
+  }
+}
@@ -0,0 +1,148 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.LavaSupplier;
+
+import java.time.Duration;
+
+/**
+ * A {@link RexSupplier} computing its value at most once.
+ * <p>
+ * The first invocation computes the value while concurrent invocations
+ * wait for it. Once computed, invocations read the value from a volatile
+ * field without acquiring a monitor, the same holds for cached failures.
+ * The underlying supplier is released after it yielded a value.
+ * <p>
+ * If the underlying supplier raises a checked exception it depends on the
+ * failure policy what subsequent invocations do:
+ * <ul>
+ * <li>{@link #of}: invoke the underlying supplier again</li>
+ * <li>{@link #cachingFailures(LavaSupplier)}: rethrow the same exception
+ *     forever</li>
+ * <li>{@link #cachingFailures(LavaSupplier, Duration)}: rethrow the same
+ *     exception until the duration elapsed, invoke the underlying supplier
+ *     again afterwards</li>
+ * </ul>
+ * Unchecked exceptions are never cached.
+ *
+ * @param <R> type of supplied value
+ * @param <E> upper limit of thrown exception types
+ */
+public final class MemoizingSupplier<R, E extends Exception> implements RexSupplier<R, E> {
+
+  private static final long FOREVER = Long.MAX_VALUE;
+
+  private final long failureTtlNanos;
+
+  private LavaSupplier<? extends R, ? extends E> supplier;
+  private volatile Attempt<R, E> outcome;
+  private long failureExpiresAt;
+
+  private MemoizingSupplier(LavaSupplier<? extends R, ? extends E> supplier, long failureTtlNanos) {
+    if (supplier == null) {
+      throw new NullPointerException("supplier");
+    }
+    this.supplier = supplier;
+    this.failureTtlNanos = failureTtlNanos;
+  }
+
+  /**
+   * Memoize the value of {@code supplier}, failures are not cached.
+   *
+   * @param <R> type of supplied value
+   * @param <E> upper exception limit
+   * @param supplier supplier computing the value
+   * @return memoizing supplier
+   */
+  public static <R, E extends Exception> MemoizingSupplier<R, E>
+  of(LavaSupplier<? extends R, ? extends E> supplier) { return new MemoizingSupplier<>(supplier, 0); }
+
+  /**
+   * Memoize the value or checked exception raised by {@code supplier}.
+   *
+   * @param <R> type of supplied value
+   * @param <E> upper exception limit
+   * @param supplier supplier computing the value
+   * @return memoizing supplier
+   */
+  public static <R, E extends Exception> MemoizingSupplier<R, E>
+  cachingFailures(LavaSupplier<? extends R, ? extends E> supplier) { return new MemoizingSupplier<>(supplier, FOREVER); }
+
+  /**
+   * Memoize the value of {@code supplier}, checked exceptions raised are
+   * cached for {@code ttl}.
+   *
+   * @param <R> type of supplied value
+   * @param <E> upper exception limit
+   * @param supplier supplier computing the value
+   * @param ttl duration to cache failures for
+   * @return memoizing supplier
+   */
+  public static <R, E extends Exception> MemoizingSupplier<R, E>
+  cachingFailures(LavaSupplier<? extends R, ? extends E> supplier, Duration ttl) {
+    if (ttl.isNegative()) {
+      throw new IllegalArgumentException("negative ttl: " + ttl);
+    }
+    return new MemoizingSupplier<>(supplier, nanos(ttl));
+  }
+
+  /**
+   * Produce the memoized value, compute it if necessary.
+   *
+   * @return the memoized value
+   * @throws E the exception raised computing the value
+   */
+  @Override
+  public R checkedGet() throws E {
+    final Attempt<R, E> cached = outcome;
+    if (cached != null && (cached.isSuccess() || !failureExpired())) {
+      return cached.get();
+    }
+    return compute().get();
+  }
+
+  /**
+   * @return {@code true} if the value has been computed successfully
+   */
+  public boolean isComputed() {
+    final Attempt<R, E> cached = outcome;
+    return cached != null && cached.isSuccess();
+  }
+
+  @SuppressWarnings("unchecked")
+  private synchronized Attempt<R, E> compute() {
+    final Attempt<R, E> cached = outcome;
+    if (cached != null && (cached.isSuccess() || !failureExpired())) {
+      return cached;
+    }
+    try {
+      final Attempt<R, E> computed = Attempt.success(supplier.checkedGet());
+      supplier = null;
+      return outcome = computed;
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      final Attempt<R, E> failed = Attempt.failure((E) e);
+      if (failureTtlNanos > 0) {
+        failureExpiresAt = System.nanoTime() + failureTtlNanos;
+        outcome = failed;
+      }
+      return failed;
+    }
+  }
+
+  /**
+   * Only valid after reading {@link #outcome}, which publishes
+   * {@link #failureExpiresAt}.
+   */
+  private boolean failureExpired() {
+    return failureTtlNanos != FOREVER && System.nanoTime() - failureExpiresAt >= 0;
+  }
+
+  private static long nanos(Duration duration) {
+    try {
+      return duration.toNanos();
+    } catch (ArithmeticException e) {
+      return FOREVER;
+    }
+  }
+}
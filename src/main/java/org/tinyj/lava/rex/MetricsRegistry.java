@@ -0,0 +1,146 @@
+package org.tinyj.lava.rex;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link InvocationMetrics} of instrumented lambdas by
+ * name.
+ * <p>
+ * Lambdas instrumented by {@link Rex#instrumented} share the
+ * {@link #global() global registry}, lambdas instrumented under the same
+ * name share their metrics. Once {@link #registerMBeans() registered},
+ * metrics are published to the platform MBean server as
+ * {@code org.tinyj.lava.rex:type=InvocationMetrics,name=<name>}, including
+ * metrics created later on.
+ * <p>
+ * E.g. {@code MetricsRegistry.global().all().get("user-lookup").getP99LatencyNanos()}
+ */
+public final class MetricsRegistry {
+
+  private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+  private final ConcurrentHashMap<String, InvocationMetrics> metrics = new ConcurrentHashMap<>();
+  private volatile MBeanServer server;
+
+  /**
+   * Create an empty registry.
+   */
+  public MetricsRegistry() {}
+
+  /**
+   * @return registry used by {@link Rex#instrumented}
+   */
+  public static MetricsRegistry global() { return GLOBAL; }
+
+  /**
+   * @param name name of the instrumented lambda
+   * @return metrics registered under {@code name}, created if absent
+   */
+  public InvocationMetrics metrics(String name) {
+    if (name == null) {
+      throw new NullPointerException("name");
+    }
+    final InvocationMetrics existing = metrics.get(name);
+    if (existing != null) {
+      return existing;
+    }
+    final InvocationMetrics created = metrics.computeIfAbsent(name, InvocationMetrics::new);
+    publish(created);
+    return created;
+  }
+
+  /**
+   * @return unmodifiable live view of all metrics by name
+   */
+  public Map<String, InvocationMetrics> all() { return Collections.unmodifiableMap(metrics); }
+
+  /**
+   * Remove the metrics registered under {@code name}. Lambdas already
+   * instrumented keep recording into the removed metrics.
+   *
+   * @param name name of the instrumented lambda
+   */
+  public void remove(String name) {
+    final InvocationMetrics removed = metrics.remove(name);
+    final MBeanServer server = this.server;
+    if (removed != null && server != null) {
+      unregister(server, removed);
+    }
+  }
+
+  /**
+   * Publish all metrics, present and future, to the platform MBean server.
+   */
+  public synchronized void registerMBeans() {
+    if (server != null) {
+      return;
+    }
+    server = ManagementFactory.getPlatformMBeanServer();
+    for (InvocationMetrics registered : metrics.values()) {
+      register(server, registered);
+    }
+  }
+
+  /**
+   * Withdraw all metrics from the platform MBean server.
+   */
+  public synchronized void unregisterMBeans() {
+    final MBeanServer server = this.server;
+    if (server == null) {
+      return;
+    }
+    this.server = null;
+    for (InvocationMetrics registered : metrics.values()) {
+      unregister(server, registered);
+    }
+  }
+
+  /**
+   * Register metrics just added to the map if the registry is published.
+   * Reading {@link #server} after the insertion guarantees that either
+   * this method or a concurrent {@link #registerMBeans()} sees the metrics.
+   * A concurrent {@link #unregisterMBeans()} may miss them, so the server
+   * is checked again after registering.
+   */
+  private void publish(InvocationMetrics created) {
+    final MBeanServer server = this.server;
+    if (server != null) {
+      register(server, created);
+      if (this.server != server) {
+        unregister(server, created);
+      }
+    }
+  }
+
+  private static void register(MBeanServer server, InvocationMetrics metrics) {
+    try {
+      server.registerMBean(metrics, objectName(metrics));
+    } catch (InstanceAlreadyExistsException e) {
+      // registered concurrently
+    } catch (JMException e) {
+      throw new IllegalStateException("failed to register metrics " + metrics.getName(), e);
+    }
+  }
+
+  private static void unregister(MBeanServer server, InvocationMetrics metrics) {
+    try {
+      final ObjectName name = objectName(metrics);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+    } catch (JMException e) {
+      throw new IllegalStateException("failed to unregister metrics " + metrics.getName(), e);
+    }
+  }
+
+  private static ObjectName objectName(InvocationMetrics metrics) throws JMException {
+    return new ObjectName("org.tinyj.lava.rex:type=InvocationMetrics,name=" + ObjectName.quote(metrics.getName()));
+  }
+}
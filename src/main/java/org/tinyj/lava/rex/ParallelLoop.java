@@ -0,0 +1,167 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.LavaConsumer;
+import org.tinyj.lava.LavaFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fork/join loop backing {@link Rex#parallelMap} and
+ * {@link Rex#parallelForEach}.
+ * <p>
+ * Ranges are split only while the worker's queue runs low, so idle workers
+ * find work to steal without creating a task per element. Each leaf runs
+ * its chunk within a single try/catch. Once an element failed, ranges are
+ * no longer split and leaves stop before their next element, so work not
+ * started yet is skipped.
+ */
+final class ParallelLoop extends RecursiveAction {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Don't split further while the current worker has more queued tasks
+   * than this, the same heuristic the JDK's parallel streams use.
+   */
+  private static final int SURPLUS = 3;
+
+  private final Loop loop;
+  private final int lo;
+  private final int hi;
+
+  private ParallelLoop(Loop loop, int lo, int hi) {
+    this.loop = loop;
+    this.lo = lo;
+    this.hi = hi;
+  }
+
+  static <X, R, E extends Exception> List<R>
+  map(List<? extends X> list, LavaFunction<? super X, ? extends R, ? extends E> function, int parallelism) throws E {
+    final Loop loop = new Loop(list.toArray(), function, true);
+    ParallelLoop.<E>run(loop, parallelism);
+    @SuppressWarnings("unchecked") final List<R> results = (List<R>) Arrays.asList(loop.results);
+    return Collections.unmodifiableList(results);
+  }
+
+  static <X, E extends Exception> void
+  forEach(List<? extends X> list, LavaConsumer<? super X, ? extends E> consumer, int parallelism) throws E {
+    final LavaFunction<X, Void, E> function = x -> {
+      consumer.checkedAccept(x);
+      return null;
+    };
+    ParallelLoop.<E>run(new Loop(list.toArray(), function, false), parallelism);
+  }
+
+  private static <E extends Exception> void run(Loop loop, int parallelism) throws E {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+    }
+    final int n = loop.items.length;
+    if (n == 0) {
+      return;
+    }
+    loop.grain = Math.max(1, n / (parallelism << 3));
+    if (parallelism == 1 || n <= loop.grain) {
+      // not a fork/join worker, forking would leak work into the common pool
+      loop.run(0, n);
+    } else {
+      final ParallelLoop root = new ParallelLoop(loop, 0, n);
+      if (parallelism == ForkJoinPool.getCommonPoolParallelism()) {
+        ForkJoinPool.commonPool().invoke(root);
+      } else {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+          pool.invoke(root);
+        } finally {
+          pool.shutdown();
+        }
+      }
+    }
+    loop.rethrow();
+  }
+
+  @Override
+  protected void compute() {
+    final Loop loop = this.loop;
+    int hi = this.hi;
+    List<ParallelLoop> forked = null;
+    while (hi - lo > loop.grain && loop.failure.get() == null
+        && getSurplusQueuedTaskCount() <= SURPLUS) {
+      final int mid = (lo + hi) >>> 1;
+      final ParallelLoop right = new ParallelLoop(loop, mid, hi);
+      right.fork();
+      if (forked == null) {
+        forked = new ArrayList<>();
+      }
+      forked.add(right);
+      hi = mid;
+    }
+    loop.run(lo, hi);
+    if (forked != null) {
+      for (int i = forked.size() - 1; i >= 0; i--) {
+        forked.get(i).join();
+      }
+    }
+  }
+
+  /**
+   * State shared by all tasks of one loop.
+   */
+  private static final class Loop {
+
+    final Object[] items;
+    final Object[] results;
+    final LavaFunction<Object, ?, ?> function;
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final ConcurrentLinkedQueue<Throwable> suppressed = new ConcurrentLinkedQueue<>();
+    int grain = 1;
+
+    @SuppressWarnings("unchecked")
+    Loop(Object[] items, LavaFunction<?, ?, ?> function, boolean collect) {
+      this.items = items;
+      this.results = collect ? new Object[items.length] : null;
+      this.function = (LavaFunction<Object, ?, ?>) function;
+    }
+
+    void run(int lo, int hi) {
+      final Object[] items = this.items;
+      final Object[] results = this.results;
+      final LavaFunction<Object, ?, ?> function = this.function;
+      try {
+        for (int i = lo; i < hi && failure.get() == null; i++) {
+          final Object result = function.checkedApply(items[i]);
+          if (results != null) {
+            results[i] = result;
+          }
+        }
+      } catch (Throwable e) {
+        if (!failure.compareAndSet(null, e)) {
+          suppressed.add(e);
+        }
+      }
+    }
+
+    <E extends Exception> void rethrow() throws E {
+      final Throwable first = failure.get();
+      if (first == null) {
+        return;
+      }
+      for (Throwable other : suppressed) {
+        if (other != first) {
+          first.addSuppressed(other);
+        }
+      }
+      if (first instanceof Error) {
+        throw (Error) first;
+      }
+      throw Rex.<E>sneakyThrow((Exception) first);
+    }
+  }
+}
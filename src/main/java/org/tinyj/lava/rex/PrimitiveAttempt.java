@@ -0,0 +1,128 @@
+package org.tinyj.lava.rex;
+
+/**
+ * A reusable holder for the outcome of a checked invocation with primitive
+ * result: either the result or the checked exception raised.
+ * <p>
+ * Unlike {@link Attempt} a {@code PrimitiveAttempt} is mutable. It is
+ * passed to the {@link Rex#attempt} overloads for primitive results, which
+ * overwrite its previous state, so a loop can reuse a single instance and
+ * allocates nothing per element. Unchecked exceptions are never captured.
+ * <p>
+ * E.g.
+ * <pre>{@code
+ * PrimitiveAttempt<ParseException> attempt = new PrimitiveAttempt<>();
+ * for (String line : lines) {
+ *   if (Rex.attempt(parser, line, attempt)) {
+ *     sum += attempt.intValue();
+ *   } else {
+ *     failures++;
+ *   }
+ * }
+ * }</pre>
+ * <p>
+ * Instances are not thread-safe.
+ *
+ * @param <E> upper limit of the captured exception type
+ */
+public final class PrimitiveAttempt<E extends Exception> {
+
+  private static final int INT = 0;
+  private static final int LONG = 1;
+  private static final int DOUBLE = 2;
+
+  private long longResult;
+  private double doubleResult;
+  private int kind;
+  private E failure;
+
+  /**
+   * @return {@code true} if the last attempt yielded a result
+   */
+  public boolean isSuccess() { return failure == null; }
+
+  /**
+   * @return {@code true} if the last attempt raised an exception
+   */
+  public boolean isFailure() { return failure != null; }
+
+  /**
+   * @return the last attempt's {@code int} result
+   * @throws IllegalStateException if the last attempt failed or yielded a
+   *     {@code long} or {@code double}
+   */
+  public int intValue() {
+    checkSuccess();
+    if (kind != INT) {
+      throw new IllegalStateException(kind == LONG ? "attempt yielded a long" : "attempt yielded a double");
+    }
+    return (int) longResult;
+  }
+
+  /**
+   * @return the last attempt's {@code long} result, an {@code int} result
+   *     is widened to {@code long}
+   * @throws IllegalStateException if the last attempt failed or yielded a
+   *     {@code double}
+   */
+  public long longValue() {
+    checkSuccess();
+    if (kind == DOUBLE) {
+      throw new IllegalStateException("attempt yielded a double");
+    }
+    return longResult;
+  }
+
+  /**
+   * @return the last attempt's {@code double} result, an {@code int} or
+   *     {@code long} result is widened to {@code double}
+   * @throws IllegalStateException if the last attempt failed
+   */
+  public double doubleValue() {
+    checkSuccess();
+    return kind == DOUBLE ? doubleResult : longResult;
+  }
+
+  /**
+   * @return the exception raised by the last attempt, {@code null} if
+   *     successful
+   */
+  public E failure() { return failure; }
+
+  boolean succeed(int result) {
+    longResult = result;
+    kind = INT;
+    failure = null;
+    return true;
+  }
+
+  boolean succeed(long result) {
+    longResult = result;
+    kind = LONG;
+    failure = null;
+    return true;
+  }
+
+  boolean succeed(double result) {
+    doubleResult = result;
+    kind = DOUBLE;
+    failure = null;
+    return true;
+  }
+
+  boolean fail(E failure) {
+    this.failure = failure;
+    return false;
+  }
+
+  private void checkSuccess() {
+    if (failure != null) {
+      throw new IllegalStateException("attempt failed", failure);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return failure == null ? "Success" : "Failure[" + failure + "]";
+  }
+}
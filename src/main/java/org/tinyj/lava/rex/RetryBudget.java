@@ -0,0 +1,84 @@
+package org.tinyj.lava.rex;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the rate of retries shared by any number of {@link RetryPolicy}s.
+ * <p>
+ * When a dependency fails persistently, every caller retrying on its own
+ * multiplies the load on it. A shared budget turns a retry storm into a
+ * trickle: once it is spent further failures are rethrown immediately,
+ * until the budget has been replenished.
+ * <p>
+ * The budget grants up to {@code retries} retries per {@code period} and
+ * refills continuously. It is implemented as a generic cell rate
+ * algorithm on a single {@link AtomicLong}, no lock is taken.
+ * <p>
+ * E.g. {@code RetryBudget.of(10, Duration.ofSeconds(1))}
+ */
+public final class RetryBudget {
+
+  private static final RetryBudget UNLIMITED = new RetryBudget(0, 0);
+
+  private final long intervalNanos;
+  private final long toleranceNanos;
+  private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+
+  private RetryBudget(long intervalNanos, long toleranceNanos) {
+    this.intervalNanos = intervalNanos;
+    this.toleranceNanos = toleranceNanos;
+  }
+
+  /**
+   * @return budget granting any number of retries
+   */
+  public static RetryBudget unlimited() { return UNLIMITED; }
+
+  /**
+   * @param retries number of retries granted per {@code period}
+   * @param period  duration over which {@code retries} are granted
+   * @return budget granting {@code retries} retries per {@code period}
+   * @throws IllegalArgumentException if {@code retries} or {@code period}
+   *                                  isn't positive
+   */
+  public static RetryBudget of(int retries, Duration period) {
+    if (retries < 1) {
+      throw new IllegalArgumentException("retries must be positive: " + retries);
+    }
+    if (period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("period must be positive: " + period);
+    }
+    final long periodNanos = period.toNanos();
+    final long interval = Math.max(1, periodNanos / retries);
+    return new RetryBudget(interval, periodNanos - interval);
+  }
+
+  /**
+   * Withdraw a single retry from this budget.
+   *
+   * @return {@code true} if a retry was granted
+   */
+  public boolean tryAcquire() {
+    if (this == UNLIMITED) {
+      return true;
+    }
+    final long now = System.nanoTime();
+    for (; ; ) {
+      final long tat = theoreticalArrival.get();
+      final long start = tat - now < 0 ? now : tat;
+      if (start - now > toleranceNanos) {
+        return false;
+      }
+      if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this == UNLIMITED ? "RetryBudget[unlimited]"
+        : "RetryBudget[interval=" + intervalNanos + "ns, burst=" + (toleranceNanos / intervalNanos + 1) + "]";
+  }
+}
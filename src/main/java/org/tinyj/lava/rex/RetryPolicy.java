@@ -0,0 +1,319 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries lambdas failing with transient exceptions.
+ * <p>
+ * A failed invocation is retried if the exception raised is an instance of
+ * one of the {@link Builder#retryOn(Class[]) retryable types}, the maximum
+ * number of attempts isn't reached and the {@link RetryBudget} grants a
+ * retry. Between attempts the calling thread sleeps for an exponentially
+ * growing, randomly jittered delay. Once retries are exhausted the last
+ * exception is rethrown unchanged, earlier ones are attached as
+ * {@link Throwable#getSuppressed() suppressed}.
+ * <p>
+ * No retry is attempted if the backoff delay would exceed the budget of
+ * the {@link Deadline#current() current deadline}.
+ * <p>
+ * Decorated lambdas enter the retry loop only after their first failure,
+ * on success they cost a single additional call.
+ * <p>
+ * E.g.
+ * <pre>{@code
+ * RetryPolicy policy = RetryPolicy.builder()
+ *     .retryOn(IOException.class)
+ *     .maxAttempts(4)
+ *     .backoff(Duration.ofMillis(50), Duration.ofSeconds(2))
+ *     .budget(RetryBudget.of(20, Duration.ofSeconds(1)))
+ *     .build();
+ * RexFunction<URI, byte[], IOException> fetch = policy.function(client::fetch);
+ * }</pre>
+ */
+public final class RetryPolicy {
+
+  private final List<Class<? extends Exception>> retryOn;
+  private final int maxAttempts;
+  private final long initialDelayNanos;
+  private final long maxDelayNanos;
+  private final double multiplier;
+  private final double jitter;
+  private final RetryBudget budget;
+
+  private RetryPolicy(Builder builder) {
+    this.retryOn = builder.retryOn;
+    this.maxAttempts = builder.maxAttempts;
+    this.initialDelayNanos = builder.initialDelayNanos;
+    this.maxDelayNanos = builder.maxDelayNanos;
+    this.multiplier = builder.multiplier;
+    this.jitter = builder.jitter;
+    this.budget = builder.budget;
+  }
+
+  /**
+   * @return builder for a new policy
+   */
+  public static Builder builder() { return new Builder(); }
+
+  /**
+   * Decorate {@code checked} to retry failed invocations.
+   *
+   * @param <E>     upper exception limit
+   * @param checked runnable to retry
+   * @return retrying runnable
+   */
+  public <E extends Exception> RexRunnable<E>
+  runnable(LavaRunnable<? extends E> checked) {
+    return () -> {
+      try {
+        checked.checkedRun();
+      } catch (Exception e) {
+        retry(() -> {
+          checked.checkedRun();
+          return null;
+        }, e);
+      }
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to retry failed invocations.
+   *
+   * @param <R>     result type
+   * @param <E>     upper exception limit
+   * @param checked supplier to retry
+   * @return retrying supplier
+   */
+  public <R, E extends Exception> RexSupplier<R, E>
+  supplier(LavaSupplier<? extends R, ? extends E> checked) {
+    return () -> {
+      try {
+        return checked.checkedGet();
+      } catch (Exception e) {
+        return retry(checked, e);
+      }
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to retry failed invocations.
+   *
+   * @param <X>     argument type
+   * @param <R>     result type
+   * @param <E>     upper exception limit
+   * @param checked function to retry
+   * @return retrying function
+   */
+  public <X, R, E extends Exception> RexFunction<X, R, E>
+  function(LavaFunction<? super X, ? extends R, ? extends E> checked) {
+    return x -> {
+      try {
+        return checked.checkedApply(x);
+      } catch (Exception e) {
+        return retry(() -> checked.checkedApply(x), e);
+      }
+    };
+  }
+
+  /**
+   * Decorate {@code checked} to retry failed invocations.
+   *
+   * @param <X>     argument type
+   * @param <E>     upper exception limit
+   * @param checked consumer to retry
+   * @return retrying consumer
+   */
+  public <X, E extends Exception> RexConsumer<X, E>
+  consumer(LavaConsumer<? super X, ? extends E> checked) {
+    return x -> {
+      try {
+        checked.checkedAccept(x);
+      } catch (Exception e) {
+        retry(() -> {
+          checked.checkedAccept(x);
+          return null;
+        }, e);
+      }
+    };
+  }
+
+  /**
+   * @param e exception raised by an attempt
+   * @return {@code true} if {@code e} is of a retryable type
+   */
+  public boolean isRetryable(Exception e) {
+    if (retryOn.isEmpty()) {
+      return !(e instanceof RuntimeException || e instanceof InterruptedException);
+    }
+    for (Class<? extends Exception> type : retryOn) {
+      if (type.isInstance(e)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private <R, E extends Exception> R
+  retry(LavaSupplier<? extends R, ? extends E> attempt, Exception failure) throws E {
+    final List<Exception> failures = new ArrayList<>(maxAttempts);
+    long delay = initialDelayNanos;
+    for (int attempts = 1; ; attempts++) {
+      if (attempts >= maxAttempts || !isRetryable(failure)
+          || delay >= Deadline.currentRemainingNanos() || !budget.tryAcquire()) {
+        throw Rex.<E>sneakyThrow(suppressing(failure, failures));
+      }
+      try {
+        sleep(delay);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failures.add(e);
+        throw Rex.<E>sneakyThrow(suppressing(failure, failures));
+      }
+      delay = (long) Math.min(maxDelayNanos, delay * multiplier);
+      try {
+        return attempt.checkedGet();
+      } catch (Exception e) {
+        failures.add(failure);
+        failure = e;
+      }
+    }
+  }
+
+  private static Exception suppressing(Exception failure, List<Exception> failures) {
+    for (Exception e : failures) {
+      if (e != failure) {
+        failure.addSuppressed(e);
+      }
+    }
+    return failure;
+  }
+
+  private void sleep(long delay) throws InterruptedException {
+    final long jittered = jitter == 0 ? delay
+        : (long) (delay * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    if (jittered > 0) {
+      TimeUnit.NANOSECONDS.sleep(jittered);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "RetryPolicy[retryOn=" + retryOn + ", maxAttempts=" + maxAttempts
+        + ", initialDelay=" + Duration.ofNanos(initialDelayNanos) + ", maxDelay=" + Duration.ofNanos(maxDelayNanos)
+        + ", multiplier=" + multiplier + ", jitter=" + jitter + ", budget=" + budget + "]";
+  }
+
+  /**
+   * Builder of {@link RetryPolicy}s. By default a policy retries any checked
+   * exception but {@link InterruptedException} up to two times, after 100ms
+   * and 200ms respectively, each reduced by a random jitter of up to 50%,
+   * and draws on an {@link RetryBudget#unlimited() unlimited budget}.
+   */
+  public static final class Builder {
+
+    private List<Class<? extends Exception>> retryOn = Collections.emptyList();
+    private int maxAttempts = 3;
+    private long initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(100);
+    private long maxDelayNanos = TimeUnit.SECONDS.toNanos(10);
+    private double multiplier = 2;
+    private double jitter = 0.5;
+    private RetryBudget budget = RetryBudget.unlimited();
+
+    private Builder() {}
+
+    /**
+     * Retry exceptions of the given types and their subtypes only.
+     *
+     * @param types retryable exception types
+     * @return this builder
+     */
+    @SafeVarargs
+    public final Builder retryOn(Class<? extends Exception>... types) {
+      final List<Class<? extends Exception>> copy = new ArrayList<>(types.length);
+      for (Class<? extends Exception> type : types) {
+        if (type == null) {
+          throw new NullPointerException("types");
+        }
+        copy.add(type);
+      }
+      this.retryOn = Collections.unmodifiableList(copy);
+      return this;
+    }
+
+    /**
+     * @param maxAttempts maximum number of attempts including the first
+     * @return this builder
+     */
+    public Builder maxAttempts(int maxAttempts) {
+      if (maxAttempts < 1) {
+        throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+      }
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * @param initialDelay delay before the first retry
+     * @param maxDelay     upper limit of the delay between attempts
+     * @return this builder
+     */
+    public Builder backoff(Duration initialDelay, Duration maxDelay) {
+      if (initialDelay.isNegative() || maxDelay.compareTo(initialDelay) < 0) {
+        throw new IllegalArgumentException("invalid backoff: " + initialDelay + ", " + maxDelay);
+      }
+      this.initialDelayNanos = initialDelay.toNanos();
+      this.maxDelayNanos = maxDelay.toNanos();
+      return this;
+    }
+
+    /**
+     * @param multiplier factor applied to the delay after each retry
+     * @return this builder
+     */
+    public Builder multiplier(double multiplier) {
+      if (!(multiplier >= 1)) {
+        throw new IllegalArgumentException("multiplier must be at least 1: " + multiplier);
+      }
+      this.multiplier = multiplier;
+      return this;
+    }
+
+    /**
+     * @param jitter maximum fraction by which each delay is randomly
+     *               reduced, between {@code 0} and {@code 1}
+     * @return this builder
+     */
+    public Builder jitter(double jitter) {
+      if (!(jitter >= 0 && jitter <= 1)) {
+        throw new IllegalArgumentException("jitter must be between 0 and 1: " + jitter);
+      }
+      this.jitter = jitter;
+      return this;
+    }
+
+    /**
+     * @param budget budget to draw retries from, usually shared by all
+     *               policies retrying calls to the same dependency
+     * @return this builder
+     */
+    public Builder budget(RetryBudget budget) {
+      if (budget == null) {
+        throw new NullPointerException("budget");
+      }
+      this.budget = budget;
+      return this;
+    }
+
+    /**
+     * @return new policy
+     */
+    public RetryPolicy build() { return new RetryPolicy(this); }
+  }
+}
@@ -2,9 +2,18 @@ package org.tinyj.lava.rex;
 
 import org.tinyj.lava.*;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.*;
 import java.util.function.*;
+import java.util.stream.Stream;
 
-import static org.tinyj.lava.WrappedCheckedException.wrapCheckedException;
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
 
 /**
  * Utility class
@@ -173,259 +182,2667 @@ public class Rex {
   public static <X, E extends Exception> RexBiPredicate<X, X, E>
   relation(RexBiPredicate<? super X, ? super X, ? extends E> relation) { return RexBiPredicate.castDown(relation); }
 
+  /**
+   * This method simplifies the creation of {@link RexIntFunction} lambdas in
+   * places where an {@link IntFunction} is expected.
+   * <p>
+   * E.g. {@code intStream.mapToObj(Rex.intFunction(x -> {...code throwing checked exception...}))}
+   *
+   * @param <R> return type
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <R, E extends Exception> RexIntFunction<R, E>
+  intFunction(RexIntFunction<? extends R, ? extends E> function) { return RexIntFunction.castDown(function); }
+
+  /**
+   * This method simplifies the creation of {@link RexToIntFunction} lambdas in
+   * places where a {@link ToIntFunction} is expected.
+   * <p>
+   * E.g. {@code stream.mapToInt(Rex.toIntFunction(element -> {...code throwing checked exception...}))}
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <X, E extends Exception> RexToIntFunction<X, E>
+  toIntFunction(RexToIntFunction<? super X, ? extends E> function) { return RexToIntFunction.castDown(function); }
+
+  /**
+   * This method simplifies the creation of {@link RexIntUnaryOperator} lambdas in
+   * places where an {@link IntUnaryOperator} is expected.
+   * <p>
+   * E.g. {@code intStream.map(Rex.intUnaryOp(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param operator lambda
+   * @return {@code operator}
+   */
+  public static <E extends Exception> RexIntUnaryOperator<E>
+  intUnaryOp(RexIntUnaryOperator<? extends E> operator) { return RexIntUnaryOperator.castDown(operator); }
+
+  /**
+   * This method simplifies the creation of {@link RexIntBinaryOperator} lambdas in
+   * places where an {@link IntBinaryOperator} is expected.
+   * <p>
+   * E.g. {@code intStream.reduce(Rex.intBinaryOp((x, y) -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param operator lambda
+   * @return {@code operator}
+   */
+  public static <E extends Exception> RexIntBinaryOperator<E>
+  intBinaryOp(RexIntBinaryOperator<? extends E> operator) { return RexIntBinaryOperator.castDown(operator); }
+
+  /**
+   * This method simplifies the creation of {@link RexIntPredicate} lambdas in
+   * places where an {@link IntPredicate} is expected.
+   * <p>
+   * E.g. {@code intStream.filter(Rex.intPredicate(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param predicate lambda
+   * @return {@code predicate}
+   */
+  public static <E extends Exception> RexIntPredicate<E>
+  intPredicate(RexIntPredicate<? extends E> predicate) { return RexIntPredicate.castDown(predicate); }
+
+  /**
+   * This method simplifies the creation of {@link RexIntSupplier} lambdas in
+   * places where an {@link IntSupplier} is expected.
+   * <p>
+   * E.g. {@code IntStream.generate(Rex.intSupplier(() -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param supplier lambda
+   * @return {@code supplier}
+   */
+  public static <E extends Exception> RexIntSupplier<E>
+  intSupplier(RexIntSupplier<? extends E> supplier) { return RexIntSupplier.castDown(supplier); }
+
+  /**
+   * This method simplifies the creation of {@link RexIntConsumer} lambdas in
+   * places where an {@link IntConsumer} is expected.
+   * <p>
+   * E.g. {@code intStream.forEach(Rex.intConsumer(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param consumer lambda
+   * @return {@code consumer}
+   */
+  public static <E extends Exception> RexIntConsumer<E>
+  intConsumer(RexIntConsumer<? extends E> consumer) { return RexIntConsumer.castDown(consumer); }
+
+  /**
+   * This method simplifies the creation of {@link RexObjIntConsumer} lambdas in
+   * places where an {@link ObjIntConsumer} is expected.
+   * <p>
+   * E.g. {@code intStream.collect(supplier, Rex.objIntConsumer((container, x) -> {...code throwing checked exception...}), combiner)}
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param consumer lambda
+   * @return {@code consumer}
+   */
+  public static <X, E extends Exception> RexObjIntConsumer<X, E>
+  objIntConsumer(RexObjIntConsumer<? super X, ? extends E> consumer) { return RexObjIntConsumer.castDown(consumer); }
+
+  /**
+   * This method simplifies the creation of {@link RexIntToLongFunction} lambdas in
+   * places where an {@link IntToLongFunction} is expected.
+   * <p>
+   * E.g. {@code intStream.mapToLong(Rex.intToLongFunction(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <E extends Exception> RexIntToLongFunction<E>
+  intToLongFunction(RexIntToLongFunction<? extends E> function) { return RexIntToLongFunction.castDown(function); }
+
+  /**
+   * This method simplifies the creation of {@link RexIntToDoubleFunction} lambdas in
+   * places where an {@link IntToDoubleFunction} is expected.
+   * <p>
+   * E.g. {@code intStream.mapToDouble(Rex.intToDoubleFunction(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <E extends Exception> RexIntToDoubleFunction<E>
+  intToDoubleFunction(RexIntToDoubleFunction<? extends E> function) { return RexIntToDoubleFunction.castDown(function); }
+
+  /**
+   * This method simplifies the creation of {@link RexLongFunction} lambdas in
+   * places where a {@link LongFunction} is expected.
+   * <p>
+   * E.g. {@code longStream.mapToObj(Rex.longFunction(x -> {...code throwing checked exception...}))}
+   *
+   * @param <R> return type
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <R, E extends Exception> RexLongFunction<R, E>
+  longFunction(RexLongFunction<? extends R, ? extends E> function) { return RexLongFunction.castDown(function); }
+
+  /**
+   * This method simplifies the creation of {@link RexToLongFunction} lambdas in
+   * places where a {@link ToLongFunction} is expected.
+   * <p>
+   * E.g. {@code stream.mapToLong(Rex.toLongFunction(element -> {...code throwing checked exception...}))}
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <X, E extends Exception> RexToLongFunction<X, E>
+  toLongFunction(RexToLongFunction<? super X, ? extends E> function) { return RexToLongFunction.castDown(function); }
+
+  /**
+   * This method simplifies the creation of {@link RexLongUnaryOperator} lambdas in
+   * places where a {@link LongUnaryOperator} is expected.
+   * <p>
+   * E.g. {@code longStream.map(Rex.longUnaryOp(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param operator lambda
+   * @return {@code operator}
+   */
+  public static <E extends Exception> RexLongUnaryOperator<E>
+  longUnaryOp(RexLongUnaryOperator<? extends E> operator) { return RexLongUnaryOperator.castDown(operator); }
+
+  /**
+   * This method simplifies the creation of {@link RexLongBinaryOperator} lambdas in
+   * places where a {@link LongBinaryOperator} is expected.
+   * <p>
+   * E.g. {@code longStream.reduce(Rex.longBinaryOp((x, y) -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param operator lambda
+   * @return {@code operator}
+   */
+  public static <E extends Exception> RexLongBinaryOperator<E>
+  longBinaryOp(RexLongBinaryOperator<? extends E> operator) { return RexLongBinaryOperator.castDown(operator); }
+
+  /**
+   * This method simplifies the creation of {@link RexLongPredicate} lambdas in
+   * places where a {@link LongPredicate} is expected.
+   * <p>
+   * E.g. {@code longStream.filter(Rex.longPredicate(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param predicate lambda
+   * @return {@code predicate}
+   */
+  public static <E extends Exception> RexLongPredicate<E>
+  longPredicate(RexLongPredicate<? extends E> predicate) { return RexLongPredicate.castDown(predicate); }
+
+  /**
+   * This method simplifies the creation of {@link RexLongSupplier} lambdas in
+   * places where a {@link LongSupplier} is expected.
+   * <p>
+   * E.g. {@code LongStream.generate(Rex.longSupplier(() -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param supplier lambda
+   * @return {@code supplier}
+   */
+  public static <E extends Exception> RexLongSupplier<E>
+  longSupplier(RexLongSupplier<? extends E> supplier) { return RexLongSupplier.castDown(supplier); }
+
+  /**
+   * This method simplifies the creation of {@link RexLongConsumer} lambdas in
+   * places where a {@link LongConsumer} is expected.
+   * <p>
+   * E.g. {@code longStream.forEach(Rex.longConsumer(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param consumer lambda
+   * @return {@code consumer}
+   */
+  public static <E extends Exception> RexLongConsumer<E>
+  longConsumer(RexLongConsumer<? extends E> consumer) { return RexLongConsumer.castDown(consumer); }
+
+  /**
+   * This method simplifies the creation of {@link RexObjLongConsumer} lambdas in
+   * places where an {@link ObjLongConsumer} is expected.
+   * <p>
+   * E.g. {@code longStream.collect(supplier, Rex.objLongConsumer((container, x) -> {...code throwing checked exception...}), combiner)}
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param consumer lambda
+   * @return {@code consumer}
+   */
+  public static <X, E extends Exception> RexObjLongConsumer<X, E>
+  objLongConsumer(RexObjLongConsumer<? super X, ? extends E> consumer) { return RexObjLongConsumer.castDown(consumer); }
+
+  /**
+   * This method simplifies the creation of {@link RexLongToIntFunction} lambdas in
+   * places where a {@link LongToIntFunction} is expected.
+   * <p>
+   * E.g. {@code longStream.mapToInt(Rex.longToIntFunction(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <E extends Exception> RexLongToIntFunction<E>
+  longToIntFunction(RexLongToIntFunction<? extends E> function) { return RexLongToIntFunction.castDown(function); }
+
+  /**
+   * This method simplifies the creation of {@link RexLongToDoubleFunction} lambdas in
+   * places where a {@link LongToDoubleFunction} is expected.
+   * <p>
+   * E.g. {@code longStream.mapToDouble(Rex.longToDoubleFunction(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <E extends Exception> RexLongToDoubleFunction<E>
+  longToDoubleFunction(RexLongToDoubleFunction<? extends E> function) { return RexLongToDoubleFunction.castDown(function); }
+
+  /**
+   * This method simplifies the creation of {@link RexDoubleFunction} lambdas in
+   * places where a {@link DoubleFunction} is expected.
+   * <p>
+   * E.g. {@code doubleStream.mapToObj(Rex.doubleFunction(x -> {...code throwing checked exception...}))}
+   *
+   * @param <R> return type
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <R, E extends Exception> RexDoubleFunction<R, E>
+  doubleFunction(RexDoubleFunction<? extends R, ? extends E> function) { return RexDoubleFunction.castDown(function); }
+
+  /**
+   * This method simplifies the creation of {@link RexToDoubleFunction} lambdas in
+   * places where a {@link ToDoubleFunction} is expected.
+   * <p>
+   * E.g. {@code stream.mapToDouble(Rex.toDoubleFunction(element -> {...code throwing checked exception...}))}
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <X, E extends Exception> RexToDoubleFunction<X, E>
+  toDoubleFunction(RexToDoubleFunction<? super X, ? extends E> function) { return RexToDoubleFunction.castDown(function); }
+
+  /**
+   * This method simplifies the creation of {@link RexDoubleUnaryOperator} lambdas in
+   * places where a {@link DoubleUnaryOperator} is expected.
+   * <p>
+   * E.g. {@code doubleStream.map(Rex.doubleUnaryOp(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param operator lambda
+   * @return {@code operator}
+   */
+  public static <E extends Exception> RexDoubleUnaryOperator<E>
+  doubleUnaryOp(RexDoubleUnaryOperator<? extends E> operator) { return RexDoubleUnaryOperator.castDown(operator); }
+
+  /**
+   * This method simplifies the creation of {@link RexDoubleBinaryOperator} lambdas in
+   * places where a {@link DoubleBinaryOperator} is expected.
+   * <p>
+   * E.g. {@code doubleStream.reduce(Rex.doubleBinaryOp((x, y) -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param operator lambda
+   * @return {@code operator}
+   */
+  public static <E extends Exception> RexDoubleBinaryOperator<E>
+  doubleBinaryOp(RexDoubleBinaryOperator<? extends E> operator) { return RexDoubleBinaryOperator.castDown(operator); }
+
+  /**
+   * This method simplifies the creation of {@link RexDoublePredicate} lambdas in
+   * places where a {@link DoublePredicate} is expected.
+   * <p>
+   * E.g. {@code doubleStream.filter(Rex.doublePredicate(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param predicate lambda
+   * @return {@code predicate}
+   */
+  public static <E extends Exception> RexDoublePredicate<E>
+  doublePredicate(RexDoublePredicate<? extends E> predicate) { return RexDoublePredicate.castDown(predicate); }
+
+  /**
+   * This method simplifies the creation of {@link RexDoubleSupplier} lambdas in
+   * places where a {@link DoubleSupplier} is expected.
+   * <p>
+   * E.g. {@code DoubleStream.generate(Rex.doubleSupplier(() -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param supplier lambda
+   * @return {@code supplier}
+   */
+  public static <E extends Exception> RexDoubleSupplier<E>
+  doubleSupplier(RexDoubleSupplier<? extends E> supplier) { return RexDoubleSupplier.castDown(supplier); }
+
+  /**
+   * This method simplifies the creation of {@link RexDoubleConsumer} lambdas in
+   * places where a {@link DoubleConsumer} is expected.
+   * <p>
+   * E.g. {@code doubleStream.forEach(Rex.doubleConsumer(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param consumer lambda
+   * @return {@code consumer}
+   */
+  public static <E extends Exception> RexDoubleConsumer<E>
+  doubleConsumer(RexDoubleConsumer<? extends E> consumer) { return RexDoubleConsumer.castDown(consumer); }
+
+  /**
+   * This method simplifies the creation of {@link RexObjDoubleConsumer} lambdas in
+   * places where an {@link ObjDoubleConsumer} is expected.
+   * <p>
+   * E.g. {@code doubleStream.collect(supplier, Rex.objDoubleConsumer((container, x) -> {...code throwing checked exception...}), combiner)}
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param consumer lambda
+   * @return {@code consumer}
+   */
+  public static <X, E extends Exception> RexObjDoubleConsumer<X, E>
+  objDoubleConsumer(RexObjDoubleConsumer<? super X, ? extends E> consumer) { return RexObjDoubleConsumer.castDown(consumer); }
+
+  /**
+   * This method simplifies the creation of {@link RexDoubleToIntFunction} lambdas in
+   * places where a {@link DoubleToIntFunction} is expected.
+   * <p>
+   * E.g. {@code doubleStream.mapToInt(Rex.doubleToIntFunction(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <E extends Exception> RexDoubleToIntFunction<E>
+  doubleToIntFunction(RexDoubleToIntFunction<? extends E> function) { return RexDoubleToIntFunction.castDown(function); }
+
+  /**
+   * This method simplifies the creation of {@link RexDoubleToLongFunction} lambdas in
+   * places where a {@link DoubleToLongFunction} is expected.
+   * <p>
+   * E.g. {@code doubleStream.mapToLong(Rex.doubleToLongFunction(x -> {...code throwing checked exception...}))}
+   *
+   * @param <E> upper exception limit
+   * @param function lambda
+   * @return {@code function}
+   */
+  public static <E extends Exception> RexDoubleToLongFunction<E>
+  doubleToLongFunction(RexDoubleToLongFunction<? extends E> function) { return RexDoubleToLongFunction.castDown(function); }
+
+  /**
+   * Memoize the value of {@code supplier}. The value is computed once on
+   * first invocation, checked exceptions raised are not cached.
+   * <p>
+   * E.g. {@code RexSupplier<KeyStore, ?> keyStore = Rex.memoize(() -> loadKeyStore(path))}
+   *
+   * @param <R> return type
+   * @param <E> upper exception limit
+   * @param supplier supplier computing the value
+   * @return memoizing {@link RexSupplier}
+   * @see MemoizingSupplier
+   */
+  public static <R, E extends Exception> MemoizingSupplier<R, E>
+  memoize(LavaSupplier<? extends R, ? extends E> supplier) { return MemoizingSupplier.of(supplier); }
+
   /**
    * Bridge {@link LavaRunnable} to {@link Runnable} by wrapping checked
    * exceptions raised.
+   * <p>
+   * If {@code checked} already is a {@link RexRunnable} it is returned as is,
+   * so bridging a lambda repeatedly never stacks wrappers.
+   *
+   * @param <E> upper exception limit
+   * @param checked {@link LavaRunnable} to wrap
+   * @return {@link RexRunnable} wrapping {@code checked}
+   */
+  public static <E extends Exception> RexRunnable<E>
+  rex(LavaRunnable<? extends E> checked) {
+    return checked instanceof RexRunnable
+        ? RexRunnable.castDown((RexRunnable<? extends E>) checked)
+        : RexRunnable.castDown(checked::checkedRun);
+  }
+
+  /**
+   * Bridge {@link LavaConsumer} to {@link Consumer} by wrapping checked
+   * exceptions raised.
+   * <p>
+   * If {@code checked} already is a {@link RexConsumer} it is returned as is,
+   * so bridging a lambda repeatedly never stacks wrappers.
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaConsumer} to wrap
+   * @return {@link RexConsumer} wrapping {@code checked}
+   */
+  public static <X, E extends Exception> RexConsumer<X, E>
+  rex(LavaConsumer<? super X, ? extends E> checked) {
+    return checked instanceof RexConsumer
+        ? RexConsumer.castDown((RexConsumer<? super X, ? extends E>) checked)
+        : RexConsumer.castDown(checked::checkedAccept);
+  }
+
+  /**
+   * Bridge {@link LavaBiConsumer} to {@link BiConsumer} by wrapping checked
+   * exceptions raised.
+   * <p>
+   * If {@code checked} already is a {@link RexBiConsumer} it is returned as is,
+   * so bridging a lambda repeatedly never stacks wrappers.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaBiConsumer} to wrap
+   * @return {@link RexBiConsumer} wrapping {@code checked}
+   */
+  public static <X, Y, E extends Exception> RexBiConsumer<X, Y, E>
+  rex(LavaBiConsumer<? super X, ? super Y, ? extends E> checked) {
+    return checked instanceof RexBiConsumer
+        ? RexBiConsumer.castDown((RexBiConsumer<? super X, ? super Y, ? extends E>) checked)
+        : RexBiConsumer.castDown(checked::checkedAccept);
+  }
+
+  /**
+   * Bridge {@link LavaSupplier} to {@link Supplier} by wrapping checked
+   * exceptions raised.
+   * <p>
+   * If {@code checked} already is a {@link RexSupplier} it is returned as is,
+   * so bridging a lambda repeatedly never stacks wrappers.
+   *
+   * @param <R> return type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaSupplier} to wrap
+   * @return {@link RexSupplier} wrapping {@code checked}
+   */
+  public static <R, E extends Exception> RexSupplier<R, E>
+  rex(LavaSupplier<? extends R, ? extends E> checked) {
+    return checked instanceof RexSupplier
+        ? RexSupplier.castDown((RexSupplier<? extends R, ? extends E>) checked)
+        : RexSupplier.castDown(checked::checkedGet);
+  }
+
+  /**
+   * Bridge {@link LavaFunction} to {@link Function} by wrapping checked
+   * exceptions raised.
+   * <p>
+   * If {@code checked} already is a {@link RexFunction} it is returned as is,
+   * so bridging a lambda repeatedly never stacks wrappers.
+   *
+   * @param <X> parameter type
+   * @param <R> return type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaFunction} to wrap
+   * @return {@link RexFunction} wrapping {@code checked}
+   */
+  public static <X, R, E extends Exception> RexFunction<X, R, E>
+  rex(LavaFunction<? super X, ? extends R, ? extends E> checked) {
+    return checked instanceof RexFunction
+        ? RexFunction.castDown((RexFunction<? super X, ? extends R, ? extends E>) checked)
+        : RexFunction.castDown(checked::checkedApply);
+  }
+
+  /**
+   * Bridge {@link LavaBiFunction} to {@link BiFunction} by wrapping checked
+   * exceptions raised.
+   * <p>
+   * If {@code checked} already is a {@link RexBiFunction} it is returned as is,
+   * so bridging a lambda repeatedly never stacks wrappers.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param <R> return type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaBiFunction} to wrap
+   * @return {@link RexBiFunction} wrapping {@code checked}
+   */
+  public static <X, Y, R, E extends Exception> RexBiFunction<X, Y, R, E>
+  rex(LavaBiFunction<? super X, ? super Y, ? extends R, ? extends E> checked) {
+    return checked instanceof RexBiFunction
+        ? RexBiFunction.castDown((RexBiFunction<? super X, ? super Y, ? extends R, ? extends E>) checked)
+        : RexBiFunction.castDown(checked::checkedApply);
+  }
+
+  /**
+   * Bridge {@link LavaCondition} to {@link BooleanSupplier} by wrapping checked
+   * exceptions raised.
+   * <p>
+   * If {@code checked} already is a {@link RexCondition} it is returned as is,
+   * so bridging a lambda repeatedly never stacks wrappers.
+   *
+   * @param <E> upper exception limit
+   * @param checked {@link LavaCondition} to wrap
+   * @return {@link RexCondition} wrapping {@code checked}
+   */
+  public static <E extends Exception> RexCondition<E>
+  rex(LavaCondition<? extends E> checked) {
+    return checked instanceof RexCondition
+        ? RexCondition.castDown((RexCondition<? extends E>) checked)
+        : RexCondition.castDown(checked::checkedTest);
+  }
+
+  /**
+   * Bridge {@link LavaPredicate} to {@link Predicate} by wrapping checked
+   * exceptions raised.
+   * <p>
+   * If {@code checked} already is a {@link RexPredicate} it is returned as is,
+   * so bridging a lambda repeatedly never stacks wrappers.
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaPredicate} to wrap
+   * @return {@link RexPredicate} wrapping {@code checked}
+   */
+  public static <X, E extends Exception> RexPredicate<X, E>
+  rex(LavaPredicate<? super X, ? extends E> checked) {
+    return checked instanceof RexPredicate
+        ? RexPredicate.castDown((RexPredicate<? super X, ? extends E>) checked)
+        : RexPredicate.castDown(checked::checkedTest);
+  }
+
+  /**
+   * Bridge {@link LavaBiPredicate} to {@link BiPredicate} by wrapping checked
+   * exceptions raised.
+   * <p>
+   * If {@code checked} already is a {@link RexBiPredicate} it is returned as is,
+   * so bridging a lambda repeatedly never stacks wrappers.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaBiPredicate} to wrap
+   * @return {@link RexBiPredicate} wrapping {@code checked}
+   */
+  public static <X, Y, E extends Exception> RexBiPredicate<X, Y, E>
+  rex(LavaBiPredicate<? super X, ? super Y, ? extends E> checked) {
+    return checked instanceof RexBiPredicate
+        ? RexBiPredicate.castDown((RexBiPredicate<? super X, ? super Y, ? extends E>) checked)
+        : RexBiPredicate.castDown(checked::checkedTest);
+  }
+
+  /**
+   * Bridge {@link LavaSupplier} to {@link java.util.concurrent.Callable}.
+   * Checked exceptions raised are passed on as they are.
+   * <p>
+   * If {@code checked} already is a {@link RexCallable} it is returned as is.
+   *
+   * @param <R> return type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaSupplier} to bridge
+   * @return {@link RexCallable} invoking {@code checked}
+   */
+  public static <R, E extends Exception> RexCallable<R, E>
+  callable(LavaSupplier<? extends R, ? extends E> checked) {
+    return checked instanceof RexCallable
+        ? RexCallable.castDown((RexCallable<? extends R, ? extends E>) checked)
+        : RexCallable.castDown(checked::checkedGet);
+  }
+
+  /**
+   * Bridge {@link LavaRunnable} to {@link java.util.concurrent.Callable}
+   * returning {@code null}. Checked exceptions raised are passed on as they
+   * are.
+   *
+   * @param <E> upper exception limit
+   * @param checked {@link LavaRunnable} to bridge
+   * @return {@link RexCallable} invoking {@code checked}
+   */
+  public static <E extends Exception> RexCallable<Void, E>
+  callable(LavaRunnable<? extends E> checked) {
+    return () -> {
+      checked.checkedRun();
+      return null;
+    };
+  }
+
+  /**
+   * Convenience method invoking {@link LavaRunnable} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code rex(checked).run()} without
+   * allocating a wrapper.
+   *
+   * @param checked {@link LavaRunnable} to invoke
+   */
+  public static void
+  invoke(LavaRunnable<?> checked) {
+    try {
+      checked.checkedRun();
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link LavaConsumer} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code rex(checked).accept(x)} without
+   * allocating a wrapper.
+   *
+   * @param <X> parameter type
+   * @param checked {@link LavaConsumer} to invoke
+   * @param x parameter to {@code checked}
+   */
+  public static <X> void
+  invoke(LavaConsumer<X, ?> checked, X x) {
+    try {
+      checked.checkedAccept(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link LavaBiConsumer} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code rex(checked).accept(x, y)} without
+   * allocating a wrapper.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param checked {@link LavaBiConsumer} to invoke
+   * @param x first parameter to {@code checked}
+   * @param y second parameter to {@code checked}
+   */
+  public static <X, Y> void
+  invoke(LavaBiConsumer<X, Y, ?> checked, X x, Y y) {
+    try {
+      checked.checkedAccept(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link LavaSupplier} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code rex(checked).get()} without
+   * allocating a wrapper.
+   *
+   * @param <R> return type
+   * @param checked {@link LavaSupplier} to invoke
+   * @return result of invoking {@code checked}
+   */
+  public static <R> R
+  invoke(LavaSupplier<R, ?> checked) {
+    try {
+      return checked.checkedGet();
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link LavaFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code rex(checked).apply(x)} without
+   * allocating a wrapper.
+   *
+   * @param <X> parameter type
+   * @param <R> return type
+   * @param checked {@link LavaFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static <X, R> R
+  invoke(LavaFunction<X, R, ?> checked, X x) {
+    try {
+      return checked.checkedApply(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link LavaBiFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code rex(checked).apply(x, y)} without
+   * allocating a wrapper.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param <R> return type
+   * @param checked {@link LavaBiFunction} to invoke
+   * @param x first parameter to {@code checked}
+   * @param y second parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static <X, Y, R> R
+  invoke(LavaBiFunction<X, Y, R, ?> checked, X x, Y y) {
+    try {
+      return checked.checkedApply(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link LavaCondition} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code rex(checked).apply(x)} without
+   * allocating a wrapper.
+   *
+   * @param <X> parameter type
+   * @param checked {@link LavaCondition} to invoke
+   * @return result of invoking {@code checked}
+   */
+  public static <X> boolean
+  invoke(LavaCondition<?> checked) {
+    try {
+      return checked.checkedTest();
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link LavaPredicate} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code rex(checked).apply(x)} without
+   * allocating a wrapper.
+   *
+   * @param <X> parameter type
+   * @param checked {@link LavaPredicate} to invoke
+   * @param x first parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static <X> boolean
+  invoke(LavaPredicate<X, ?> checked, X x) {
+    try {
+      return checked.checkedTest(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link LavaBiPredicate} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code rex(checked).apply(x, y)} without
+   * allocating a wrapper.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param checked {@link LavaBiPredicate} to invoke
+   * @param x first parameter to {@code checked}
+   * @param y second parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static <X, Y> boolean
+  invoke(LavaBiPredicate<X, Y, ?> checked, X x, Y y) {
+    try {
+      return checked.checkedTest(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexIntFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.apply(x)}
+   *
+   * @param <R> return type
+   * @param checked {@link RexIntFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static <R> R
+  invoke(RexIntFunction<R, ?> checked, int x) {
+    try {
+      return checked.checkedApply(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexToIntFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsInt(x)}
+   *
+   * @param <X> parameter type
+   * @param checked {@link RexToIntFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static <X> int
+  invoke(RexToIntFunction<X, ?> checked, X x) {
+    try {
+      return checked.checkedApplyAsInt(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexIntUnaryOperator} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsInt(x)}
+   *
+   * @param checked {@link RexIntUnaryOperator} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static int
+  invoke(RexIntUnaryOperator<?> checked, int x) {
+    try {
+      return checked.checkedApplyAsInt(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexIntBinaryOperator} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsInt(x, y)}
+   *
+   * @param checked {@link RexIntBinaryOperator} to invoke
+   * @param x first parameter to {@code checked}
+   * @param y second parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static int
+  invoke(RexIntBinaryOperator<?> checked, int x, int y) {
+    try {
+      return checked.checkedApplyAsInt(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexIntPredicate} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.test(x)}
+   *
+   * @param checked {@link RexIntPredicate} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static boolean
+  invoke(RexIntPredicate<?> checked, int x) {
+    try {
+      return checked.checkedTest(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexIntSupplier} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.getAsInt()}
+   *
+   * @param checked {@link RexIntSupplier} to invoke
+   * @return result of invoking {@code checked}
+   */
+  public static int
+  invoke(RexIntSupplier<?> checked) {
+    try {
+      return checked.checkedGetAsInt();
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexIntConsumer} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.accept(x)}
+   *
+   * @param checked {@link RexIntConsumer} to invoke
+   * @param x parameter to {@code checked}
+   */
+  public static void
+  invoke(RexIntConsumer<?> checked, int x) {
+    try {
+      checked.checkedAccept(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexObjIntConsumer} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.accept(x, y)}
+   *
+   * @param <X> parameter type
+   * @param checked {@link RexObjIntConsumer} to invoke
+   * @param x first parameter to {@code checked}
+   * @param y second parameter to {@code checked}
+   */
+  public static <X> void
+  invoke(RexObjIntConsumer<X, ?> checked, X x, int y) {
+    try {
+      checked.checkedAccept(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexIntToLongFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsLong(x)}
+   *
+   * @param checked {@link RexIntToLongFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static long
+  invoke(RexIntToLongFunction<?> checked, int x) {
+    try {
+      return checked.checkedApplyAsLong(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexIntToDoubleFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsDouble(x)}
+   *
+   * @param checked {@link RexIntToDoubleFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static double
+  invoke(RexIntToDoubleFunction<?> checked, int x) {
+    try {
+      return checked.checkedApplyAsDouble(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexLongFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.apply(x)}
+   *
+   * @param <R> return type
+   * @param checked {@link RexLongFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static <R> R
+  invoke(RexLongFunction<R, ?> checked, long x) {
+    try {
+      return checked.checkedApply(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexToLongFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsLong(x)}
+   *
+   * @param <X> parameter type
+   * @param checked {@link RexToLongFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static <X> long
+  invoke(RexToLongFunction<X, ?> checked, X x) {
+    try {
+      return checked.checkedApplyAsLong(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexLongUnaryOperator} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsLong(x)}
+   *
+   * @param checked {@link RexLongUnaryOperator} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static long
+  invoke(RexLongUnaryOperator<?> checked, long x) {
+    try {
+      return checked.checkedApplyAsLong(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexLongBinaryOperator} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsLong(x, y)}
+   *
+   * @param checked {@link RexLongBinaryOperator} to invoke
+   * @param x first parameter to {@code checked}
+   * @param y second parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static long
+  invoke(RexLongBinaryOperator<?> checked, long x, long y) {
+    try {
+      return checked.checkedApplyAsLong(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexLongPredicate} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.test(x)}
+   *
+   * @param checked {@link RexLongPredicate} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static boolean
+  invoke(RexLongPredicate<?> checked, long x) {
+    try {
+      return checked.checkedTest(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexLongSupplier} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.getAsLong()}
+   *
+   * @param checked {@link RexLongSupplier} to invoke
+   * @return result of invoking {@code checked}
+   */
+  public static long
+  invoke(RexLongSupplier<?> checked) {
+    try {
+      return checked.checkedGetAsLong();
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexLongConsumer} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.accept(x)}
+   *
+   * @param checked {@link RexLongConsumer} to invoke
+   * @param x parameter to {@code checked}
+   */
+  public static void
+  invoke(RexLongConsumer<?> checked, long x) {
+    try {
+      checked.checkedAccept(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexObjLongConsumer} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.accept(x, y)}
+   *
+   * @param <X> parameter type
+   * @param checked {@link RexObjLongConsumer} to invoke
+   * @param x first parameter to {@code checked}
+   * @param y second parameter to {@code checked}
+   */
+  public static <X> void
+  invoke(RexObjLongConsumer<X, ?> checked, X x, long y) {
+    try {
+      checked.checkedAccept(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexLongToIntFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsInt(x)}
+   *
+   * @param checked {@link RexLongToIntFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static int
+  invoke(RexLongToIntFunction<?> checked, long x) {
+    try {
+      return checked.checkedApplyAsInt(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexLongToDoubleFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsDouble(x)}
+   *
+   * @param checked {@link RexLongToDoubleFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static double
+  invoke(RexLongToDoubleFunction<?> checked, long x) {
+    try {
+      return checked.checkedApplyAsDouble(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexDoubleFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.apply(x)}
+   *
+   * @param <R> return type
+   * @param checked {@link RexDoubleFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static <R> R
+  invoke(RexDoubleFunction<R, ?> checked, double x) {
+    try {
+      return checked.checkedApply(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexToDoubleFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsDouble(x)}
+   *
+   * @param <X> parameter type
+   * @param checked {@link RexToDoubleFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static <X> double
+  invoke(RexToDoubleFunction<X, ?> checked, X x) {
+    try {
+      return checked.checkedApplyAsDouble(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexDoubleUnaryOperator} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsDouble(x)}
+   *
+   * @param checked {@link RexDoubleUnaryOperator} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static double
+  invoke(RexDoubleUnaryOperator<?> checked, double x) {
+    try {
+      return checked.checkedApplyAsDouble(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexDoubleBinaryOperator} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsDouble(x, y)}
+   *
+   * @param checked {@link RexDoubleBinaryOperator} to invoke
+   * @param x first parameter to {@code checked}
+   * @param y second parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static double
+  invoke(RexDoubleBinaryOperator<?> checked, double x, double y) {
+    try {
+      return checked.checkedApplyAsDouble(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexDoublePredicate} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.test(x)}
+   *
+   * @param checked {@link RexDoublePredicate} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static boolean
+  invoke(RexDoublePredicate<?> checked, double x) {
+    try {
+      return checked.checkedTest(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexDoubleSupplier} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.getAsDouble()}
+   *
+   * @param checked {@link RexDoubleSupplier} to invoke
+   * @return result of invoking {@code checked}
+   */
+  public static double
+  invoke(RexDoubleSupplier<?> checked) {
+    try {
+      return checked.checkedGetAsDouble();
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexDoubleConsumer} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.accept(x)}
+   *
+   * @param checked {@link RexDoubleConsumer} to invoke
+   * @param x parameter to {@code checked}
+   */
+  public static void
+  invoke(RexDoubleConsumer<?> checked, double x) {
+    try {
+      checked.checkedAccept(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexObjDoubleConsumer} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.accept(x, y)}
+   *
+   * @param <X> parameter type
+   * @param checked {@link RexObjDoubleConsumer} to invoke
+   * @param x first parameter to {@code checked}
+   * @param y second parameter to {@code checked}
+   */
+  public static <X> void
+  invoke(RexObjDoubleConsumer<X, ?> checked, X x, double y) {
+    try {
+      checked.checkedAccept(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexDoubleToIntFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsInt(x)}
+   *
+   * @param checked {@link RexDoubleToIntFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static int
+  invoke(RexDoubleToIntFunction<?> checked, double x) {
+    try {
+      return checked.checkedApplyAsInt(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Convenience method invoking {@link RexDoubleToLongFunction} wrapping checked
+   * exceptions raised.
+   * <p>
+   * Equivalent to {@code checked.applyAsLong(x)}
+   *
+   * @param checked {@link RexDoubleToLongFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return result of invoking {@code checked}
+   */
+  public static long
+  invoke(RexDoubleToLongFunction<?> checked, double x) {
+    try {
+      return checked.checkedApplyAsLong(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(checked, e);
+    }
+  }
+
+  /**
+   * Invoke {@link LavaSupplier} returning the checked exception raised as
+   * {@link Attempt#failure failed attempt} instead of throwing it. Unchecked
+   * exceptions fall through.
+   *
+   * @param <R> result type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaSupplier} to invoke
+   * @return outcome of invoking {@code checked}
+   */
+  @SuppressWarnings("unchecked")
+  public static <R, E extends Exception> Attempt<R, E>
+  attempt(LavaSupplier<? extends R, ? extends E> checked) {
+    try {
+      return Attempt.success(checked.checkedGet());
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      return Attempt.failure((E) e);
+    }
+  }
+
+  /**
+   * Invoke {@link LavaFunction} returning the checked exception raised as
+   * {@link Attempt#failure failed attempt} instead of throwing it. Unchecked
+   * exceptions fall through.
+   *
+   * @param <X> parameter type
+   * @param <R> result type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @return outcome of invoking {@code checked}
+   */
+  @SuppressWarnings("unchecked")
+  public static <X, R, E extends Exception> Attempt<R, E>
+  attempt(LavaFunction<? super X, ? extends R, ? extends E> checked, X x) {
+    try {
+      return Attempt.success(checked.checkedApply(x));
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      return Attempt.failure((E) e);
+    }
+  }
+
+  /**
+   * Invoke {@link LavaBiFunction} returning the checked exception raised as
+   * {@link Attempt#failure failed attempt} instead of throwing it. Unchecked
+   * exceptions fall through.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param <R> result type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaBiFunction} to invoke
+   * @param x first parameter to {@code checked}
+   * @param y second parameter to {@code checked}
+   * @return outcome of invoking {@code checked}
+   */
+  @SuppressWarnings("unchecked")
+  public static <X, Y, R, E extends Exception> Attempt<R, E>
+  attempt(LavaBiFunction<? super X, ? super Y, ? extends R, ? extends E> checked, X x, Y y) {
+    try {
+      return Attempt.success(checked.checkedApply(x, y));
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      return Attempt.failure((E) e);
+    }
+  }
+
+  /**
+   * Invoke {@link LavaPredicate} returning the checked exception raised as
+   * {@link Attempt#failure failed attempt} instead of throwing it. Unchecked
+   * exceptions fall through.
+   * <p>
+   * Allocates nothing on success.
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaPredicate} to invoke
+   * @param x parameter to {@code checked}
+   * @return outcome of invoking {@code checked}
+   */
+  @SuppressWarnings("unchecked")
+  public static <X, E extends Exception> Attempt<Boolean, E>
+  attempt(LavaPredicate<? super X, ? extends E> checked, X x) {
+    try {
+      return Attempt.success(checked.checkedTest(x));
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      return Attempt.failure((E) e);
+    }
+  }
+
+  /**
+   * Invoke {@link LavaBiPredicate} returning the checked exception raised as
+   * {@link Attempt#failure failed attempt} instead of throwing it. Unchecked
+   * exceptions fall through.
+   * <p>
+   * Allocates nothing on success.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaBiPredicate} to invoke
+   * @param x first parameter to {@code checked}
+   * @param y second parameter to {@code checked}
+   * @return outcome of invoking {@code checked}
+   */
+  @SuppressWarnings("unchecked")
+  public static <X, Y, E extends Exception> Attempt<Boolean, E>
+  attempt(LavaBiPredicate<? super X, ? super Y, ? extends E> checked, X x, Y y) {
+    try {
+      return Attempt.success(checked.checkedTest(x, y));
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      return Attempt.failure((E) e);
+    }
+  }
+
+  /**
+   * Invoke {@link RexToIntFunction} storing its result or the checked exception
+   * raised in {@code into} instead of throwing it. Unchecked exceptions fall
+   * through.
+   * <p>
+   * Allocates nothing, {@code into} can be reused for subsequent attempts.
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link RexToIntFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @param into holder receiving the outcome
+   * @return {@code true} if {@code checked} yielded a result
+   */
+  @SuppressWarnings("unchecked")
+  public static <X, E extends Exception> boolean
+  attempt(RexToIntFunction<? super X, ? extends E> checked, X x, PrimitiveAttempt<E> into) {
+    try {
+      return into.succeed(checked.checkedApplyAsInt(x));
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      return into.fail((E) e);
+    }
+  }
+
+  /**
+   * Invoke {@link RexToLongFunction} storing its result or the checked exception
+   * raised in {@code into} instead of throwing it. Unchecked exceptions fall
+   * through.
+   * <p>
+   * Allocates nothing, {@code into} can be reused for subsequent attempts.
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link RexToLongFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @param into holder receiving the outcome
+   * @return {@code true} if {@code checked} yielded a result
+   */
+  @SuppressWarnings("unchecked")
+  public static <X, E extends Exception> boolean
+  attempt(RexToLongFunction<? super X, ? extends E> checked, X x, PrimitiveAttempt<E> into) {
+    try {
+      return into.succeed(checked.checkedApplyAsLong(x));
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      return into.fail((E) e);
+    }
+  }
+
+  /**
+   * Invoke {@link RexToDoubleFunction} storing its result or the checked exception
+   * raised in {@code into} instead of throwing it. Unchecked exceptions fall
+   * through.
+   * <p>
+   * Allocates nothing, {@code into} can be reused for subsequent attempts.
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link RexToDoubleFunction} to invoke
+   * @param x parameter to {@code checked}
+   * @param into holder receiving the outcome
+   * @return {@code true} if {@code checked} yielded a result
+   */
+  @SuppressWarnings("unchecked")
+  public static <X, E extends Exception> boolean
+  attempt(RexToDoubleFunction<? super X, ? extends E> checked, X x, PrimitiveAttempt<E> into) {
+    try {
+      return into.succeed(checked.checkedApplyAsDouble(x));
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      return into.fail((E) e);
+    }
+  }
+
+  /**
+   * Invoke {@link RexIntSupplier} storing its result or the checked exception
+   * raised in {@code into} instead of throwing it. Unchecked exceptions fall
+   * through.
+   * <p>
+   * Allocates nothing, {@code into} can be reused for subsequent attempts.
+   *
+   * @param <E> upper exception limit
+   * @param checked {@link RexIntSupplier} to invoke
+   * @param into holder receiving the outcome
+   * @return {@code true} if {@code checked} yielded a result
+   */
+  @SuppressWarnings("unchecked")
+  public static <E extends Exception> boolean
+  attempt(RexIntSupplier<? extends E> checked, PrimitiveAttempt<E> into) {
+    try {
+      return into.succeed(checked.checkedGetAsInt());
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      return into.fail((E) e);
+    }
+  }
+
+  /**
+   * Invoke {@link RexLongSupplier} storing its result or the checked exception
+   * raised in {@code into} instead of throwing it. Unchecked exceptions fall
+   * through.
+   * <p>
+   * Allocates nothing, {@code into} can be reused for subsequent attempts.
+   *
+   * @param <E> upper exception limit
+   * @param checked {@link RexLongSupplier} to invoke
+   * @param into holder receiving the outcome
+   * @return {@code true} if {@code checked} yielded a result
+   */
+  @SuppressWarnings("unchecked")
+  public static <E extends Exception> boolean
+  attempt(RexLongSupplier<? extends E> checked, PrimitiveAttempt<E> into) {
+    try {
+      return into.succeed(checked.checkedGetAsLong());
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      return into.fail((E) e);
+    }
+  }
+
+  /**
+   * Invoke {@link RexDoubleSupplier} storing its result or the checked exception
+   * raised in {@code into} instead of throwing it. Unchecked exceptions fall
+   * through.
+   * <p>
+   * Allocates nothing, {@code into} can be reused for subsequent attempts.
+   *
+   * @param <E> upper exception limit
+   * @param checked {@link RexDoubleSupplier} to invoke
+   * @param into holder receiving the outcome
+   * @return {@code true} if {@code checked} yielded a result
+   */
+  @SuppressWarnings("unchecked")
+  public static <E extends Exception> boolean
+  attempt(RexDoubleSupplier<? extends E> checked, PrimitiveAttempt<E> into) {
+    try {
+      return into.succeed(checked.checkedGetAsDouble());
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      return into.fail((E) e);
+    }
+  }
+
+  /**
+   * Bridge {@link LavaRunnable} to {@link Runnable} by rethrowing checked
+   * exceptions raised unchanged, without declaring or wrapping them.
+   * <p>
+   * Use {@link #rethrowing} to restore the exception's type at the
+   * boundary where it is handled.
+   *
+   * @param checked {@link LavaRunnable} to bridge
+   * @return {@link Runnable} invoking {@code checked}
+   */
+  public static Runnable
+  sneaky(LavaRunnable<?> checked) {
+    return () -> {
+      try {
+        checked.checkedRun();
+      } catch (Exception e) {
+        throw sneakyThrow(e);
+      }
+    };
+  }
+
+  /**
+   * Bridge {@link LavaConsumer} to {@link Consumer} by rethrowing checked
+   * exceptions raised unchanged, without declaring or wrapping them.
+   * <p>
+   * Use {@link #rethrowing} to restore the exception's type at the
+   * boundary where it is handled.
+   *
+   * @param <X> parameter type
+   * @param checked {@link LavaConsumer} to bridge
+   * @return {@link Consumer} invoking {@code checked}
+   */
+  public static <X> Consumer<X>
+  sneaky(LavaConsumer<? super X, ?> checked) {
+    return x -> {
+      try {
+        checked.checkedAccept(x);
+      } catch (Exception e) {
+        throw sneakyThrow(e);
+      }
+    };
+  }
+
+  /**
+   * Bridge {@link LavaBiConsumer} to {@link BiConsumer} by rethrowing checked
+   * exceptions raised unchanged, without declaring or wrapping them.
+   * <p>
+   * Use {@link #rethrowing} to restore the exception's type at the
+   * boundary where it is handled.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param checked {@link LavaBiConsumer} to bridge
+   * @return {@link BiConsumer} invoking {@code checked}
+   */
+  public static <X, Y> BiConsumer<X, Y>
+  sneaky(LavaBiConsumer<? super X, ? super Y, ?> checked) {
+    return (x, y) -> {
+      try {
+        checked.checkedAccept(x, y);
+      } catch (Exception e) {
+        throw sneakyThrow(e);
+      }
+    };
+  }
+
+  /**
+   * Bridge {@link LavaSupplier} to {@link Supplier} by rethrowing checked
+   * exceptions raised unchanged, without declaring or wrapping them.
+   * <p>
+   * Use {@link #rethrowing} to restore the exception's type at the
+   * boundary where it is handled.
+   *
+   * @param <R> return type
+   * @param checked {@link LavaSupplier} to bridge
+   * @return {@link Supplier} invoking {@code checked}
+   */
+  public static <R> Supplier<R>
+  sneaky(LavaSupplier<? extends R, ?> checked) {
+    return () -> {
+      try {
+        return checked.checkedGet();
+      } catch (Exception e) {
+        throw sneakyThrow(e);
+      }
+    };
+  }
+
+  /**
+   * Bridge {@link LavaFunction} to {@link Function} by rethrowing checked
+   * exceptions raised unchanged, without declaring or wrapping them.
+   * <p>
+   * Use {@link #rethrowing} to restore the exception's type at the
+   * boundary where it is handled.
+   *
+   * @param <X> parameter type
+   * @param <R> return type
+   * @param checked {@link LavaFunction} to bridge
+   * @return {@link Function} invoking {@code checked}
+   */
+  public static <X, R> Function<X, R>
+  sneaky(LavaFunction<? super X, ? extends R, ?> checked) {
+    return x -> {
+      try {
+        return checked.checkedApply(x);
+      } catch (Exception e) {
+        throw sneakyThrow(e);
+      }
+    };
+  }
+
+  /**
+   * Bridge {@link LavaBiFunction} to {@link BiFunction} by rethrowing checked
+   * exceptions raised unchanged, without declaring or wrapping them.
+   * <p>
+   * Use {@link #rethrowing} to restore the exception's type at the
+   * boundary where it is handled.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param <R> return type
+   * @param checked {@link LavaBiFunction} to bridge
+   * @return {@link BiFunction} invoking {@code checked}
+   */
+  public static <X, Y, R> BiFunction<X, Y, R>
+  sneaky(LavaBiFunction<? super X, ? super Y, ? extends R, ?> checked) {
+    return (x, y) -> {
+      try {
+        return checked.checkedApply(x, y);
+      } catch (Exception e) {
+        throw sneakyThrow(e);
+      }
+    };
+  }
+
+  /**
+   * Bridge {@link LavaCondition} to {@link BooleanSupplier} by rethrowing checked
+   * exceptions raised unchanged, without declaring or wrapping them.
+   * <p>
+   * Use {@link #rethrowing} to restore the exception's type at the
+   * boundary where it is handled.
+   *
+   * @param checked {@link LavaCondition} to bridge
+   * @return {@link BooleanSupplier} invoking {@code checked}
+   */
+  public static BooleanSupplier
+  sneaky(LavaCondition<?> checked) {
+    return () -> {
+      try {
+        return checked.checkedTest();
+      } catch (Exception e) {
+        throw sneakyThrow(e);
+      }
+    };
+  }
+
+  /**
+   * Bridge {@link LavaPredicate} to {@link Predicate} by rethrowing checked
+   * exceptions raised unchanged, without declaring or wrapping them.
+   * <p>
+   * Use {@link #rethrowing} to restore the exception's type at the
+   * boundary where it is handled.
+   *
+   * @param <X> parameter type
+   * @param checked {@link LavaPredicate} to bridge
+   * @return {@link Predicate} invoking {@code checked}
+   */
+  public static <X> Predicate<X>
+  sneaky(LavaPredicate<? super X, ?> checked) {
+    return x -> {
+      try {
+        return checked.checkedTest(x);
+      } catch (Exception e) {
+        throw sneakyThrow(e);
+      }
+    };
+  }
+
+  /**
+   * Bridge {@link LavaBiPredicate} to {@link BiPredicate} by rethrowing checked
+   * exceptions raised unchanged, without declaring or wrapping them.
+   * <p>
+   * Use {@link #rethrowing} to restore the exception's type at the
+   * boundary where it is handled.
    *
-   * @param <E> upper exception limit
-   * @param checked {@link LavaRunnable} to wrap
-   * @return {@link RexRunnable} wrapping {@code checked}
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param checked {@link LavaBiPredicate} to bridge
+   * @return {@link BiPredicate} invoking {@code checked}
    */
-  public static <E extends Exception> RexRunnable<E>
-  rex(LavaRunnable<? extends E> checked) { return RexRunnable.castDown(checked::checkedRun); }
+  public static <X, Y> BiPredicate<X, Y>
+  sneaky(LavaBiPredicate<? super X, ? super Y, ?> checked) {
+    return (x, y) -> {
+      try {
+        return checked.checkedTest(x, y);
+      } catch (Exception e) {
+        throw sneakyThrow(e);
+      }
+    };
+  }
 
   /**
-   * Bridge {@link LavaConsumer} to {@link Consumer} by wrapping checked
-   * exceptions raised.
+   * Invoke {@code body} and restore the type of checked exceptions
+   * rethrown by {@link #sneaky} bridges invoked within.
+   * <p>
+   * E.g.
+   * <pre>{@code
+   * try {
+   *   Rex.rethrowing(IOException.class, () -> paths.forEach(Rex.sneaky(Files::delete)));
+   * } catch (IOException e) {
+   *   ...
+   * }
+   * }</pre>
+   * Checked exceptions not assignable to {@code exceptionType} are wrapped
+   * into a {@link WrappedCheckedException}, unchecked exceptions fall
+   * through.
    *
-   * @param <X> parameter type
+   * @param <E> type of the rethrown exceptions
+   * @param exceptionType type of the rethrown exceptions
+   * @param body code to invoke
+   * @throws E checked exception raised within {@code body}
+   */
+  public static <E extends Exception> void
+  rethrowing(Class<E> exceptionType, LavaRunnable<? extends E> body) throws E {
+    try {
+      body.checkedRun();
+    } catch (Exception e) {
+      throw rethrow(exceptionType, e);
+    }
+  }
+
+  /**
+   * Invoke {@code body} and restore the type of checked exceptions
+   * rethrown by {@link #sneaky} bridges invoked within.
+   * <p>
+   * Checked exceptions not assignable to {@code exceptionType} are wrapped
+   * into a {@link WrappedCheckedException}, unchecked exceptions fall
+   * through.
+   *
+   * @param <R> return type
+   * @param <E> type of the rethrown exceptions
+   * @param exceptionType type of the rethrown exceptions
+   * @param body code to invoke
+   * @return result of invoking {@code body}
+   * @throws E checked exception raised within {@code body}
+   */
+  public static <R, E extends Exception> R
+  rethrowing(Class<E> exceptionType, LavaSupplier<? extends R, ? extends E> body) throws E {
+    try {
+      return body.checkedGet();
+    } catch (Exception e) {
+      throw rethrow(exceptionType, e);
+    }
+  }
+
+  private static <E extends Exception> E rethrow(Class<E> exceptionType, Exception e) {
+    if (exceptionType.isInstance(e)) {
+      return exceptionType.cast(e);
+    }
+    throw wrapCheckedException(e);
+  }
+
+  /**
+   * Invoke {@code body} on a separate thread and wait at most
+   * {@code timeout} for it to complete.
+   * <p>
+   * {@code body} runs on a virtual thread where available. Within
+   * {@code body} the deadline is {@link Deadline#current() current}, so
+   * nested code can read the remaining budget and fail fast. A nested
+   * {@code withDeadline} never extends the enclosing deadline. Once the
+   * deadline expires the thread running {@code body} is interrupted and
+   * abandoned, and a {@link DeadlineExceededException} is raised.
+   * <p>
+   * E.g. {@code Rex.withDeadline(Duration.ofMillis(200), () -> client.fetch(uri))}
+   *
+   * @param <R> return type
    * @param <E> upper exception limit
-   * @param checked {@link LavaConsumer} to wrap
-   * @return {@link RexConsumer} wrapping {@code checked}
+   * @param timeout time budget of {@code body}
+   * @param body code to invoke
+   * @return result of invoking {@code body}
+   * @throws E checked exception raised by {@code body}
+   * @throws DeadlineExceededException if {@code body} didn't complete in time
    */
-  public static <X, E extends Exception> RexConsumer<X, E>
-  rex(LavaConsumer<? super X, ? extends E> checked) { return RexConsumer.castDown(checked::checkedAccept); }
+  public static <R, E extends Exception> R
+  withDeadline(Duration timeout, LavaSupplier<? extends R, ? extends E> body) throws E {
+    final Deadline deadline = Deadline.after(timeout);
+    deadline.check();
+    final Future<? extends R> future = VirtualThreads.executor().submit(() -> {
+      final Deadline previous = deadline.enter();
+      try {
+        return body.checkedGet();
+      } finally {
+        Deadline.restore(previous);
+      }
+    });
+    try {
+      return future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw deadline.exceeded(deadline.remainingNanos());
+    } catch (ExecutionException e) {
+      throw Rex.<E>rethrowCause(e);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw wrapCheckedException(e);
+    }
+  }
 
   /**
-   * Bridge {@link LavaBiConsumer} to {@link BiConsumer} by wrapping checked
-   * exceptions raised.
+   * Invoke {@code body} on a separate thread and wait at most
+   * {@code timeout} for it to complete.
    *
-   * @param <X> first parameter type
-   * @param <Y> second parameter type
    * @param <E> upper exception limit
-   * @param checked {@link LavaBiConsumer} to wrap
-   * @return {@link RexBiConsumer} wrapping {@code checked}
+   * @param timeout time budget of {@code body}
+   * @param body code to invoke
+   * @throws E checked exception raised by {@code body}
+   * @throws DeadlineExceededException if {@code body} didn't complete in time
+   * @see #withDeadline(Duration, LavaSupplier)
    */
-  public static <X, Y, E extends Exception> RexBiConsumer<X, Y, E>
-  rex(LavaBiConsumer<? super X, ? super Y, ? extends E> checked) { return RexBiConsumer.castDown(checked::checkedAccept); }
+  public static <E extends Exception> void
+  withDeadline(Duration timeout, LavaRunnable<? extends E> body) throws E {
+    withDeadline(timeout, () -> {
+      body.checkedRun();
+      return null;
+    });
+  }
 
   /**
-   * Bridge {@link LavaSupplier} to {@link Supplier} by wrapping checked
-   * exceptions raised.
+   * Invoke all {@code tasks} concurrently and return their results.
+   * <p>
+   * Each task runs on its own virtual thread where available. If a task
+   * fails, the tasks still running are interrupted and those not started
+   * yet are skipped. The first failure is rethrown unchanged, failures of
+   * other tasks raised before the cancellation are attached as
+   * {@link Throwable#getSuppressed() suppressed}. No task outlives the
+   * call. The {@link Deadline#current() current deadline}, if any, applies
+   * to all tasks.
+   * <p>
+   * E.g. {@code List<Quote> quotes = Rex.invokeAll(Arrays.asList(() -> a.quote(), () -> b.quote()))}
    *
-   * @param <R> return type
+   * @param <R> result type
    * @param <E> upper exception limit
-   * @param checked {@link LavaSupplier} to wrap
-   * @return {@link RexSupplier} wrapping {@code checked}
+   * @param tasks tasks to invoke
+   * @return results of the tasks, in the order of {@code tasks}
+   * @throws E checked exception raised by the first failing task
    */
-  public static <R, E extends Exception> RexSupplier<R, E>
-  rex(LavaSupplier<? extends R, ? extends E> checked) { return RexSupplier.castDown(checked::checkedGet); }
+  public static <R, E extends Exception> List<R>
+  invokeAll(Collection<? extends LavaSupplier<? extends R, ? extends E>> tasks) throws E {
+    return FanOut.invokeAll(tasks);
+  }
 
   /**
-   * Bridge {@link LavaFunction} to {@link Function} by wrapping checked
-   * exceptions raised.
+   * Invoke all {@code tasks} concurrently and return the result of the
+   * first one completing successfully.
+   * <p>
+   * Each task runs on its own virtual thread where available. Once a task
+   * succeeded the tasks still running are interrupted and those not started
+   * yet are skipped. If all tasks fail, the first failure is rethrown
+   * unchanged with the others attached as
+   * {@link Throwable#getSuppressed() suppressed}. No task outlives the
+   * call.
    *
-   * @param <X> parameter type
-   * @param <R> return type
+   * @param <R> result type
    * @param <E> upper exception limit
-   * @param checked {@link LavaFunction} to wrap
-   * @return {@link RexFunction} wrapping {@code checked}
+   * @param tasks tasks to invoke
+   * @return result of the first task completing successfully
+   * @throws E checked exception raised by the first failing task, if all
+   *     tasks fail
+   * @throws IllegalArgumentException if {@code tasks} is empty
    */
-  public static <X, R, E extends Exception> RexFunction<X, R, E>
-  rex(LavaFunction<? super X, ? extends R, ? extends E> checked) { return RexFunction.castDown(checked::checkedApply); }
+  public static <R, E extends Exception> R
+  invokeAny(Collection<? extends LavaSupplier<? extends R, ? extends E>> tasks) throws E {
+    return FanOut.invokeAny(tasks);
+  }
 
   /**
-   * Bridge {@link LavaBiFunction} to {@link BiFunction} by wrapping checked
-   * exceptions raised.
+   * Apply {@code checked} to all elements of {@code list} in parallel,
+   * using the {@link ForkJoinPool#commonPool() common pool}.
    *
-   * @param <X> first parameter type
-   * @param <Y> second parameter type
-   * @param <R> return type
+   * @param <X> element type
+   * @param <R> result type
    * @param <E> upper exception limit
-   * @param checked {@link LavaBiFunction} to wrap
-   * @return {@link RexBiFunction} wrapping {@code checked}
+   * @param list elements to map
+   * @param checked function to apply
+   * @return results in the order of {@code list}
+   * @throws E checked exception raised by {@code checked}
+   * @see #parallelMap(List, LavaFunction, int)
    */
-  public static <X, Y, R, E extends Exception> RexBiFunction<X, Y, R, E>
-  rex(LavaBiFunction<? super X, ? super Y, ? extends R, ? extends E> checked) { return RexBiFunction.castDown(checked::checkedApply); }
+  public static <X, R, E extends Exception> List<R>
+  parallelMap(List<? extends X> list, LavaFunction<? super X, ? extends R, ? extends E> checked) throws E {
+    return ParallelLoop.map(list, checked, ForkJoinPool.getCommonPoolParallelism());
+  }
 
   /**
-   * Bridge {@link LavaCondition} to {@link BooleanSupplier} by wrapping checked
-   * exceptions raised.
+   * Apply {@code checked} to all elements of {@code list} in parallel.
+   * <p>
+   * The list is split into chunks adaptively, as workers run out of work.
+   * Once {@code checked} failed for an element, elements not started yet
+   * are skipped. The first exception raised is rethrown unchanged, others
+   * raised concurrently are attached as
+   * {@link Throwable#getSuppressed() suppressed}.
+   * <p>
+   * If {@code parallelism} differs from the common pool's, the elements are
+   * processed by a fork/join pool created for the call.
+   * <p>
+   * E.g. {@code List<byte[]> contents = Rex.parallelMap(paths, Files::readAllBytes, 8)}
    *
+   * @param <X> element type
+   * @param <R> result type
    * @param <E> upper exception limit
-   * @param checked {@link LavaCondition} to wrap
-   * @return {@link RexCondition} wrapping {@code checked}
+   * @param list elements to map
+   * @param checked function to apply
+   * @param parallelism maximum number of elements processed concurrently
+   * @return results in the order of {@code list}
+   * @throws E checked exception raised by {@code checked}
    */
-  public static <E extends Exception> RexCondition<E>
-  rex(LavaCondition<? extends E> checked) { return RexCondition.castDown(checked::checkedTest); }
+  public static <X, R, E extends Exception> List<R>
+  parallelMap(List<? extends X> list, LavaFunction<? super X, ? extends R, ? extends E> checked, int parallelism)
+      throws E {
+    return ParallelLoop.map(list, checked, parallelism);
+  }
 
   /**
-   * Bridge {@link LavaPredicate} to {@link Predicate} by wrapping checked
-   * exceptions raised.
+   * Pass all elements of {@code list} to {@code checked} in parallel,
+   * using the {@link ForkJoinPool#commonPool() common pool}.
    *
-   * @param <X> parameter type
+   * @param <X> element type
    * @param <E> upper exception limit
-   * @param checked {@link LavaPredicate} to wrap
-   * @return {@link RexPredicate} wrapping {@code checked}
+   * @param list elements to process
+   * @param checked consumer to pass the elements to
+   * @throws E checked exception raised by {@code checked}
+   * @see #parallelForEach(List, LavaConsumer, int)
    */
-  public static <X, E extends Exception> RexPredicate<X, E>
-  rex(LavaPredicate<? super X, ? extends E> checked) { return RexPredicate.castDown(checked::checkedTest); }
+  public static <X, E extends Exception> void
+  parallelForEach(List<? extends X> list, LavaConsumer<? super X, ? extends E> checked) throws E {
+    ParallelLoop.forEach(list, checked, ForkJoinPool.getCommonPoolParallelism());
+  }
 
   /**
-   * Bridge {@link LavaBiPredicate} to {@link BiPredicate} by wrapping checked
-   * exceptions raised.
+   * Pass all elements of {@code list} to {@code checked} in parallel.
+   * <p>
+   * Splitting, cancellation and exception handling are those of
+   * {@link #parallelMap(List, LavaFunction, int)}.
    *
-   * @param <X> first parameter type
-   * @param <Y> second parameter type
+   * @param <X> element type
    * @param <E> upper exception limit
-   * @param checked {@link LavaConsumer} to wrap
-   * @return {@link RexConsumer} wrapping {@code checked}
+   * @param list elements to process
+   * @param checked consumer to pass the elements to
+   * @param parallelism maximum number of elements processed concurrently
+   * @throws E checked exception raised by {@code checked}
    */
-  public static <X, Y, E extends Exception> RexBiPredicate<X, Y, E>
-  rex(LavaBiPredicate<? super X, ? super Y, ? extends E> checked) { return RexBiPredicate.castDown(checked::checkedTest); }
+  public static <X, E extends Exception> void
+  parallelForEach(List<? extends X> list, LavaConsumer<? super X, ? extends E> checked, int parallelism) throws E {
+    ParallelLoop.forEach(list, checked, parallelism);
+  }
 
   /**
-   * Convenience method invoking {@link LavaRunnable} wrapping checked
-   * exceptions raised.
+   * Pass all elements of {@code iterable} to {@code checked}.
    * <p>
-   * Equivalent to {@code rex(checked).run()}
+   * Unlike {@code iterable.forEach(Rex.consumer(checked))} the loop runs
+   * in a single frame declaring {@code throws E}, so neither a bridge nor a
+   * try/catch is involved per element and checked exceptions are rethrown
+   * unchanged. Lists implementing {@link RandomAccess} are iterated by
+   * index.
+   * <p>
+   * E.g. {@code Rex.forEach(paths, Files::delete)}
    *
-   * @param checked {@link LavaRunnable} to invoke
+   * @param <X> element type
+   * @param <E> upper exception limit
+   * @param iterable elements to process
+   * @param checked consumer to pass the elements to
+   * @throws E checked exception raised by {@code checked}
    */
-  public static void
-  invoke(LavaRunnable<?> checked) {
-    wrapCheckedException(checked);
+  @SuppressWarnings("unchecked")
+  public static <X, E extends Exception> void
+  forEach(Iterable<? extends X> iterable, LavaConsumer<? super X, ? extends E> checked) throws E {
+    if (iterable instanceof List) {
+      forEach((List<? extends X>) iterable, checked);
+      return;
+    }
+    for (X x : iterable) {
+      checked.checkedAccept(x);
+    }
   }
 
   /**
-   * Convenience method invoking {@link LavaConsumer} wrapping checked
-   * exceptions raised.
+   * Pass all elements of {@code list} to {@code checked} in order.
    * <p>
-   * Equivalent to {@code rex(checked).accept(x)}
+   * Lists implementing {@link RandomAccess} are iterated by index, others
+   * and {@link CopyOnWriteArrayList}s using their iterator. The indexed
+   * loop checks the list's size before each element and raises a
+   * {@link ConcurrentModificationException} as soon as it changed.
    *
-   * @param <X> parameter type
-   * @param checked {@link LavaConsumer} to invoke
-   * @param x parameter to {@code checked}
+   * @param <X> element type
+   * @param <E> upper exception limit
+   * @param list elements to process
+   * @param checked consumer to pass the elements to
+   * @throws E checked exception raised by {@code checked}
    */
-  public static <X> void
-  invoke(LavaConsumer<X, ?> checked, X x) {
-    rex(checked).accept(x);
+  public static <X, E extends Exception> void
+  forEach(List<? extends X> list, LavaConsumer<? super X, ? extends E> checked) throws E {
+    if (!(list instanceof RandomAccess) || list instanceof CopyOnWriteArrayList) {
+      for (X x : list) {
+        checked.checkedAccept(x);
+      }
+      return;
+    }
+    final int size = list.size();
+    for (int i = 0; i < size; i++) {
+      if (list.size() != size) {
+        throw new ConcurrentModificationException();
+      }
+      checked.checkedAccept(list.get(i));
+    }
+    if (list.size() != size) {
+      throw new ConcurrentModificationException();
+    }
   }
 
   /**
-   * Convenience method invoking {@link LavaBiConsumer} wrapping checked
-   * exceptions raised.
+   * Pass all elements of {@code array} to {@code checked} in order.
+   *
+   * @param <X> element type
+   * @param <E> upper exception limit
+   * @param array elements to process
+   * @param checked consumer to pass the elements to
+   * @throws E checked exception raised by {@code checked}
+   * @see #forEach(Iterable, LavaConsumer)
+   */
+  public static <X, E extends Exception> void
+  forEach(X[] array, LavaConsumer<? super X, ? extends E> checked) throws E {
+    for (X x : array) {
+      checked.checkedAccept(x);
+    }
+  }
+
+  /**
+   * Pass all entries of {@code map} to {@code checked}.
    * <p>
-   * Equivalent to {@code rex(checked).accept(x, y)}
+   * Unlike {@code map.forEach(Rex.biConsumer(checked))} the loop runs in a
+   * single frame declaring {@code throws E}, so checked exceptions are
+   * rethrown unchanged.
    *
-   * @param <X> first parameter type
-   * @param <Y> second parameter type
-   * @param checked {@link LavaBiConsumer} to invoke
-   * @param x first parameter to {@code checked}
-   * @param y second parameter to {@code checked}
+   * @param <K> key type
+   * @param <V> value type
+   * @param <E> upper exception limit
+   * @param map entries to process
+   * @param checked consumer to pass keys and values to
+   * @throws E checked exception raised by {@code checked}
    */
-  public static <X, Y> void
-  invoke(LavaBiConsumer<X, Y, ?> checked, X x, Y y) {
-    rex(checked).accept(x, y);
+  public static <K, V, E extends Exception> void
+  forEach(Map<? extends K, ? extends V> map, LavaBiConsumer<? super K, ? super V, ? extends E> checked) throws E {
+    for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+      checked.checkedAccept(entry.getKey(), entry.getValue());
+    }
   }
 
   /**
-   * Convenience method invoking {@link LavaSupplier} wrapping checked
-   * exceptions raised.
+   * Create a stream drawing its elements from a cursor-like {@code source},
+   * e.g. a {@code ResultSet}, a message consumer or a paged API. The stream
+   * ends once {@code source} returns {@link Optional#empty()}.
+   * <p>
+   * Unlike {@code Stream.generate(Rex.supplier(checked))} the stream is
+   * finite, ordered and splits into batches of elements for parallel
+   * processing. Checked exceptions raised by {@code source} are wrapped
+   * like those of the Rex bridges.
    * <p>
-   * Equivalent to {@code rex(checked).get()}
+   * E.g. {@code Rex.stream(() -> rs.next() ? Optional.of(read(rs)) : Optional.empty())}
    *
-   * @param <R> return type
-   * @param checked {@link LavaSupplier} to invoke
-   * @return result of invoking {@code checked}
+   * @param <T> element type
+   * @param source supplier of the elements
+   * @return sequential stream of the elements supplied by {@code source}
+   * @see #stream(LavaSupplier, int)
+   * @see RexStream#generate(LavaSupplier)
    */
-  public static <R> R
-  invoke(LavaSupplier<R, ?> checked) {
-    return wrapCheckedException(checked);
+  public static <T> Stream<T>
+  stream(LavaSupplier<? extends Optional<? extends T>, ?> source) {
+    return stream(source, 0);
   }
 
   /**
-   * Convenience method invoking {@link LavaFunction} wrapping checked
-   * exceptions raised.
+   * Create a stream drawing its elements from a cursor-like {@code source},
+   * fetching up to {@code prefetch} elements ahead.
    * <p>
-   * Equivalent to {@code rex(checked).apply(x)}
+   * With a positive {@code prefetch} the source is drained by a background
+   * task on a virtual thread (pooled daemon threads on runtimes without
+   * virtual threads), so waiting for the source overlaps with processing
+   * the elements already fetched. The task starts with the terminal
+   * operation and ends once the source is exhausted or fails. A stream that
+   * is not consumed completely must be {@link Stream#close() closed} to
+   * stop the task, e.g. using try-with-resources. A failure of the source is
+   * raised after the elements fetched before it.
    *
-   * @param <X> parameter type
-   * @param <R> return type
-   * @param checked {@link LavaFunction} to invoke
-   * @param x parameter to {@code checked}
-   * @return result of invoking {@code checked}
+   * @param <T> element type
+   * @param source supplier of the elements
+   * @param prefetch maximum number of elements fetched ahead, {@code 0} to
+   *                 fetch on demand by the consuming thread
+   * @return sequential stream of the elements supplied by {@code source}
+   * @throws IllegalArgumentException if {@code prefetch} is negative
    */
-  public static <X, R> R
-  invoke(LavaFunction<X, R, ?> checked, X x) {
-    return rex(checked).apply(x);
+  public static <T> Stream<T>
+  stream(LavaSupplier<? extends Optional<? extends T>, ?> source, int prefetch) {
+    return SourceSpliterator.stream(source, e -> wrapCheckedException(source, e), prefetch);
   }
 
   /**
-   * Convenience method invoking {@link LavaBiFunction} wrapping checked
-   * exceptions raised.
+   * Invoke {@code checked} asynchronously in {@link ForkJoinPool#commonPool()}.
+   *
+   * @param <R> result type
+   * @param checked supplier to invoke
+   * @return future completed with the result of {@code checked}
+   * @see #async(LavaSupplier, Executor)
+   */
+  public static <R> CompletableFuture<R>
+  async(LavaSupplier<? extends R, ?> checked) {
+    return async(checked, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Invoke {@code checked} asynchronously by {@code executor}.
+   * <p>
+   * Unlike {@code CompletableFuture.supplyAsync(Rex.supplier(checked))} the
+   * returned future fails with the exception raised by {@code checked}
+   * itself, neither wrapped into a {@link WrappedCheckedException} nor into
+   * a {@link CompletionException}.
    * <p>
-   * Equivalent to {@code rex(checked).apply(x, y)}
+   * E.g. {@code Rex.async(() -> Files.readAllBytes(path), ioExecutor)}
    *
-   * @param <X> first parameter type
-   * @param <Y> second parameter type
-   * @param <R> return type
-   * @param checked {@link LavaBiFunction} to invoke
-   * @param x first parameter to {@code checked}
-   * @param y second parameter to {@code checked}
-   * @return result of invoking {@code checked}
+   * @param <R> result type
+   * @param checked supplier to invoke
+   * @param executor executor to invoke {@code checked} by
+   * @return future completed with the result of {@code checked}
    */
-  public static <X, Y, R> R
-  invoke(LavaBiFunction<X, Y, R, ?> checked, X x, Y y) {
-    return rex(checked).apply(x, y);
+  public static <R> CompletableFuture<R>
+  async(LavaSupplier<? extends R, ?> checked, Executor executor) {
+    final CompletableFuture<R> result = new CompletableFuture<>();
+    executor.execute(() -> {
+      try {
+        result.complete(checked.checkedGet());
+      } catch (Throwable e) {
+        result.completeExceptionally(e);
+      }
+    });
+    return result;
   }
 
   /**
-   * Convenience method invoking {@link LavaCondition} wrapping checked
-   * exceptions raised.
+   * Apply {@code checked} to the result of {@code stage} once it completes
+   * successfully.
+   * <p>
+   * Unlike {@code stage.thenApply(Rex.function(checked))} the returned
+   * future fails with the original exception: either the one raised by
+   * {@code checked} or the one {@code stage} failed with, stripped of any
+   * {@link CompletionException} layers added along the pipeline.
    * <p>
-   * Equivalent to {@code rex(checked).apply(x)}
+   * E.g. {@code Rex.thenApplyChecked(Rex.async(() -> Files.readAllBytes(path)), Parser::parse)}
    *
-   * @param <X> parameter type
-   * @param checked {@link LavaCondition} to invoke
-   * @return result of invoking {@code checked}
+   * @param <T> result type of {@code stage}
+   * @param <R> result type
+   * @param stage stage to apply {@code checked} to
+   * @param checked function to apply
+   * @return future completed with the result of applying {@code checked}
    */
-  public static <X> boolean
-  invoke(LavaCondition<?> checked) {
-    return rex(checked).getAsBoolean();
+  public static <T, R> CompletableFuture<R>
+  thenApplyChecked(CompletionStage<? extends T> stage, LavaFunction<? super T, ? extends R, ?> checked) {
+    final CompletableFuture<R> result = new CompletableFuture<>();
+    stage.whenComplete((value, failure) -> {
+      if (failure != null) {
+        result.completeExceptionally(unwrapCompletion(failure));
+        return;
+      }
+      try {
+        result.complete(checked.checkedApply(value));
+      } catch (Throwable e) {
+        result.completeExceptionally(e);
+      }
+    });
+    return result;
   }
 
   /**
-   * Convenience method invoking {@link LavaPredicate} wrapping checked
-   * exceptions raised.
+   * Compose {@code stage} with the stage returned by {@code checked} once
+   * {@code stage} completes successfully.
    * <p>
-   * Equivalent to {@code rex(checked).apply(x)}
+   * Unlike {@code stage.thenCompose(Rex.function(checked))} the returned
+   * future fails with the original exception raised by {@code stage},
+   * {@code checked} or the composed stage, stripped of any
+   * {@link CompletionException} layers added along the pipeline.
    *
-   * @param <X> parameter type
-   * @param checked {@link LavaPredicate} to invoke
-   * @param x first parameter to {@code checked}
-   * @return result of invoking {@code checked}
+   * @param <T> result type of {@code stage}
+   * @param <R> result type
+   * @param stage stage to compose
+   * @param checked function returning the stage to compose with
+   * @return future completed with the result of the composed stage
    */
-  public static <X> boolean
-  invoke(LavaPredicate<X, ?> checked, X x) {
-    return rex(checked).test(x);
+  public static <T, R> CompletableFuture<R>
+  thenComposeChecked(CompletionStage<? extends T> stage,
+                     LavaFunction<? super T, ? extends CompletionStage<? extends R>, ?> checked) {
+    final CompletableFuture<R> result = new CompletableFuture<>();
+    stage.whenComplete((value, failure) -> {
+      if (failure != null) {
+        result.completeExceptionally(unwrapCompletion(failure));
+        return;
+      }
+      try {
+        checked.checkedApply(value).whenComplete((composed, composedFailure) -> {
+          if (composedFailure != null) {
+            result.completeExceptionally(unwrapCompletion(composedFailure));
+          } else {
+            result.complete(composed);
+          }
+        });
+      } catch (Throwable e) {
+        result.completeExceptionally(e);
+      }
+    });
+    return result;
   }
 
   /**
-   * Convenience method invoking {@link LavaBiPredicate} wrapping checked
-   * exceptions raised.
+   * Strip the {@link CompletionException}s {@link CompletableFuture}
+   * wraps failures of dependent stages into.
+   */
+  private static Throwable unwrapCompletion(Throwable failure) {
+    while (failure instanceof CompletionException && failure.getCause() != null) {
+      failure = failure.getCause();
+    }
+    return failure;
+  }
+
+  /**
+   * Instrument {@code checked} to record invocation counts, failures by
+   * exception class and latencies into the {@link InvocationMetrics}
+   * registered under {@code name} in the
+   * {@link MetricsRegistry#global() global registry}.
+   * <p>
+   * Recording costs two {@link System#nanoTime()} calls and a few
+   * uncontended atomic updates per invocation. Exceptions pass through
+   * unchanged.
    * <p>
-   * Equivalent to {@code rex(checked).apply(x, y)}
+   * E.g. {@code RexFunction<Long, User, SQLException> users = Rex.instrumented("user-lookup", dao::find)}
    *
-   * @param <X> first parameter type
-   * @param <Y> second parameter type
-   * @param checked {@link LavaBiPredicate} to invoke
-   * @param x first parameter to {@code checked}
-   * @param y second parameter to {@code checked}
-   * @return result of invoking {@code checked}
+   * @param <E> upper exception limit
+   * @param name name to register the metrics under
+   * @param checked runnable to instrument
+   * @return instrumented runnable
    */
-  public static <X, Y> boolean
-  invoke(LavaBiPredicate<X, Y, ?> checked, X x, Y y) {
-    return rex(checked).test(x, y);
+  public static <E extends Exception> RexRunnable<E>
+  instrumented(String name, LavaRunnable<? extends E> checked) {
+    final InvocationMetrics metrics = MetricsRegistry.global().metrics(name);
+    return () -> {
+      final long start = System.nanoTime();
+      try {
+        checked.checkedRun();
+        metrics.success(start);
+      } catch (Throwable e) {
+        metrics.failure(start, e);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * Instrument {@code checked} to record invocations into the
+   * {@link InvocationMetrics} registered under {@code name}.
+   *
+   * @param <R> result type
+   * @param <E> upper exception limit
+   * @param name name to register the metrics under
+   * @param checked supplier to instrument
+   * @return instrumented supplier
+   * @see #instrumented(String, LavaFunction)
+   */
+  public static <R, E extends Exception> RexSupplier<R, E>
+  instrumented(String name, LavaSupplier<? extends R, ? extends E> checked) {
+    final InvocationMetrics metrics = MetricsRegistry.global().metrics(name);
+    return () -> {
+      final long start = System.nanoTime();
+      try {
+        final R result = checked.checkedGet();
+        metrics.success(start);
+        return result;
+      } catch (Throwable e) {
+        metrics.failure(start, e);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * Instrument {@code checked} to record invocations into the
+   * {@link InvocationMetrics} registered under {@code name}.
+   *
+   * @param <X> argument type
+   * @param <R> result type
+   * @param <E> upper exception limit
+   * @param name name to register the metrics under
+   * @param checked function to instrument
+   * @return instrumented function
+   * @see #instrumented(String, LavaFunction)
+   */
+  public static <X, R, E extends Exception> RexFunction<X, R, E>
+  instrumented(String name, LavaFunction<? super X, ? extends R, ? extends E> checked) {
+    final InvocationMetrics metrics = MetricsRegistry.global().metrics(name);
+    return x -> {
+      final long start = System.nanoTime();
+      try {
+        final R result = checked.checkedApply(x);
+        metrics.success(start);
+        return result;
+      } catch (Throwable e) {
+        metrics.failure(start, e);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * Instrument {@code checked} to record invocations into the
+   * {@link InvocationMetrics} registered under {@code name}.
+   *
+   * @param <X> first argument type
+   * @param <Y> second argument type
+   * @param <R> result type
+   * @param <E> upper exception limit
+   * @param name name to register the metrics under
+   * @param checked bi-function to instrument
+   * @return instrumented bi-function
+   * @see #instrumented(String, LavaFunction)
+   */
+  public static <X, Y, R, E extends Exception> RexBiFunction<X, Y, R, E>
+  instrumented(String name, LavaBiFunction<? super X, ? super Y, ? extends R, ? extends E> checked) {
+    final InvocationMetrics metrics = MetricsRegistry.global().metrics(name);
+    return (x, y) -> {
+      final long start = System.nanoTime();
+      try {
+        final R result = checked.checkedApply(x, y);
+        metrics.success(start);
+        return result;
+      } catch (Throwable e) {
+        metrics.failure(start, e);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * Instrument {@code checked} to record invocations into the
+   * {@link InvocationMetrics} registered under {@code name}.
+   *
+   * @param <X> argument type
+   * @param <E> upper exception limit
+   * @param name name to register the metrics under
+   * @param checked consumer to instrument
+   * @return instrumented consumer
+   * @see #instrumented(String, LavaFunction)
+   */
+  public static <X, E extends Exception> RexConsumer<X, E>
+  instrumented(String name, LavaConsumer<? super X, ? extends E> checked) {
+    final InvocationMetrics metrics = MetricsRegistry.global().metrics(name);
+    return x -> {
+      final long start = System.nanoTime();
+      try {
+        checked.checkedAccept(x);
+        metrics.success(start);
+      } catch (Throwable e) {
+        metrics.failure(start, e);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * Instrument {@code checked} to record invocations into the
+   * {@link InvocationMetrics} registered under {@code name}.
+   *
+   * @param <X> first argument type
+   * @param <Y> second argument type
+   * @param <E> upper exception limit
+   * @param name name to register the metrics under
+   * @param checked bi-consumer to instrument
+   * @return instrumented bi-consumer
+   * @see #instrumented(String, LavaFunction)
+   */
+  public static <X, Y, E extends Exception> RexBiConsumer<X, Y, E>
+  instrumented(String name, LavaBiConsumer<? super X, ? super Y, ? extends E> checked) {
+    final InvocationMetrics metrics = MetricsRegistry.global().metrics(name);
+    return (x, y) -> {
+      final long start = System.nanoTime();
+      try {
+        checked.checkedAccept(x, y);
+        metrics.success(start);
+      } catch (Throwable e) {
+        metrics.failure(start, e);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * Instrument {@code checked} to record invocations into the
+   * {@link InvocationMetrics} registered under {@code name}.
+   *
+   * @param <X> argument type
+   * @param <E> upper exception limit
+   * @param name name to register the metrics under
+   * @param checked predicate to instrument
+   * @return instrumented predicate
+   * @see #instrumented(String, LavaFunction)
+   */
+  public static <X, E extends Exception> RexPredicate<X, E>
+  instrumented(String name, LavaPredicate<? super X, ? extends E> checked) {
+    final InvocationMetrics metrics = MetricsRegistry.global().metrics(name);
+    return x -> {
+      final long start = System.nanoTime();
+      try {
+        final boolean result = checked.checkedTest(x);
+        metrics.success(start);
+        return result;
+      } catch (Throwable e) {
+        metrics.failure(start, e);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * Instrument {@code checked} to record invocations into the
+   * {@link InvocationMetrics} registered under {@code name}.
+   *
+   * @param <X> first argument type
+   * @param <Y> second argument type
+   * @param <E> upper exception limit
+   * @param name name to register the metrics under
+   * @param checked bi-predicate to instrument
+   * @return instrumented bi-predicate
+   * @see #instrumented(String, LavaFunction)
+   */
+  public static <X, Y, E extends Exception> RexBiPredicate<X, Y, E>
+  instrumented(String name, LavaBiPredicate<? super X, ? super Y, ? extends E> checked) {
+    final InvocationMetrics metrics = MetricsRegistry.global().metrics(name);
+    return (x, y) -> {
+      final long start = System.nanoTime();
+      try {
+        final boolean result = checked.checkedTest(x, y);
+        metrics.success(start);
+        return result;
+      } catch (Throwable e) {
+        metrics.failure(start, e);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * Instrument {@code checked} to record invocations into the
+   * {@link InvocationMetrics} registered under {@code name}.
+   *
+   * @param <E> upper exception limit
+   * @param name name to register the metrics under
+   * @param checked condition to instrument
+   * @return instrumented condition
+   * @see #instrumented(String, LavaFunction)
+   */
+  public static <E extends Exception> RexCondition<E>
+  instrumented(String name, LavaCondition<? extends E> checked) {
+    final InvocationMetrics metrics = MetricsRegistry.global().metrics(name);
+    return () -> {
+      final long start = System.nanoTime();
+      try {
+        final boolean result = checked.checkedTest();
+        metrics.success(start);
+        return result;
+      } catch (Throwable e) {
+        metrics.failure(start, e);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * Rethrow the cause of {@code e} unchanged.
+   */
+  static <E extends Exception> RuntimeException rethrowCause(ExecutionException e) throws E {
+    final Throwable cause = e.getCause();
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    throw sneakyThrow(cause instanceof Exception ? (Exception) cause : e);
+  }
+
+  /**
+   * Throw {@code e} without declaring it. The return type allows callers
+   * to write {@code throw sneakyThrow(e)}, it never returns.
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception> RuntimeException sneakyThrow(Exception e) throws E {
+    throw (E) e;
   }
 }
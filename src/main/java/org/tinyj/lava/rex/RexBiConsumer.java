@@ -5,7 +5,7 @@ import org.tinyj.lava.WrappedCheckedException;
 
 import java.util.function.BiConsumer;
 
-import static org.tinyj.lava.WrappedCheckedException.wrapCheckedException;
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
 
 /**
  * An operation on two input values.
@@ -41,7 +41,7 @@ public interface RexBiConsumer<X, Y, E extends Exception>
     try {
       checkedAccept(x, y);
     } catch (Exception e) {
-      throw wrapCheckedException(e);
+      throw wrapCheckedException(this, e);
     }
   }
 
@@ -1,11 +1,13 @@
 package org.tinyj.lava.rex;
 
 import org.tinyj.lava.LavaBiFunction;
+import org.tinyj.lava.LavaFunction;
 import org.tinyj.lava.WrappedCheckedException;
 
+import java.util.Objects;
 import java.util.function.BiFunction;
 
-import static org.tinyj.lava.WrappedCheckedException.wrapCheckedException;
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
 
 /**
  * A bi-function maps its two argument to a result.
@@ -43,10 +45,37 @@ public interface RexBiFunction<X, Y, R, E extends Exception>
     try {
       return checkedApply(x, y);
     } catch (Exception e) {
-      throw wrapCheckedException(e);
+      throw wrapCheckedException(this, e);
     }
   }
 
+  /**
+   * Apply the function to arguments, return checked exceptions as value.
+   *
+   * @param x first argument to map
+   * @param y second argument to map
+   * @return the function's result or the checked exception raised
+   * @see Rex#attempt(org.tinyj.lava.LavaBiFunction, Object, Object)
+   */
+  default Attempt<R, E> tryApply(X x, Y y) { return Rex.attempt(this, x, y); }
+
+  /**
+   * Compose a bi-function first applying this bi-function and then
+   * {@code after} to the result.
+   * <p>
+   * Unlike {@link #andThen(java.util.function.Function)} the composition is
+   * a {@link RexBiFunction} keeping the exception limit and wrapping checked
+   * exceptions once.
+   *
+   * @param <V> result type of {@code after}
+   * @param after function to apply to the result of this bi-function
+   * @return composed bi-function
+   */
+  default <V> RexBiFunction<X, Y, V, E> andThenChecked(LavaFunction<? super R, ? extends V, ? extends E> after) {
+    Objects.requireNonNull(after, "after");
+    return (x, y) -> after.checkedApply(checkedApply(x, y));
+  }
+
   /**
    * Safely casts between different {@link RexBiFunction} parametrizations
    *
@@ -3,9 +3,10 @@ package org.tinyj.lava.rex;
 import org.tinyj.lava.LavaBiPredicate;
 import org.tinyj.lava.WrappedCheckedException;
 
+import java.util.Objects;
 import java.util.function.BiPredicate;
 
-import static org.tinyj.lava.WrappedCheckedException.wrapCheckedException;
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
 
 /**
  * A special kind of bi-function mapping its arguments to a {@code boolean}.
@@ -41,11 +42,62 @@ public interface RexBiPredicate<X, Y, E extends Exception>
     try {
       return checkedTest(x, y);
     } catch (Exception e) {
-      throw wrapCheckedException(e);
+      throw wrapCheckedException(this, e);
     }
 
   }
 
+  /**
+   * Test if the arguments match the predicate, return checked exceptions
+   * as value. Allocates nothing on success.
+   *
+   * @param x first argument to the match
+   * @param y second argument to the match
+   * @return whether {@code x, y} match or the checked exception raised
+   * @see Rex#attempt(org.tinyj.lava.LavaBiPredicate, Object, Object)
+   */
+  default Attempt<Boolean, E> tryTest(X x, Y y) { return Rex.attempt(this, x, y); }
+
+  /**
+   * Compose a bi-predicate matching if both this bi-predicate and
+   * {@code other} match, evaluating {@code other} only if this bi-predicate
+   * matched.
+   * <p>
+   * Unlike {@link #and(BiPredicate)} the composition is a
+   * {@link RexBiPredicate} keeping the exception limit and wrapping checked
+   * exceptions once.
+   *
+   * @param other bi-predicate to test if this bi-predicate matched
+   * @return composed bi-predicate
+   */
+  default RexBiPredicate<X, Y, E> andChecked(LavaBiPredicate<? super X, ? super Y, ? extends E> other) {
+    Objects.requireNonNull(other, "other");
+    return (x, y) -> checkedTest(x, y) && other.checkedTest(x, y);
+  }
+
+  /**
+   * Compose a bi-predicate matching if either this bi-predicate or
+   * {@code other} matches, evaluating {@code other} only if this
+   * bi-predicate didn't match.
+   * <p>
+   * Unlike {@link #or(BiPredicate)} the composition is a
+   * {@link RexBiPredicate} keeping the exception limit and wrapping checked
+   * exceptions once.
+   *
+   * @param other bi-predicate to test if this bi-predicate didn't match
+   * @return composed bi-predicate
+   */
+  default RexBiPredicate<X, Y, E> orChecked(LavaBiPredicate<? super X, ? super Y, ? extends E> other) {
+    Objects.requireNonNull(other, "other");
+    return (x, y) -> checkedTest(x, y) || other.checkedTest(x, y);
+  }
+
+  /**
+   * @return bi-predicate matching if this bi-predicate doesn't
+   */
+  @Override
+  default RexBiPredicate<X, Y, E> negate() { return (x, y) -> !checkedTest(x, y); }
+
   /**
    * Safely casts between different {@link RexBiPredicate}parametrization
    *
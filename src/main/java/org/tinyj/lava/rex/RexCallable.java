@@ -0,0 +1,51 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.LavaSupplier;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A task returning a result.
+ * <p>
+ * This interface bridges {@link LavaSupplier} and {@link Callable}. Since
+ * {@link Callable#call} may raise checked exceptions, these are passed on
+ * as they are. An {@link java.util.concurrent.ExecutorService} running the
+ * task thus fails the {@link java.util.concurrent.Future} with an
+ * {@link java.util.concurrent.ExecutionException} directly caused by the
+ * original exception.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedGet}.
+ *
+ * @param <R> type of the task's result
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexCallable<R, E extends Exception>
+    extends Callable<R>, LavaSupplier<R, E> {
+
+  /**
+   * Compute the result, pass on checked exceptions.
+   *
+   * @return the task's result
+   * @throws E exception raised during invocation
+   */
+  @Override
+  default R call() throws E {
+    return checkedGet();
+  }
+
+  /**
+   * Safely casts between different {@link RexCallable} parametrization
+   *
+   * @param <R> required result type
+   * @param <E> required exception limit
+   * @param callable callable to adopt
+   * @return {@code callable} casted to the compatible parametrization {@link RexCallable}{@code <R, E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <R, E extends Exception>
+  RexCallable<R, E> castDown(RexCallable<? extends R, ? extends E> callable) {
+    return (RexCallable<R, E>) callable;
+  }
+}
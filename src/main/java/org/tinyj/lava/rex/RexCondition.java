@@ -5,7 +5,7 @@ import org.tinyj.lava.WrappedCheckedException;
 
 import java.util.function.BooleanSupplier;
 
-import static org.tinyj.lava.WrappedCheckedException.wrapCheckedException;
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
 
 /**
  * A supplier of values.
@@ -38,7 +38,7 @@ public interface RexCondition<E extends Exception>
     try {
       return checkedTest();
     } catch (Exception e) {
-      throw wrapCheckedException(e);
+      throw wrapCheckedException(this, e);
     }
   }
 
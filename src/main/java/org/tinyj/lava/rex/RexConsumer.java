@@ -5,7 +5,7 @@ import org.tinyj.lava.WrappedCheckedException;
 
 import java.util.function.Consumer;
 
-import static org.tinyj.lava.WrappedCheckedException.wrapCheckedException;
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
 
 /**
  * An operation on an input value.
@@ -39,7 +39,7 @@ public interface RexConsumer<X, E extends Exception>
     try {
       checkedAccept(x);
     } catch (Exception e) {
-      throw wrapCheckedException(e);
+      throw wrapCheckedException(this, e);
     }
   }
 
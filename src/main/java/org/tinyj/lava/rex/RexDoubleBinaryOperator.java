@@ -0,0 +1,70 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.DoubleBinaryOperator;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * An operation on two {@code double} operands producing a {@code double} result.
+ * <p>
+ * This interface bridges checked lambdas and {@link DoubleBinaryOperator} by
+ * wrapping checked exceptions raised during invocation of {@link #applyAsDouble}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same operands yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApplyAsDouble}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexDoubleBinaryOperator<E extends Exception>
+    extends DoubleBinaryOperator {
+
+  /**
+   * Apply the operator to the operands.
+   *
+   * @param x the first operand
+   * @param y the second operand
+   * @return the operator's result
+   * @throws E checked exception raised
+   */
+  double checkedApplyAsDouble(double x, double y) throws E;
+
+  /**
+   * Apply the operator to the operands, wrap checked exceptions.
+   *
+   * @param x the first operand
+   * @param y the second operand
+   * @return the operator's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default double applyAsDouble(double x, double y) {
+    try {
+      return checkedApplyAsDouble(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexDoubleBinaryOperator} parametrization
+   *
+   * @param <E> required exception limit
+   * @param operator operator to adopt
+   * @return {@code operator} casted to the compatible parametrization
+   *     {@link RexDoubleBinaryOperator}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexDoubleBinaryOperator<E> castDown(RexDoubleBinaryOperator<? extends E> operator) {
+    return (RexDoubleBinaryOperator<E>) operator;
+  }
+}
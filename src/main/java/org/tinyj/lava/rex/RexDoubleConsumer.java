@@ -0,0 +1,66 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.DoubleConsumer;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * An operation on a {@code double} input value.
+ * <p>
+ * This interface bridges checked lambdas and {@link DoubleConsumer} by
+ * wrapping checked exceptions raised during invocation of {@link #accept}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * Usually invoking a consumer results in side effects. Subsequent
+ * invocations may or may not result in further side effects.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedAccept}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexDoubleConsumer<E extends Exception>
+    extends DoubleConsumer {
+
+  /**
+   * Perform operation on input.
+   *
+   * @param x consumed value
+   * @throws E checked exception raised
+   */
+  void checkedAccept(double x) throws E;
+
+  /**
+   * Perform operation on input, wrap checked exceptions.
+   *
+   * @param x consumed value
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default void accept(double x) {
+    try {
+      checkedAccept(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexDoubleConsumer} parametrization
+   *
+   * @param <E> required exception limit
+   * @param consumer consumer to adopt
+   * @return {@code consumer} casted to the compatible parametrization
+   *     {@link RexDoubleConsumer}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexDoubleConsumer<E> castDown(RexDoubleConsumer<? extends E> consumer) {
+    return (RexDoubleConsumer<E>) consumer;
+  }
+}
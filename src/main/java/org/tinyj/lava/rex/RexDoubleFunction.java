@@ -0,0 +1,70 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.DoubleFunction;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * A function mapping a {@code double} argument to a result.
+ * <p>
+ * This interface bridges checked lambdas and {@link DoubleFunction} by
+ * wrapping checked exceptions raised during invocation of {@link #apply}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same argument yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApply}.
+ *
+ * @param <R> the function's result type
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexDoubleFunction<R, E extends Exception>
+    extends DoubleFunction<R> {
+
+  /**
+   * Apply the function to an argument.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws E checked exception raised
+   */
+  R checkedApply(double x) throws E;
+
+  /**
+   * Apply the function to an argument, wrap checked exceptions.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default R apply(double x) {
+    try {
+      return checkedApply(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexDoubleFunction} parametrization
+   *
+   * @param <R> required result type
+   * @param <E> required exception limit
+   * @param function function to adopt
+   * @return {@code function} casted to the compatible parametrization
+   *     {@link RexDoubleFunction}{@code <R, E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <R, E extends Exception>
+  RexDoubleFunction<R, E> castDown(RexDoubleFunction<? extends R, ? extends E> function) {
+    return (RexDoubleFunction<R, E>) function;
+  }
+}
@@ -0,0 +1,66 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.DoubleSupplier;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * A supplier of {@code double} values.
+ * <p>
+ * This interface bridges checked lambdas and {@link DoubleSupplier} by
+ * wrapping checked exceptions raised during invocation of {@link #getAsDouble}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * There is no requirement that a new or distinct result be returned each time
+ * the supplier is invoked.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedGetAsDouble}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexDoubleSupplier<E extends Exception>
+    extends DoubleSupplier {
+
+  /**
+   * Produce a value.
+   *
+   * @return a value
+   * @throws E checked exception raised
+   */
+  double checkedGetAsDouble() throws E;
+
+  /**
+   * Produce a value, wrap checked exceptions.
+   *
+   * @return a value
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default double getAsDouble() {
+    try {
+      return checkedGetAsDouble();
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexDoubleSupplier} parametrization
+   *
+   * @param <E> required exception limit
+   * @param supplier supplier to adopt
+   * @return {@code supplier} casted to the compatible parametrization
+   *     {@link RexDoubleSupplier}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexDoubleSupplier<E> castDown(RexDoubleSupplier<? extends E> supplier) {
+    return (RexDoubleSupplier<E>) supplier;
+  }
+}
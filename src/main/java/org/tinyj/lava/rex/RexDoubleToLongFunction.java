@@ -0,0 +1,68 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.DoubleToLongFunction;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * A function mapping a {@code double} argument to a {@code long} result.
+ * <p>
+ * This interface bridges checked lambdas and {@link DoubleToLongFunction} by
+ * wrapping checked exceptions raised during invocation of {@link #applyAsLong}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same argument yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApplyAsLong}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexDoubleToLongFunction<E extends Exception>
+    extends DoubleToLongFunction {
+
+  /**
+   * Apply the function to an argument.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws E checked exception raised
+   */
+  long checkedApplyAsLong(double x) throws E;
+
+  /**
+   * Apply the function to an argument, wrap checked exceptions.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default long applyAsLong(double x) {
+    try {
+      return checkedApplyAsLong(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexDoubleToLongFunction} parametrization
+   *
+   * @param <E> required exception limit
+   * @param function function to adopt
+   * @return {@code function} casted to the compatible parametrization
+   *     {@link RexDoubleToLongFunction}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexDoubleToLongFunction<E> castDown(RexDoubleToLongFunction<? extends E> function) {
+    return (RexDoubleToLongFunction<E>) function;
+  }
+}
@@ -0,0 +1,68 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.DoubleUnaryOperator;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * An operation on a single {@code double} operand producing a {@code double} result.
+ * <p>
+ * This interface bridges checked lambdas and {@link DoubleUnaryOperator} by
+ * wrapping checked exceptions raised during invocation of {@link #applyAsDouble}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same operand yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApplyAsDouble}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexDoubleUnaryOperator<E extends Exception>
+    extends DoubleUnaryOperator {
+
+  /**
+   * Apply the operator to an operand.
+   *
+   * @param x the operand
+   * @return the operator's result
+   * @throws E checked exception raised
+   */
+  double checkedApplyAsDouble(double x) throws E;
+
+  /**
+   * Apply the operator to an operand, wrap checked exceptions.
+   *
+   * @param x the operand
+   * @return the operator's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default double applyAsDouble(double x) {
+    try {
+      return checkedApplyAsDouble(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexDoubleUnaryOperator} parametrization
+   *
+   * @param <E> required exception limit
+   * @param operator operator to adopt
+   * @return {@code operator} casted to the compatible parametrization
+   *     {@link RexDoubleUnaryOperator}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexDoubleUnaryOperator<E> castDown(RexDoubleUnaryOperator<? extends E> operator) {
+    return (RexDoubleUnaryOperator<E>) operator;
+  }
+}
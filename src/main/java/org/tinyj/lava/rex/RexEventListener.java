@@ -0,0 +1,34 @@
+package org.tinyj.lava.rex;
+
+/**
+ * Receives diagnostic events of the Rex bridges and decorators.
+ * <p>
+ * Listeners are invoked synchronously on the thread the event occurred on
+ * and should return quickly. Exceptions raised by a listener are ignored.
+ *
+ * @see RexEvents#setListener(RexEventListener)
+ */
+public interface RexEventListener {
+
+  /**
+   * A checked exception was wrapped into a
+   * {@link org.tinyj.lava.WrappedCheckedException} by a Rex bridge.
+   *
+   * @param lambda the lambda raising {@code exception}, {@code null} if
+   *               wrapped by {@link StackTracePolicy#wrapCheckedException}
+   *               directly
+   * @param exception the checked exception wrapped
+   */
+  default void checkedExceptionWrapped(Object lambda, Exception exception) {}
+
+  /**
+   * An {@link Rex#instrumented instrumented} invocation took at least the
+   * {@link RexEvents#setSlowInvocationThreshold slow invocation threshold}.
+   *
+   * @param name name the invoked lambda is instrumented under
+   * @param nanos duration of the invocation in nanoseconds
+   * @param failure exception raised by the invocation, {@code null} if it
+   *                succeeded
+   */
+  default void slowInvocation(String name, long nanos, Throwable failure) {}
+}
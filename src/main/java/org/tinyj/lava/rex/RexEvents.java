@@ -0,0 +1,91 @@
+package org.tinyj.lava.rex;
+
+import java.time.Duration;
+
+/**
+ * Hook for diagnostic events such as checked exceptions being wrapped and
+ * slow {@link Rex#instrumented instrumented} invocations.
+ * <p>
+ * Without listener, emitting an event costs a single volatile read. A
+ * listener typically forwards events to a monitoring system, e.g. as
+ * custom Java Flight Recorder events on runtimes providing
+ * {@code jdk.jfr}:
+ * <pre>{@code
+ * @Name("org.tinyj.lava.rex.CheckedExceptionWrapped")
+ * class WrappedEvent extends jdk.jfr.Event {
+ *   Class<?> exceptionClass;
+ *   Class<?> lambdaClass;
+ * }
+ *
+ * RexEvents.setListener(new RexEventListener() {
+ *   public void checkedExceptionWrapped(Object lambda, Exception exception) {
+ *     WrappedEvent event = new WrappedEvent();
+ *     if (event.shouldCommit()) {
+ *       event.exceptionClass = exception.getClass();
+ *       event.lambdaClass = lambda == null ? null : lambda.getClass();
+ *       event.commit();
+ *     }
+ *   }
+ * });
+ * }</pre>
+ */
+public final class RexEvents {
+
+  private static volatile RexEventListener listener;
+  private static volatile long slowInvocationNanos = Long.MAX_VALUE;
+
+  private RexEvents() {}
+
+  /**
+   * @param listener listener receiving all events, {@code null} to disable
+   *                 events
+   */
+  public static void setListener(RexEventListener listener) { RexEvents.listener = listener; }
+
+  /**
+   * @return the current listener, {@code null} if events are disabled
+   */
+  public static RexEventListener getListener() { return listener; }
+
+  /**
+   * @param threshold minimum duration of instrumented invocations reported
+   *                  as slow, {@code null} to report none
+   */
+  public static void setSlowInvocationThreshold(Duration threshold) {
+    slowInvocationNanos = threshold == null ? Long.MAX_VALUE : threshold.toNanos();
+  }
+
+  /**
+   * @return minimum duration of instrumented invocations reported as slow,
+   *     {@code null} if none are reported
+   */
+  public static Duration getSlowInvocationThreshold() {
+    final long nanos = slowInvocationNanos;
+    return nanos == Long.MAX_VALUE ? null : Duration.ofNanos(nanos);
+  }
+
+  static void checkedExceptionWrapped(Object lambda, Exception exception) {
+    final RexEventListener listener = RexEvents.listener;
+    if (listener != null) {
+      try {
+        listener.checkedExceptionWrapped(lambda, exception);
+      } catch (RuntimeException ignored) {
+        // must not mask the exception being wrapped
+      }
+    }
+  }
+
+  static void invoked(String name, long nanos, Throwable failure) {
+    if (nanos < slowInvocationNanos) {
+      return;
+    }
+    final RexEventListener listener = RexEvents.listener;
+    if (listener != null) {
+      try {
+        listener.slowInvocation(name, nanos, failure);
+      } catch (RuntimeException ignored) {
+        // must not affect the instrumented invocation
+      }
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.LavaRunnable;
+import org.tinyj.lava.LavaSupplier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Adapter submitting Lava lambdas to an {@link ExecutorService} as
+ * {@link RexCallable}s.
+ * <p>
+ * Unlike submitting {@link Rex#supplier} or {@link Rex#runnable} lambdas
+ * checked exceptions are not wrapped into a
+ * {@link org.tinyj.lava.WrappedCheckedException}, a failed task's
+ * {@link ExecutionException} is directly caused by the original exception.
+ * <p>
+ * E.g. {@code new RexExecutor(executorService).submit(() -> Files.readAllBytes(path))}
+ */
+public class RexExecutor {
+
+  private final ExecutorService executor;
+
+  /**
+   * @param executor executor service to run the tasks
+   */
+  public RexExecutor(ExecutorService executor) {
+    if (executor == null) {
+      throw new NullPointerException("executor");
+    }
+    this.executor = executor;
+  }
+
+  /**
+   * @return the executor service running the tasks
+   */
+  public ExecutorService executor() { return executor; }
+
+  /**
+   * Submit a value-returning task for execution.
+   *
+   * @param <R> result type
+   * @param task task to execute
+   * @return future of the task's result
+   * @see ExecutorService#submit(Callable)
+   */
+  public <R> Future<R> submit(LavaSupplier<? extends R, ?> task) {
+    return executor.submit(Rex.callable(task));
+  }
+
+  /**
+   * Submit a task for execution.
+   *
+   * @param task task to execute
+   * @return future completing with {@code null} once the task has run
+   * @see ExecutorService#submit(Callable)
+   */
+  public Future<Void> submit(LavaRunnable<?> task) {
+    return executor.submit(Rex.callable(task));
+  }
+
+  /**
+   * Execute the given tasks and wait for all of them to complete.
+   *
+   * @param <R> result type
+   * @param tasks tasks to execute
+   * @return futures of the tasks' results in iteration order of {@code tasks}
+   * @throws InterruptedException if interrupted while waiting
+   * @see ExecutorService#invokeAll(Collection)
+   */
+  public <R> List<Future<R>> invokeAll(Collection<? extends LavaSupplier<? extends R, ?>> tasks)
+      throws InterruptedException {
+    return executor.invokeAll(callables(tasks));
+  }
+
+  /**
+   * Execute the given tasks and wait for all of them to complete or the
+   * timeout to expire, whatever happens first.
+   *
+   * @param <R> result type
+   * @param tasks tasks to execute
+   * @param timeout maximum time to wait
+   * @param unit time unit of {@code timeout}
+   * @return futures of the tasks' results in iteration order of {@code tasks}
+   * @throws InterruptedException if interrupted while waiting
+   * @see ExecutorService#invokeAll(Collection, long, TimeUnit)
+   */
+  public <R> List<Future<R>> invokeAll(Collection<? extends LavaSupplier<? extends R, ?>> tasks,
+                                       long timeout, TimeUnit unit)
+      throws InterruptedException {
+    return executor.invokeAll(callables(tasks), timeout, unit);
+  }
+
+  /**
+   * Execute the given tasks and return the result of one that completed
+   * successfully.
+   *
+   * @param <R> result type
+   * @param tasks tasks to execute
+   * @return result of one of the tasks
+   * @throws InterruptedException if interrupted while waiting
+   * @throws ExecutionException if no task completed successfully, caused by
+   *     the exception raised by one of the tasks
+   * @see ExecutorService#invokeAny(Collection)
+   */
+  public <R> R invokeAny(Collection<? extends LavaSupplier<? extends R, ?>> tasks)
+      throws InterruptedException, ExecutionException {
+    return executor.invokeAny(callables(tasks));
+  }
+
+  /**
+   * Execute the given tasks and return the result of one that completed
+   * successfully before the timeout expired.
+   *
+   * @param <R> result type
+   * @param tasks tasks to execute
+   * @param timeout maximum time to wait
+   * @param unit time unit of {@code timeout}
+   * @return result of one of the tasks
+   * @throws InterruptedException if interrupted while waiting
+   * @throws ExecutionException if no task completed successfully, caused by
+   *     the exception raised by one of the tasks
+   * @throws TimeoutException if no task completed successfully in time
+   * @see ExecutorService#invokeAny(Collection, long, TimeUnit)
+   */
+  public <R> R invokeAny(Collection<? extends LavaSupplier<? extends R, ?>> tasks,
+                         long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return executor.invokeAny(callables(tasks), timeout, unit);
+  }
+
+  private static <R> List<Callable<R>> callables(Collection<? extends LavaSupplier<? extends R, ?>> tasks) {
+    final List<Callable<R>> callables = new ArrayList<>(tasks.size());
+    for (LavaSupplier<? extends R, ?> task : tasks) {
+      callables.add(Rex.callable(task));
+    }
+    return callables;
+  }
+}
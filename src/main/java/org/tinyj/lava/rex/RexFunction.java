@@ -5,7 +5,7 @@ import org.tinyj.lava.WrappedCheckedException;
 
 import java.util.function.Function;
 
-import static org.tinyj.lava.WrappedCheckedException.wrapCheckedException;
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
 
 /**
  * A function maps its argument to a result.
@@ -41,10 +41,53 @@ public interface RexFunction<X, R, E extends Exception>
     try {
       return checkedApply(x);
     } catch (Exception e) {
-      throw wrapCheckedException(e);
+      throw wrapCheckedException(this, e);
     }
   }
 
+  /**
+   * Apply the function to an argument, return checked exceptions as value.
+   *
+   * @param x argument to map
+   * @return the function's result or the checked exception raised
+   * @see Rex#attempt(org.tinyj.lava.LavaFunction, Object)
+   */
+  default Attempt<R, E> tryApply(X x) { return Rex.attempt(this, x); }
+
+  /**
+   * Compose a function first applying this function and then
+   * {@code after} to the result.
+   * <p>
+   * Unlike {@link #andThen(Function)} the composition is a
+   * {@link RexFunction} keeping the exception limit. Checked exceptions
+   * raised by any stage are wrapped once, by the composition. Composing a
+   * composition extends it rather than nesting it, so long chains stay
+   * shallow.
+   *
+   * @param <V> result type of {@code after}
+   * @param after function to apply to the result of this function
+   * @return composed function
+   */
+  default <V> RexFunction<X, V, E> andThenChecked(LavaFunction<? super R, ? extends V, ? extends E> after) {
+    return Fused.andThen(this, after);
+  }
+
+  /**
+   * Compose a function first applying {@code before} and then this
+   * function to the result.
+   * <p>
+   * Unlike {@link #compose(Function)} the composition is a
+   * {@link RexFunction} keeping the exception limit.
+   *
+   * @param <V> argument type of {@code before}
+   * @param before function to apply to the argument first
+   * @return composed function
+   * @see #andThenChecked(LavaFunction)
+   */
+  default <V> RexFunction<V, R, E> composeChecked(LavaFunction<? super V, ? extends X, ? extends E> before) {
+    return Fused.andThen(before, this);
+  }
+
   /**
    * Safely casts between different {@link RexFunction} parametrization
    *
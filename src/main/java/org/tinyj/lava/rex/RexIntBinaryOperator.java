@@ -0,0 +1,70 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.IntBinaryOperator;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * An operation on two {@code int} operands producing an {@code int} result.
+ * <p>
+ * This interface bridges checked lambdas and {@link IntBinaryOperator} by
+ * wrapping checked exceptions raised during invocation of {@link #applyAsInt}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same operands yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApplyAsInt}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexIntBinaryOperator<E extends Exception>
+    extends IntBinaryOperator {
+
+  /**
+   * Apply the operator to the operands.
+   *
+   * @param x the first operand
+   * @param y the second operand
+   * @return the operator's result
+   * @throws E checked exception raised
+   */
+  int checkedApplyAsInt(int x, int y) throws E;
+
+  /**
+   * Apply the operator to the operands, wrap checked exceptions.
+   *
+   * @param x the first operand
+   * @param y the second operand
+   * @return the operator's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default int applyAsInt(int x, int y) {
+    try {
+      return checkedApplyAsInt(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexIntBinaryOperator} parametrization
+   *
+   * @param <E> required exception limit
+   * @param operator operator to adopt
+   * @return {@code operator} casted to the compatible parametrization
+   *     {@link RexIntBinaryOperator}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexIntBinaryOperator<E> castDown(RexIntBinaryOperator<? extends E> operator) {
+    return (RexIntBinaryOperator<E>) operator;
+  }
+}
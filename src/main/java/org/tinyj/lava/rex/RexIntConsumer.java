@@ -0,0 +1,66 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.IntConsumer;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * An operation on an {@code int} input value.
+ * <p>
+ * This interface bridges checked lambdas and {@link IntConsumer} by
+ * wrapping checked exceptions raised during invocation of {@link #accept}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * Usually invoking a consumer results in side effects. Subsequent
+ * invocations may or may not result in further side effects.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedAccept}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexIntConsumer<E extends Exception>
+    extends IntConsumer {
+
+  /**
+   * Perform operation on input.
+   *
+   * @param x consumed value
+   * @throws E checked exception raised
+   */
+  void checkedAccept(int x) throws E;
+
+  /**
+   * Perform operation on input, wrap checked exceptions.
+   *
+   * @param x consumed value
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default void accept(int x) {
+    try {
+      checkedAccept(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexIntConsumer} parametrization
+   *
+   * @param <E> required exception limit
+   * @param consumer consumer to adopt
+   * @return {@code consumer} casted to the compatible parametrization
+   *     {@link RexIntConsumer}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexIntConsumer<E> castDown(RexIntConsumer<? extends E> consumer) {
+    return (RexIntConsumer<E>) consumer;
+  }
+}
@@ -0,0 +1,70 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.IntFunction;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * A function mapping an {@code int} argument to a result.
+ * <p>
+ * This interface bridges checked lambdas and {@link IntFunction} by
+ * wrapping checked exceptions raised during invocation of {@link #apply}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same argument yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApply}.
+ *
+ * @param <R> the function's result type
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexIntFunction<R, E extends Exception>
+    extends IntFunction<R> {
+
+  /**
+   * Apply the function to an argument.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws E checked exception raised
+   */
+  R checkedApply(int x) throws E;
+
+  /**
+   * Apply the function to an argument, wrap checked exceptions.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default R apply(int x) {
+    try {
+      return checkedApply(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexIntFunction} parametrization
+   *
+   * @param <R> required result type
+   * @param <E> required exception limit
+   * @param function function to adopt
+   * @return {@code function} casted to the compatible parametrization
+   *     {@link RexIntFunction}{@code <R, E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <R, E extends Exception>
+  RexIntFunction<R, E> castDown(RexIntFunction<? extends R, ? extends E> function) {
+    return (RexIntFunction<R, E>) function;
+  }
+}
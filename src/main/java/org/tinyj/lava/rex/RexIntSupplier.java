@@ -0,0 +1,66 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.IntSupplier;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * A supplier of {@code int} values.
+ * <p>
+ * This interface bridges checked lambdas and {@link IntSupplier} by
+ * wrapping checked exceptions raised during invocation of {@link #getAsInt}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * There is no requirement that a new or distinct result be returned each time
+ * the supplier is invoked.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedGetAsInt}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexIntSupplier<E extends Exception>
+    extends IntSupplier {
+
+  /**
+   * Produce a value.
+   *
+   * @return a value
+   * @throws E checked exception raised
+   */
+  int checkedGetAsInt() throws E;
+
+  /**
+   * Produce a value, wrap checked exceptions.
+   *
+   * @return a value
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default int getAsInt() {
+    try {
+      return checkedGetAsInt();
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexIntSupplier} parametrization
+   *
+   * @param <E> required exception limit
+   * @param supplier supplier to adopt
+   * @return {@code supplier} casted to the compatible parametrization
+   *     {@link RexIntSupplier}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexIntSupplier<E> castDown(RexIntSupplier<? extends E> supplier) {
+    return (RexIntSupplier<E>) supplier;
+  }
+}
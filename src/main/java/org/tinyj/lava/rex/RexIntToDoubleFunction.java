@@ -0,0 +1,68 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.IntToDoubleFunction;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * A function mapping an {@code int} argument to a {@code double} result.
+ * <p>
+ * This interface bridges checked lambdas and {@link IntToDoubleFunction} by
+ * wrapping checked exceptions raised during invocation of {@link #applyAsDouble}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same argument yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApplyAsDouble}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexIntToDoubleFunction<E extends Exception>
+    extends IntToDoubleFunction {
+
+  /**
+   * Apply the function to an argument.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws E checked exception raised
+   */
+  double checkedApplyAsDouble(int x) throws E;
+
+  /**
+   * Apply the function to an argument, wrap checked exceptions.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default double applyAsDouble(int x) {
+    try {
+      return checkedApplyAsDouble(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexIntToDoubleFunction} parametrization
+   *
+   * @param <E> required exception limit
+   * @param function function to adopt
+   * @return {@code function} casted to the compatible parametrization
+   *     {@link RexIntToDoubleFunction}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexIntToDoubleFunction<E> castDown(RexIntToDoubleFunction<? extends E> function) {
+    return (RexIntToDoubleFunction<E>) function;
+  }
+}
@@ -0,0 +1,68 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.IntUnaryOperator;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * An operation on a single {@code int} operand producing an {@code int} result.
+ * <p>
+ * This interface bridges checked lambdas and {@link IntUnaryOperator} by
+ * wrapping checked exceptions raised during invocation of {@link #applyAsInt}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same operand yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApplyAsInt}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexIntUnaryOperator<E extends Exception>
+    extends IntUnaryOperator {
+
+  /**
+   * Apply the operator to an operand.
+   *
+   * @param x the operand
+   * @return the operator's result
+   * @throws E checked exception raised
+   */
+  int checkedApplyAsInt(int x) throws E;
+
+  /**
+   * Apply the operator to an operand, wrap checked exceptions.
+   *
+   * @param x the operand
+   * @return the operator's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default int applyAsInt(int x) {
+    try {
+      return checkedApplyAsInt(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexIntUnaryOperator} parametrization
+   *
+   * @param <E> required exception limit
+   * @param operator operator to adopt
+   * @return {@code operator} casted to the compatible parametrization
+   *     {@link RexIntUnaryOperator}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexIntUnaryOperator<E> castDown(RexIntUnaryOperator<? extends E> operator) {
+    return (RexIntUnaryOperator<E>) operator;
+  }
+}
@@ -0,0 +1,70 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.LongBinaryOperator;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * An operation on two {@code long} operands producing a {@code long} result.
+ * <p>
+ * This interface bridges checked lambdas and {@link LongBinaryOperator} by
+ * wrapping checked exceptions raised during invocation of {@link #applyAsLong}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same operands yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApplyAsLong}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexLongBinaryOperator<E extends Exception>
+    extends LongBinaryOperator {
+
+  /**
+   * Apply the operator to the operands.
+   *
+   * @param x the first operand
+   * @param y the second operand
+   * @return the operator's result
+   * @throws E checked exception raised
+   */
+  long checkedApplyAsLong(long x, long y) throws E;
+
+  /**
+   * Apply the operator to the operands, wrap checked exceptions.
+   *
+   * @param x the first operand
+   * @param y the second operand
+   * @return the operator's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default long applyAsLong(long x, long y) {
+    try {
+      return checkedApplyAsLong(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexLongBinaryOperator} parametrization
+   *
+   * @param <E> required exception limit
+   * @param operator operator to adopt
+   * @return {@code operator} casted to the compatible parametrization
+   *     {@link RexLongBinaryOperator}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexLongBinaryOperator<E> castDown(RexLongBinaryOperator<? extends E> operator) {
+    return (RexLongBinaryOperator<E>) operator;
+  }
+}
@@ -0,0 +1,69 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.LongPredicate;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * A special kind of function mapping its {@code long} argument to a
+ * {@code boolean} result.
+ * <p>
+ * This interface bridges checked lambdas and {@link LongPredicate} by
+ * wrapping checked exceptions raised during invocation of {@link #test}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same argument yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedTest}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexLongPredicate<E extends Exception>
+    extends LongPredicate {
+
+  /**
+   * Test if the argument matches the predicate.
+   *
+   * @param x argument to the match
+   * @return {@code true} if {@code x} matches, {@code false} otherwise
+   * @throws E checked exception raised
+   */
+  boolean checkedTest(long x) throws E;
+
+  /**
+   * Test if the argument matches the predicate, wrap checked exceptions.
+   *
+   * @param x argument to the match
+   * @return {@code true} if {@code x} matches, {@code false} otherwise
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default boolean test(long x) {
+    try {
+      return checkedTest(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexLongPredicate} parametrization
+   *
+   * @param <E> required exception limit
+   * @param predicate predicate to adopt
+   * @return {@code predicate} casted to the compatible parametrization
+   *     {@link RexLongPredicate}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexLongPredicate<E> castDown(RexLongPredicate<? extends E> predicate) {
+    return (RexLongPredicate<E>) predicate;
+  }
+}
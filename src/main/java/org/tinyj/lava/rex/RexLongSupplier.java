@@ -0,0 +1,66 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.LongSupplier;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * A supplier of {@code long} values.
+ * <p>
+ * This interface bridges checked lambdas and {@link LongSupplier} by
+ * wrapping checked exceptions raised during invocation of {@link #getAsLong}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * There is no requirement that a new or distinct result be returned each time
+ * the supplier is invoked.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedGetAsLong}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexLongSupplier<E extends Exception>
+    extends LongSupplier {
+
+  /**
+   * Produce a value.
+   *
+   * @return a value
+   * @throws E checked exception raised
+   */
+  long checkedGetAsLong() throws E;
+
+  /**
+   * Produce a value, wrap checked exceptions.
+   *
+   * @return a value
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default long getAsLong() {
+    try {
+      return checkedGetAsLong();
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexLongSupplier} parametrization
+   *
+   * @param <E> required exception limit
+   * @param supplier supplier to adopt
+   * @return {@code supplier} casted to the compatible parametrization
+   *     {@link RexLongSupplier}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexLongSupplier<E> castDown(RexLongSupplier<? extends E> supplier) {
+    return (RexLongSupplier<E>) supplier;
+  }
+}
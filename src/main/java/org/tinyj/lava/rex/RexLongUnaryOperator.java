@@ -0,0 +1,68 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.LongUnaryOperator;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * An operation on a single {@code long} operand producing a {@code long} result.
+ * <p>
+ * This interface bridges checked lambdas and {@link LongUnaryOperator} by
+ * wrapping checked exceptions raised during invocation of {@link #applyAsLong}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same operand yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApplyAsLong}.
+ *
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexLongUnaryOperator<E extends Exception>
+    extends LongUnaryOperator {
+
+  /**
+   * Apply the operator to an operand.
+   *
+   * @param x the operand
+   * @return the operator's result
+   * @throws E checked exception raised
+   */
+  long checkedApplyAsLong(long x) throws E;
+
+  /**
+   * Apply the operator to an operand, wrap checked exceptions.
+   *
+   * @param x the operand
+   * @return the operator's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default long applyAsLong(long x) {
+    try {
+      return checkedApplyAsLong(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexLongUnaryOperator} parametrization
+   *
+   * @param <E> required exception limit
+   * @param operator operator to adopt
+   * @return {@code operator} casted to the compatible parametrization
+   *     {@link RexLongUnaryOperator}{@code <E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <E extends Exception>
+  RexLongUnaryOperator<E> castDown(RexLongUnaryOperator<? extends E> operator) {
+    return (RexLongUnaryOperator<E>) operator;
+  }
+}
@@ -0,0 +1,70 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.ObjDoubleConsumer;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * An operation on an object and a {@code double} input value.
+ * <p>
+ * This interface bridges checked lambdas and {@link ObjDoubleConsumer} by
+ * wrapping checked exceptions raised during invocation of {@link #accept}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * Usually invoking a consumer results in side effects. Subsequent
+ * invocations may or may not result in further side effects.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedAccept}.
+ *
+ * @param <X> consumed object type
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexObjDoubleConsumer<X, E extends Exception>
+    extends ObjDoubleConsumer<X> {
+
+  /**
+   * Perform operation on inputs.
+   *
+   * @param x consumed object
+   * @param y consumed {@code double} value
+   * @throws E checked exception raised
+   */
+  void checkedAccept(X x, double y) throws E;
+
+  /**
+   * Perform operation on inputs, wrap checked exceptions.
+   *
+   * @param x consumed object
+   * @param y consumed {@code double} value
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default void accept(X x, double y) {
+    try {
+      checkedAccept(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexObjDoubleConsumer} parametrization
+   *
+   * @param <X> accepted argument type
+   * @param <E> required exception limit
+   * @param consumer consumer to adopt
+   * @return {@code consumer} casted to the compatible parametrization
+   *     {@link RexObjDoubleConsumer}{@code <X, E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <X, E extends Exception>
+  RexObjDoubleConsumer<X, E> castDown(RexObjDoubleConsumer<? super X, ? extends E> consumer) {
+    return (RexObjDoubleConsumer<X, E>) consumer;
+  }
+}
@@ -0,0 +1,70 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.ObjLongConsumer;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * An operation on an object and a {@code long} input value.
+ * <p>
+ * This interface bridges checked lambdas and {@link ObjLongConsumer} by
+ * wrapping checked exceptions raised during invocation of {@link #accept}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * Usually invoking a consumer results in side effects. Subsequent
+ * invocations may or may not result in further side effects.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedAccept}.
+ *
+ * @param <X> consumed object type
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexObjLongConsumer<X, E extends Exception>
+    extends ObjLongConsumer<X> {
+
+  /**
+   * Perform operation on inputs.
+   *
+   * @param x consumed object
+   * @param y consumed {@code long} value
+   * @throws E checked exception raised
+   */
+  void checkedAccept(X x, long y) throws E;
+
+  /**
+   * Perform operation on inputs, wrap checked exceptions.
+   *
+   * @param x consumed object
+   * @param y consumed {@code long} value
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default void accept(X x, long y) {
+    try {
+      checkedAccept(x, y);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexObjLongConsumer} parametrization
+   *
+   * @param <X> accepted argument type
+   * @param <E> required exception limit
+   * @param consumer consumer to adopt
+   * @return {@code consumer} casted to the compatible parametrization
+   *     {@link RexObjLongConsumer}{@code <X, E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <X, E extends Exception>
+  RexObjLongConsumer<X, E> castDown(RexObjLongConsumer<? super X, ? extends E> consumer) {
+    return (RexObjLongConsumer<X, E>) consumer;
+  }
+}
@@ -5,7 +5,7 @@ import org.tinyj.lava.WrappedCheckedException;
 
 import java.util.function.Predicate;
 
-import static org.tinyj.lava.WrappedCheckedException.wrapCheckedException;
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
 
 /**
  * A special kind of function mapping its argument to a {@code boolean} result.
@@ -40,11 +40,59 @@ public interface RexPredicate<X, E extends Exception>
     try {
       return checkedTest(x);
     } catch (Exception e) {
-      throw wrapCheckedException(e);
+      throw wrapCheckedException(this, e);
     }
 
   }
 
+  /**
+   * Test if the argument matches the predicate, return checked exceptions
+   * as value. Allocates nothing on success.
+   *
+   * @param x argument to the match
+   * @return whether {@code x} matches or the checked exception raised
+   * @see Rex#attempt(org.tinyj.lava.LavaPredicate, Object)
+   */
+  default Attempt<Boolean, E> tryTest(X x) { return Rex.attempt(this, x); }
+
+  /**
+   * Compose a predicate matching if both this predicate and {@code other}
+   * match, evaluating {@code other} only if this predicate matched.
+   * <p>
+   * Unlike {@link #and(Predicate)} the composition is a {@link RexPredicate}
+   * keeping the exception limit and wrapping checked exceptions once.
+   * Conjunctions of conjunctions are flattened.
+   *
+   * @param other predicate to test if this predicate matched
+   * @return composed predicate
+   */
+  default RexPredicate<X, E> andChecked(LavaPredicate<? super X, ? extends E> other) {
+    return Fused.and(this, other);
+  }
+
+  /**
+   * Compose a predicate matching if either this predicate or {@code other}
+   * matches, evaluating {@code other} only if this predicate didn't match.
+   * <p>
+   * Unlike {@link #or(Predicate)} the composition is a {@link RexPredicate}
+   * keeping the exception limit and wrapping checked exceptions once.
+   * Disjunctions of disjunctions are flattened.
+   *
+   * @param other predicate to test if this predicate didn't match
+   * @return composed predicate
+   */
+  default RexPredicate<X, E> orChecked(LavaPredicate<? super X, ? extends E> other) {
+    return Fused.or(this, other);
+  }
+
+  /**
+   * Negating a negation returns the original predicate.
+   *
+   * @return predicate matching if this predicate doesn't
+   */
+  @Override
+  default RexPredicate<X, E> negate() { return Fused.negate(this); }
+
   /**
    * Safely casts between different {@link RexPredicate} parametrization
    *
@@ -3,7 +3,7 @@ package org.tinyj.lava.rex;
 import org.tinyj.lava.LavaRunnable;
 import org.tinyj.lava.WrappedCheckedException;
 
-import static org.tinyj.lava.WrappedCheckedException.wrapCheckedException;
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
 
 /**
  * A runnable task.
@@ -32,7 +32,11 @@ public interface RexRunnable<E extends Exception>
    */
   @Override
   default void run() {
-    wrapCheckedException(this);
+    try {
+      checkedRun();
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
   }
 
   /**
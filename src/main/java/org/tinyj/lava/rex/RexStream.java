@@ -0,0 +1,411 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.*;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Stream} facade accepting Lava lambdas.
+ * <p>
+ * Checked exceptions raised by the stages of a {@code RexStream} are
+ * tunneled through the underlying {@link Stream} and rethrown unchanged by
+ * the terminal operation, which declares {@code throws E}. There is no need
+ * to catch and unwrap a {@link WrappedCheckedException}.
+ * <p>
+ * E.g.
+ * <pre>{@code
+ * List<String> contents = RexStream.of(paths.stream(), IOException.class)
+ *     .map(Files::readAllBytes)
+ *     .map(String::new)
+ *     .toList();
+ * }</pre>
+ * <p>
+ * Each stage adds a single adapter to the underlying stream, the success
+ * path allocates nothing per element. Parallel streams are supported; if
+ * several elements fail the terminal operation rethrows one of the raised
+ * exceptions.
+ * <p>
+ * Like {@link Stream} a {@code RexStream} may be operated upon only once.
+ *
+ * @param <T> element type
+ * @param <E> upper limit of exception types raised by the stages
+ */
+public final class RexStream<T, E extends Exception> implements AutoCloseable {
+
+  private final Stream<T> stream;
+
+  private RexStream(Stream<T> stream) { this.stream = stream; }
+
+  /**
+   * Create a {@code RexStream} over {@code stream}.
+   *
+   * @param <T> element type
+   * @param <E> upper exception limit
+   * @param stream underlying stream
+   * @return {@code RexStream} over {@code stream}
+   */
+  public static <T, E extends Exception> RexStream<T, E>
+  of(Stream<T> stream) { return new RexStream<>(Objects.requireNonNull(stream, "stream")); }
+
+  /**
+   * Create a {@code RexStream} over {@code stream}. This is equivalent to
+   * {@link #of(Stream)} but simplifies stating the exception limit.
+   *
+   * @param <T> element type
+   * @param <E> upper exception limit
+   * @param stream underlying stream
+   * @param exceptionType upper exception limit
+   * @return {@code RexStream} over {@code stream}
+   */
+  public static <T, E extends Exception> RexStream<T, E>
+  of(Stream<T> stream, Class<E> exceptionType) { return of(stream); }
+
+  /**
+   * Create a {@code RexStream} drawing its elements from a cursor-like
+   * {@code source}, see {@link Rex#stream(LavaSupplier)}. Checked exceptions
+   * raised by {@code source} are rethrown unchanged by the terminal
+   * operation.
+   *
+   * @param <T> element type
+   * @param <E> upper exception limit
+   * @param source supplier of the elements, returning
+   *               {@link Optional#empty()} once exhausted
+   * @return {@code RexStream} of the elements supplied by {@code source}
+   */
+  public static <T, E extends Exception> RexStream<T, E>
+  generate(LavaSupplier<? extends Optional<? extends T>, ? extends E> source) { return generate(source, 0); }
+
+  /**
+   * Create a {@code RexStream} drawing its elements from a cursor-like
+   * {@code source}, fetching up to {@code prefetch} elements ahead, see
+   * {@link Rex#stream(LavaSupplier, int)}. Checked exceptions raised by
+   * {@code source} are rethrown unchanged by the terminal operation.
+   *
+   * @param <T> element type
+   * @param <E> upper exception limit
+   * @param source supplier of the elements, returning
+   *               {@link Optional#empty()} once exhausted
+   * @param prefetch maximum number of elements fetched ahead, {@code 0} to
+   *                 fetch on demand
+   * @return {@code RexStream} of the elements supplied by {@code source}
+   * @throws IllegalArgumentException if {@code prefetch} is negative
+   */
+  public static <T, E extends Exception> RexStream<T, E>
+  generate(LavaSupplier<? extends Optional<? extends T>, ? extends E> source, int prefetch) {
+    return new RexStream<>(SourceSpliterator.stream(source, Tunnel::new, prefetch));
+  }
+
+  /**
+   * @param <R> result element type
+   * @param mapper function to apply to each element
+   * @return stream of the mapped elements
+   * @see Stream#map
+   */
+  public <R> RexStream<R, E> map(LavaFunction<? super T, ? extends R, ? extends E> mapper) {
+    return new RexStream<>(stream.map(function(mapper)));
+  }
+
+  /**
+   * @param <R> result element type
+   * @param mapper function mapping each element to a stream of new elements
+   * @return stream of the elements of the mapped streams
+   * @see Stream#flatMap
+   */
+  public <R> RexStream<R, E> flatMap(LavaFunction<? super T, ? extends Stream<? extends R>, ? extends E> mapper) {
+    return new RexStream<>(stream.flatMap(function(mapper)));
+  }
+
+  /**
+   * @param predicate predicate selecting the elements to keep
+   * @return stream of the matching elements
+   * @see Stream#filter
+   */
+  public RexStream<T, E> filter(LavaPredicate<? super T, ? extends E> predicate) {
+    return new RexStream<>(stream.filter(predicate(predicate)));
+  }
+
+  /**
+   * @param action action to perform on each element as it is consumed
+   * @return stream of the same elements
+   * @see Stream#peek
+   */
+  public RexStream<T, E> peek(LavaConsumer<? super T, ? extends E> action) {
+    return new RexStream<>(stream.peek(consumer(action)));
+  }
+
+  /**
+   * @return stream of the distinct elements
+   * @see Stream#distinct
+   */
+  public RexStream<T, E> distinct() { return new RexStream<>(stream.distinct()); }
+
+  /**
+   * @param comparator order of the elements
+   * @return stream of the sorted elements
+   * @see Stream#sorted(Comparator)
+   */
+  public RexStream<T, E> sorted(Comparator<? super T> comparator) { return new RexStream<>(stream.sorted(comparator)); }
+
+  /**
+   * @param maxSize maximum number of elements
+   * @return stream truncated to {@code maxSize} elements
+   * @see Stream#limit
+   */
+  public RexStream<T, E> limit(long maxSize) { return new RexStream<>(stream.limit(maxSize)); }
+
+  /**
+   * @param n number of leading elements to skip
+   * @return stream of the remaining elements
+   * @see Stream#skip
+   */
+  public RexStream<T, E> skip(long n) { return new RexStream<>(stream.skip(n)); }
+
+  /**
+   * @return parallel stream of the same elements
+   * @see Stream#parallel
+   */
+  public RexStream<T, E> parallel() { return new RexStream<>(stream.parallel()); }
+
+  /**
+   * @return sequential stream of the same elements
+   * @see Stream#sequential
+   */
+  public RexStream<T, E> sequential() { return new RexStream<>(stream.sequential()); }
+
+  /**
+   * @return unordered stream of the same elements
+   * @see Stream#unordered
+   */
+  public RexStream<T, E> unordered() { return new RexStream<>(stream.unordered()); }
+
+  /**
+   * @return {@code true} if terminal operations execute in parallel
+   * @see Stream#isParallel
+   */
+  public boolean isParallel() { return stream.isParallel(); }
+
+  /**
+   * @param action action to perform on each element
+   * @throws E exception raised by any stage
+   * @see Stream#forEach
+   */
+  public void forEach(LavaConsumer<? super T, ? extends E> action) throws E {
+    try {
+      stream.forEach(consumer(action));
+    } catch (RuntimeException e) {
+      throw untunnel(e);
+    }
+  }
+
+  /**
+   * @param action action to perform on each element in encounter order
+   * @throws E exception raised by any stage
+   * @see Stream#forEachOrdered
+   */
+  public void forEachOrdered(LavaConsumer<? super T, ? extends E> action) throws E {
+    try {
+      stream.forEachOrdered(consumer(action));
+    } catch (RuntimeException e) {
+      throw untunnel(e);
+    }
+  }
+
+  /**
+   * @param <A> intermediate accumulation type
+   * @param <R> result type
+   * @param collector reduction to perform
+   * @return the reduction's result
+   * @throws E exception raised by any stage
+   * @see Stream#collect(Collector)
+   */
+  public <R, A> R collect(Collector<? super T, A, R> collector) throws E {
+    return terminal(s -> s.collect(collector));
+  }
+
+  /**
+   * @return list of the elements in encounter order
+   * @throws E exception raised by any stage
+   */
+  public List<T> toList() throws E { return collect(Collectors.toList()); }
+
+  /**
+   * @param identity identity of {@code accumulator}
+   * @param accumulator associative function combining two values
+   * @return the reduction's result
+   * @throws E exception raised by any stage or {@code accumulator}
+   * @see Stream#reduce(Object, java.util.function.BinaryOperator)
+   */
+  public T reduce(T identity, LavaBiFunction<T, T, T, ? extends E> accumulator) throws E {
+    return terminal(s -> s.reduce(identity, binaryOperator(accumulator)));
+  }
+
+  /**
+   * @return number of elements
+   * @throws E exception raised by any stage
+   * @see Stream#count
+   */
+  public long count() throws E { return terminal(Stream::count); }
+
+  /**
+   * @param predicate predicate to match
+   * @return {@code true} if any element matches
+   * @throws E exception raised by any stage or {@code predicate}
+   * @see Stream#anyMatch
+   */
+  public boolean anyMatch(LavaPredicate<? super T, ? extends E> predicate) throws E {
+    return terminal(s -> s.anyMatch(predicate(predicate)));
+  }
+
+  /**
+   * @param predicate predicate to match
+   * @return {@code true} if all elements match
+   * @throws E exception raised by any stage or {@code predicate}
+   * @see Stream#allMatch
+   */
+  public boolean allMatch(LavaPredicate<? super T, ? extends E> predicate) throws E {
+    return terminal(s -> s.allMatch(predicate(predicate)));
+  }
+
+  /**
+   * @param predicate predicate to match
+   * @return {@code true} if no element matches
+   * @throws E exception raised by any stage or {@code predicate}
+   * @see Stream#noneMatch
+   */
+  public boolean noneMatch(LavaPredicate<? super T, ? extends E> predicate) throws E {
+    return terminal(s -> s.noneMatch(predicate(predicate)));
+  }
+
+  /**
+   * @return the first element, if any
+   * @throws E exception raised by any stage
+   * @see Stream#findFirst
+   */
+  public Optional<T> findFirst() throws E { return terminal(Stream::findFirst); }
+
+  /**
+   * @return any element, if any
+   * @throws E exception raised by any stage
+   * @see Stream#findAny
+   */
+  public Optional<T> findAny() throws E { return terminal(Stream::findAny); }
+
+  /**
+   * @param comparator order of the elements
+   * @return the minimal element, if any
+   * @throws E exception raised by any stage
+   * @see Stream#min
+   */
+  public Optional<T> min(Comparator<? super T> comparator) throws E { return terminal(s -> s.min(comparator)); }
+
+  /**
+   * @param comparator order of the elements
+   * @return the maximal element, if any
+   * @throws E exception raised by any stage
+   * @see Stream#max
+   */
+  public Optional<T> max(Comparator<? super T> comparator) throws E { return terminal(s -> s.max(comparator)); }
+
+  /**
+   * @return array of the elements
+   * @throws E exception raised by any stage
+   * @see Stream#toArray()
+   */
+  public Object[] toArray() throws E { return terminal(Stream::toArray); }
+
+  /**
+   * Close the underlying stream, running its close handlers.
+   *
+   * @see Stream#close
+   */
+  @Override
+  public void close() { stream.close(); }
+
+  private <R> R terminal(Function<Stream<T>, R> operation) throws E {
+    try {
+      return operation.apply(stream);
+    } catch (RuntimeException e) {
+      throw untunnel(e);
+    }
+  }
+
+  /**
+   * Restore the exception tunneled through {@code e}. A tunnel raised in
+   * another thread of a parallel stream may have been wrapped by the
+   * fork/join framework, so its cause is checked as well.
+   */
+  @SuppressWarnings("unchecked")
+  private E untunnel(RuntimeException e) {
+    if (e instanceof Tunnel) {
+      return (E) e.getCause();
+    }
+    if (e.getCause() instanceof Tunnel) {
+      return (E) e.getCause().getCause();
+    }
+    throw e;
+  }
+
+  private static <X, R> Function<X, R> function(LavaFunction<? super X, ? extends R, ?> function) {
+    return x -> {
+      try {
+        return function.checkedApply(x);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new Tunnel(e);
+      }
+    };
+  }
+
+  private static <X> BinaryOperator<X> binaryOperator(LavaBiFunction<X, X, X, ?> operator) {
+    return (x, y) -> {
+      try {
+        return operator.checkedApply(x, y);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new Tunnel(e);
+      }
+    };
+  }
+
+  private static <X> Predicate<X> predicate(LavaPredicate<? super X, ?> predicate) {
+    return x -> {
+      try {
+        return predicate.checkedTest(x);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new Tunnel(e);
+      }
+    };
+  }
+
+  private static <X> Consumer<X> consumer(LavaConsumer<? super X, ?> action) {
+    return x -> {
+      try {
+        action.checkedAccept(x);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new Tunnel(e);
+      }
+    };
+  }
+
+  /**
+   * Carries a checked exception through the underlying stream. Captures no
+   * stack trace and has no public constructor, so the fork/join framework
+   * rethrows it as is.
+   */
+  private static final class Tunnel extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private Tunnel(Exception cause) { super(null, cause, false, false); }
+  }
+}
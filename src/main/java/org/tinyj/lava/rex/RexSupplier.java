@@ -5,7 +5,7 @@ import org.tinyj.lava.WrappedCheckedException;
 
 import java.util.function.Supplier;
 
-import static org.tinyj.lava.WrappedCheckedException.wrapCheckedException;
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
 
 /**
  * A supplier of values.
@@ -36,9 +36,21 @@ public interface RexSupplier<R, E extends Exception>
    */
   @Override
   default R get() {
-    return wrapCheckedException(this);
+    try {
+      return checkedGet();
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
   }
 
+  /**
+   * Produce a value, return checked exceptions as value.
+   *
+   * @return a value or the checked exception raised
+   * @see Rex#attempt(org.tinyj.lava.LavaSupplier)
+   */
+  default Attempt<R, E> tryGet() { return Rex.attempt(this); }
+
   /**
    * Safely casts between different {@link RexSupplier} parametrization
    *
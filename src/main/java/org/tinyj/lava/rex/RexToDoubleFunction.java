@@ -0,0 +1,70 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.ToDoubleFunction;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * A function mapping its argument to a {@code double} result.
+ * <p>
+ * This interface bridges checked lambdas and {@link ToDoubleFunction} by
+ * wrapping checked exceptions raised during invocation of {@link #applyAsDouble}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same argument yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApplyAsDouble}.
+ *
+ * @param <X> the function's argument type
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexToDoubleFunction<X, E extends Exception>
+    extends ToDoubleFunction<X> {
+
+  /**
+   * Apply the function to an argument.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws E checked exception raised
+   */
+  double checkedApplyAsDouble(X x) throws E;
+
+  /**
+   * Apply the function to an argument, wrap checked exceptions.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default double applyAsDouble(X x) {
+    try {
+      return checkedApplyAsDouble(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexToDoubleFunction} parametrization
+   *
+   * @param <X> accepted argument type
+   * @param <E> required exception limit
+   * @param function function to adopt
+   * @return {@code function} casted to the compatible parametrization
+   *     {@link RexToDoubleFunction}{@code <X, E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <X, E extends Exception>
+  RexToDoubleFunction<X, E> castDown(RexToDoubleFunction<? super X, ? extends E> function) {
+    return (RexToDoubleFunction<X, E>) function;
+  }
+}
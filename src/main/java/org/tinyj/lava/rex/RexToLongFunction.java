@@ -0,0 +1,70 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.util.function.ToLongFunction;
+
+import static org.tinyj.lava.rex.StackTracePolicy.wrapCheckedException;
+
+/**
+ * A function mapping its argument to a {@code long} result.
+ * <p>
+ * This interface bridges checked lambdas and {@link ToLongFunction} by
+ * wrapping checked exceptions raised during invocation of {@link #applyAsLong}
+ * into a {@link WrappedCheckedException}. Arguments and results are passed
+ * unboxed.
+ * <p>
+ * While not strictly required it usually is expected that subsequent
+ * invocations with the same argument yield equal results.
+ * <p>
+ * This is a functional interface whose functional method is
+ * {@link #checkedApplyAsLong}.
+ *
+ * @param <X> the function's argument type
+ * @param <E> upper limit of thrown exception types
+ */
+@FunctionalInterface
+public interface RexToLongFunction<X, E extends Exception>
+    extends ToLongFunction<X> {
+
+  /**
+   * Apply the function to an argument.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws E checked exception raised
+   */
+  long checkedApplyAsLong(X x) throws E;
+
+  /**
+   * Apply the function to an argument, wrap checked exceptions.
+   *
+   * @param x argument to map
+   * @return the function's result
+   * @throws RuntimeException Checked exception raised during invocation will be
+   *     wrapped in a {@link WrappedCheckedException}.
+   */
+  @Override
+  default long applyAsLong(X x) {
+    try {
+      return checkedApplyAsLong(x);
+    } catch (Exception e) {
+      throw wrapCheckedException(this, e);
+    }
+  }
+
+  /**
+   * Safely casts between different {@link RexToLongFunction} parametrization
+   *
+   * @param <X> accepted argument type
+   * @param <E> required exception limit
+   * @param function function to adopt
+   * @return {@code function} casted to the compatible parametrization
+   *     {@link RexToLongFunction}{@code <X, E>}
+   */
+  @SuppressWarnings("unchecked")
+  static <X, E extends Exception>
+  RexToLongFunction<X, E> castDown(RexToLongFunction<? super X, ? extends E> function) {
+    return (RexToLongFunction<X, E>) function;
+  }
+}
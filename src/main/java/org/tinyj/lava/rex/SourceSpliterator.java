@@ -0,0 +1,224 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.LavaSupplier;
+
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Spliterator drawing its elements from a cursor-like source, a supplier
+ * returning {@link Optional#empty()} once it is exhausted.
+ * <p>
+ * Splitting copies batches of elements into arrays, growing the batch by
+ * {@link #BATCH_UNIT} each time, so parallel streams get independent work
+ * while the source itself is only ever accessed by one thread at a time.
+ * <p>
+ * With a positive {@code prefetch} the source is drained by a background
+ * task running on a {@link VirtualThreads virtual thread} into a bounded
+ * queue. The task starts with the first element requested and stops once
+ * the source is exhausted or fails, or when the stream is closed. A failure
+ * of the source is raised by the consuming thread after the elements
+ * fetched before.
+ *
+ * @param <T> element type
+ */
+final class SourceSpliterator<T> implements Spliterator<T> {
+
+  static final int BATCH_UNIT = 1 << 10;
+  static final int MAX_BATCH = 1 << 25;
+
+  private static final int CHARACTERISTICS = ORDERED | NONNULL;
+  private static final Object END = new Object();
+
+  private final LavaSupplier<? extends Optional<? extends T>, ?> source;
+  private final Function<Exception, RuntimeException> wrap;
+  private final int prefetch;
+
+  private BlockingQueue<Object> queue;
+  private Future<?> producer;
+  private volatile boolean closed;
+  private boolean exhausted;
+  private int batch;
+
+  private SourceSpliterator(LavaSupplier<? extends Optional<? extends T>, ?> source,
+                            Function<Exception, RuntimeException> wrap, int prefetch) {
+    this.source = source;
+    this.wrap = wrap;
+    this.prefetch = prefetch;
+  }
+
+  /**
+   * Create a sequential stream over {@code source}, closing the stream stops
+   * prefetching.
+   *
+   * @param wrap converts checked exceptions raised by {@code source}
+   * @param prefetch number of elements to fetch ahead, {@code 0} to fetch
+   *                 on demand
+   */
+  static <T> Stream<T> stream(LavaSupplier<? extends Optional<? extends T>, ?> source,
+                              Function<Exception, RuntimeException> wrap, int prefetch) {
+    if (source == null) {
+      throw new NullPointerException("source");
+    }
+    if (prefetch < 0) {
+      throw new IllegalArgumentException("prefetch must not be negative: " + prefetch);
+    }
+    final SourceSpliterator<T> spliterator = new SourceSpliterator<>(source, wrap, prefetch);
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    final Object next = next();
+    if (next == END) {
+      return false;
+    }
+    action.accept(element(next));
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    for (Object next = next(); next != END; next = next()) {
+      action.accept(element(next));
+    }
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    if (exhausted) {
+      return null;
+    }
+    final int n = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+    final Object[] elements = new Object[n];
+    int j = 0;
+    for (Object next; j < n && (next = next()) != END; ) {
+      elements[j++] = next;
+    }
+    batch = j;
+    return j == 0 ? null : Spliterators.spliterator(elements, 0, j, CHARACTERISTICS);
+  }
+
+  @Override
+  public long estimateSize() { return exhausted ? 0 : Long.MAX_VALUE; }
+
+  @Override
+  public int characteristics() { return CHARACTERISTICS; }
+
+  /**
+   * Stop prefetching, elements already fetched are discarded.
+   */
+  synchronized void close() {
+    closed = true;
+    if (producer != null) {
+      producer.cancel(true);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T element(Object next) { return (T) next; }
+
+  private Object next() {
+    if (exhausted) {
+      return END;
+    }
+    final Object next = prefetch > 0 ? take() : fetch();
+    if (next == END) {
+      exhausted = true;
+    }
+    return next;
+  }
+
+  private Object fetch() {
+    final Optional<? extends T> next;
+    try {
+      next = source.checkedGet();
+    } catch (Exception e) {
+      exhausted = true;
+      throw e instanceof RuntimeException ? (RuntimeException) e : wrap.apply(e);
+    }
+    if (next == null) {
+      exhausted = true;
+      throw new NullPointerException("source returned null instead of Optional.empty()");
+    }
+    return next.isPresent() ? next.get() : END;
+  }
+
+  private Object take() {
+    if (queue == null) {
+      start();
+    }
+    final Object next;
+    try {
+      next = queue.take();
+    } catch (InterruptedException e) {
+      close();
+      exhausted = true;
+      Thread.currentThread().interrupt();
+      final CancellationException cancellation = new CancellationException("interrupted while waiting for the source");
+      cancellation.initCause(e);
+      throw cancellation;
+    }
+    if (next instanceof Failure) {
+      exhausted = true;
+      final Throwable failure = ((Failure) next).failure;
+      if (failure instanceof Error) {
+        throw (Error) failure;
+      }
+      throw failure instanceof RuntimeException ? (RuntimeException) failure : wrap.apply((Exception) failure);
+    }
+    return next;
+  }
+
+  private synchronized void start() {
+    if (closed) {
+      throw new IllegalStateException("stream has been closed");
+    }
+    queue = new ArrayBlockingQueue<>(prefetch);
+    producer = VirtualThreads.executor().submit(this::produce);
+  }
+
+  /**
+   * Drain the source into the queue. Runs until the source is exhausted or
+   * fails, or until the producer is cancelled.
+   */
+  private void produce() {
+    final BlockingQueue<Object> queue = this.queue;
+    try {
+      try {
+        for (Optional<? extends T> next = source.checkedGet(); !closed; next = source.checkedGet()) {
+          if (next == null) {
+            throw new NullPointerException("source returned null instead of Optional.empty()");
+          }
+          if (!next.isPresent()) {
+            queue.put(END);
+            return;
+          }
+          queue.put(next.get());
+        }
+      } catch (Throwable e) {
+        if (!closed) {
+          queue.put(new Failure(e));
+        }
+      }
+    } catch (InterruptedException e) {
+      // cancelled
+    }
+  }
+
+  private static final class Failure {
+
+    final Throwable failure;
+
+    Failure(Throwable failure) { this.failure = failure; }
+  }
+}
@@ -0,0 +1,511 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Controls whether a {@link WrappedCheckedException} created by the Rex
+ * bridges captures a stack trace.
+ * <p>
+ * Walking the stack usually dominates the cost of wrapping a checked
+ * exception. Since the wrapped exception is available as
+ * {@link WrappedCheckedException#getCause() cause} and carries its own
+ * stack trace, the wrapper's stack trace often is redundant. Wrappers
+ * created without stack trace are still instances of
+ * {@link WrappedCheckedException}, so existing catch blocks keep working.
+ * <p>
+ * The {@link #getDefault() default policy} is used by the default methods
+ * of all Rex interfaces and initially is {@link #full()}. A policy can
+ * also be applied to a single lambda using the {@code rex} methods of this
+ * class, e.g. {@code StackTracePolicy.none().rex(checkedFunction)}.
+ * <p>
+ * Before wrapping, a checked exception is offered to an
+ * {@link ExceptionTranslator}, either the one attached to the policy using
+ * {@link #translating(ExceptionTranslator)} or the
+ * {@link ExceptionTranslator#getDefault() default translator}.
+ */
+public final class StackTracePolicy {
+
+  private static final StackTracePolicy FULL = new StackTracePolicy(1, null);
+  private static final StackTracePolicy NONE = new StackTracePolicy(0, null);
+
+  private static volatile StackTracePolicy defaultPolicy = FULL;
+
+  private final int sampleRate;
+  private final ExceptionTranslator translator;
+
+  private StackTracePolicy(int sampleRate, ExceptionTranslator translator) {
+    this.sampleRate = sampleRate;
+    this.translator = translator;
+  }
+
+  /**
+   * Every wrapper captures a full stack trace.
+   *
+   * @return policy capturing all stack traces
+   */
+  public static StackTracePolicy full() { return FULL; }
+
+  /**
+   * No wrapper captures a stack trace, {@code fillInStackTrace} is never
+   * invoked.
+   *
+   * @return policy capturing no stack traces
+   */
+  public static StackTracePolicy none() { return NONE; }
+
+  /**
+   * On average one in {@code n} wrappers captures a full stack trace, the
+   * others are stackless.
+   *
+   * @param n sample rate, {@code 1} is equivalent to {@link #full()}
+   * @return policy capturing a sample of stack traces
+   * @throws IllegalArgumentException if {@code n} is less than {@code 1}
+   */
+  public static StackTracePolicy sampled(int n) {
+    if (n < 1) {
+      throw new IllegalArgumentException("sample rate must be positive: " + n);
+    }
+    return n == 1 ? FULL : new StackTracePolicy(n, null);
+  }
+
+  /**
+   * Derive a policy translating checked exceptions using {@code translator}
+   * instead of the {@link ExceptionTranslator#getDefault() default
+   * translator}. Exceptions not translated are wrapped according to this
+   * policy.
+   *
+   * @param translator translator to use, {@code null} to use the default
+   *                   translator
+   * @return policy using {@code translator}
+   */
+  public StackTracePolicy translating(ExceptionTranslator translator) {
+    return translator == this.translator ? this : new StackTracePolicy(sampleRate, translator);
+  }
+
+  /**
+   * @return the policy used by the default methods of the Rex interfaces
+   */
+  public static StackTracePolicy getDefault() { return defaultPolicy; }
+
+  /**
+   * Set the policy used by the default methods of the Rex interfaces.
+   *
+   * @param policy the new default policy
+   */
+  public static void setDefault(StackTracePolicy policy) {
+    if (policy == null) {
+      throw new NullPointerException("policy");
+    }
+    defaultPolicy = policy;
+  }
+
+  /**
+   * Wrap a checked exception according to the {@link #getDefault() default
+   * policy}, unchecked exceptions are returned as they are.
+   *
+   * @param e exception to wrap
+   * @return {@code e} if unchecked, its translation if translated, a
+   *     {@link WrappedCheckedException} wrapping {@code e} otherwise
+   */
+  public static RuntimeException wrapCheckedException(Exception e) { return defaultPolicy.wrap(null, e); }
+
+  /**
+   * Wrap a checked exception raised by {@code lambda} according to the
+   * default policy.
+   */
+  static RuntimeException wrapCheckedException(Object lambda, Exception e) { return defaultPolicy.wrap(lambda, e); }
+
+  /**
+   * Wrap a checked exception according to this policy, unchecked exceptions
+   * are returned as they are.
+   *
+   * @param e exception to wrap
+   * @return {@code e} if unchecked, its translation if translated, a
+   *     {@link WrappedCheckedException} wrapping {@code e} otherwise
+   */
+  public RuntimeException wrap(Exception e) { return wrap(null, e); }
+
+  RuntimeException wrap(Object lambda, Exception e) {
+    if (e instanceof RuntimeException) {
+      return (RuntimeException) e;
+    }
+    RexEvents.checkedExceptionWrapped(lambda, e);
+    final RuntimeException translated =
+        (translator != null ? translator : ExceptionTranslator.getDefault()).translate(e);
+    if (translated != null) {
+      return translated;
+    }
+    return captureStackTrace()
+        ? WrappedCheckedException.wrapCheckedException(e)
+        : new StacklessWrappedCheckedException(e);
+  }
+
+  private boolean captureStackTrace() {
+    return sampleRate == 1
+        || sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+  }
+
+  /**
+   * Bridge {@link LavaRunnable} to {@link Runnable} by
+   * wrapping checked exceptions raised according to this policy.
+   * <p>
+   * If {@code checked} already is bridged by this policy it is returned as
+   * is. If it is bridged by another policy that bridge is replaced.
+   *
+   * @param <E> upper exception limit
+   * @param checked {@link LavaRunnable} to wrap
+   * @return {@link RexRunnable} wrapping {@code checked}
+   */
+  public <E extends Exception> RexRunnable<E>
+  rex(LavaRunnable<? extends E> checked) {
+    return bridges(checked)
+        ? RexRunnable.castDown((RexRunnable<? extends E>) checked)
+        : new RunnableBridge<>(this, unwrap(checked));
+  }
+
+  /**
+   * Bridge {@link LavaConsumer} to {@link java.util.function.Consumer} by
+   * wrapping checked exceptions raised according to this policy.
+   * <p>
+   * If {@code checked} already is bridged by this policy it is returned as
+   * is. If it is bridged by another policy that bridge is replaced.
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaConsumer} to wrap
+   * @return {@link RexConsumer} wrapping {@code checked}
+   */
+  public <X, E extends Exception> RexConsumer<X, E>
+  rex(LavaConsumer<? super X, ? extends E> checked) {
+    return bridges(checked)
+        ? RexConsumer.castDown((RexConsumer<? super X, ? extends E>) checked)
+        : new ConsumerBridge<>(this, unwrap(checked));
+  }
+
+  /**
+   * Bridge {@link LavaBiConsumer} to {@link java.util.function.BiConsumer} by
+   * wrapping checked exceptions raised according to this policy.
+   * <p>
+   * If {@code checked} already is bridged by this policy it is returned as
+   * is. If it is bridged by another policy that bridge is replaced.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaBiConsumer} to wrap
+   * @return {@link RexBiConsumer} wrapping {@code checked}
+   */
+  public <X, Y, E extends Exception> RexBiConsumer<X, Y, E>
+  rex(LavaBiConsumer<? super X, ? super Y, ? extends E> checked) {
+    return bridges(checked)
+        ? RexBiConsumer.castDown((RexBiConsumer<? super X, ? super Y, ? extends E>) checked)
+        : new BiConsumerBridge<>(this, unwrap(checked));
+  }
+
+  /**
+   * Bridge {@link LavaSupplier} to {@link java.util.function.Supplier} by
+   * wrapping checked exceptions raised according to this policy.
+   * <p>
+   * If {@code checked} already is bridged by this policy it is returned as
+   * is. If it is bridged by another policy that bridge is replaced.
+   *
+   * @param <R> return type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaSupplier} to wrap
+   * @return {@link RexSupplier} wrapping {@code checked}
+   */
+  public <R, E extends Exception> RexSupplier<R, E>
+  rex(LavaSupplier<? extends R, ? extends E> checked) {
+    return bridges(checked)
+        ? RexSupplier.castDown((RexSupplier<? extends R, ? extends E>) checked)
+        : new SupplierBridge<>(this, unwrap(checked));
+  }
+
+  /**
+   * Bridge {@link LavaFunction} to {@link java.util.function.Function} by
+   * wrapping checked exceptions raised according to this policy.
+   * <p>
+   * If {@code checked} already is bridged by this policy it is returned as
+   * is. If it is bridged by another policy that bridge is replaced.
+   *
+   * @param <X> parameter type
+   * @param <R> return type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaFunction} to wrap
+   * @return {@link RexFunction} wrapping {@code checked}
+   */
+  public <X, R, E extends Exception> RexFunction<X, R, E>
+  rex(LavaFunction<? super X, ? extends R, ? extends E> checked) {
+    return bridges(checked)
+        ? RexFunction.castDown((RexFunction<? super X, ? extends R, ? extends E>) checked)
+        : new FunctionBridge<>(this, unwrap(checked));
+  }
+
+  /**
+   * Bridge {@link LavaBiFunction} to {@link java.util.function.BiFunction} by
+   * wrapping checked exceptions raised according to this policy.
+   * <p>
+   * If {@code checked} already is bridged by this policy it is returned as
+   * is. If it is bridged by another policy that bridge is replaced.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param <R> return type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaBiFunction} to wrap
+   * @return {@link RexBiFunction} wrapping {@code checked}
+   */
+  public <X, Y, R, E extends Exception> RexBiFunction<X, Y, R, E>
+  rex(LavaBiFunction<? super X, ? super Y, ? extends R, ? extends E> checked) {
+    return bridges(checked)
+        ? RexBiFunction.castDown((RexBiFunction<? super X, ? super Y, ? extends R, ? extends E>) checked)
+        : new BiFunctionBridge<>(this, unwrap(checked));
+  }
+
+  /**
+   * Bridge {@link LavaCondition} to {@link java.util.function.BooleanSupplier}
+   * by wrapping checked exceptions raised according to this policy.
+   * <p>
+   * If {@code checked} already is bridged by this policy it is returned as
+   * is. If it is bridged by another policy that bridge is replaced.
+   *
+   * @param <E> upper exception limit
+   * @param checked {@link LavaCondition} to wrap
+   * @return {@link RexCondition} wrapping {@code checked}
+   */
+  public <E extends Exception> RexCondition<E>
+  rex(LavaCondition<? extends E> checked) {
+    return bridges(checked)
+        ? RexCondition.castDown((RexCondition<? extends E>) checked)
+        : new ConditionBridge<>(this, unwrap(checked));
+  }
+
+  /**
+   * Bridge {@link LavaPredicate} to {@link java.util.function.Predicate} by
+   * wrapping checked exceptions raised according to this policy.
+   * <p>
+   * If {@code checked} already is bridged by this policy it is returned as
+   * is. If it is bridged by another policy that bridge is replaced.
+   *
+   * @param <X> parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaPredicate} to wrap
+   * @return {@link RexPredicate} wrapping {@code checked}
+   */
+  public <X, E extends Exception> RexPredicate<X, E>
+  rex(LavaPredicate<? super X, ? extends E> checked) {
+    return bridges(checked)
+        ? RexPredicate.castDown((RexPredicate<? super X, ? extends E>) checked)
+        : new PredicateBridge<>(this, unwrap(checked));
+  }
+
+  /**
+   * Bridge {@link LavaBiPredicate} to {@link java.util.function.BiPredicate}
+   * by wrapping checked exceptions raised according to this policy.
+   * <p>
+   * If {@code checked} already is bridged by this policy it is returned as
+   * is. If it is bridged by another policy that bridge is replaced.
+   *
+   * @param <X> first parameter type
+   * @param <Y> second parameter type
+   * @param <E> upper exception limit
+   * @param checked {@link LavaBiPredicate} to wrap
+   * @return {@link RexBiPredicate} wrapping {@code checked}
+   */
+  public <X, Y, E extends Exception> RexBiPredicate<X, Y, E>
+  rex(LavaBiPredicate<? super X, ? super Y, ? extends E> checked) {
+    return bridges(checked)
+        ? RexBiPredicate.castDown((RexBiPredicate<? super X, ? super Y, ? extends E>) checked)
+        : new BiPredicateBridge<>(this, unwrap(checked));
+  }
+
+  private boolean bridges(Object checked) {
+    return checked instanceof Bridge && ((Bridge<?>) checked).policy == this;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <L> L unwrap(L checked) {
+    return checked instanceof Bridge ? ((Bridge<L>) checked).checked : checked;
+  }
+
+  /**
+   * Common state of the Rex lambdas bridging a Lava lambda under a specific
+   * policy.
+   *
+   * @param <L> type of the bridged Lava lambda
+   */
+  private abstract static class Bridge<L> {
+
+    final StackTracePolicy policy;
+    final L checked;
+
+    Bridge(StackTracePolicy policy, L checked) {
+      this.policy = policy;
+      this.checked = checked;
+    }
+  }
+
+  private static final class RunnableBridge<E extends Exception>
+      extends Bridge<LavaRunnable<? extends E>> implements RexRunnable<E> {
+
+    RunnableBridge(StackTracePolicy policy, LavaRunnable<? extends E> checked) { super(policy, checked); }
+
+    @Override
+    public void checkedRun() throws E { checked.checkedRun(); }
+
+    @Override
+    public void run() {
+      try {
+        checked.checkedRun();
+      } catch (Exception e) {
+        throw policy.wrap(checked, e);
+      }
+    }
+  }
+
+  private static final class ConsumerBridge<X, E extends Exception>
+      extends Bridge<LavaConsumer<? super X, ? extends E>> implements RexConsumer<X, E> {
+
+    ConsumerBridge(StackTracePolicy policy, LavaConsumer<? super X, ? extends E> checked) { super(policy, checked); }
+
+    @Override
+    public void checkedAccept(X x) throws E { checked.checkedAccept(x); }
+
+    @Override
+    public void accept(X x) {
+      try {
+        checked.checkedAccept(x);
+      } catch (Exception e) {
+        throw policy.wrap(checked, e);
+      }
+    }
+  }
+
+  private static final class BiConsumerBridge<X, Y, E extends Exception>
+      extends Bridge<LavaBiConsumer<? super X, ? super Y, ? extends E>> implements RexBiConsumer<X, Y, E> {
+
+    BiConsumerBridge(StackTracePolicy policy, LavaBiConsumer<? super X, ? super Y, ? extends E> checked) { super(policy, checked); }
+
+    @Override
+    public void checkedAccept(X x, Y y) throws E { checked.checkedAccept(x, y); }
+
+    @Override
+    public void accept(X x, Y y) {
+      try {
+        checked.checkedAccept(x, y);
+      } catch (Exception e) {
+        throw policy.wrap(checked, e);
+      }
+    }
+  }
+
+  private static final class SupplierBridge<R, E extends Exception>
+      extends Bridge<LavaSupplier<? extends R, ? extends E>> implements RexSupplier<R, E> {
+
+    SupplierBridge(StackTracePolicy policy, LavaSupplier<? extends R, ? extends E> checked) { super(policy, checked); }
+
+    @Override
+    public R checkedGet() throws E { return checked.checkedGet(); }
+
+    @Override
+    public R get() {
+      try {
+        return checked.checkedGet();
+      } catch (Exception e) {
+        throw policy.wrap(checked, e);
+      }
+    }
+  }
+
+  private static final class FunctionBridge<X, R, E extends Exception>
+      extends Bridge<LavaFunction<? super X, ? extends R, ? extends E>> implements RexFunction<X, R, E> {
+
+    FunctionBridge(StackTracePolicy policy, LavaFunction<? super X, ? extends R, ? extends E> checked) { super(policy, checked); }
+
+    @Override
+    public R checkedApply(X x) throws E { return checked.checkedApply(x); }
+
+    @Override
+    public R apply(X x) {
+      try {
+        return checked.checkedApply(x);
+      } catch (Exception e) {
+        throw policy.wrap(checked, e);
+      }
+    }
+  }
+
+  private static final class BiFunctionBridge<X, Y, R, E extends Exception>
+      extends Bridge<LavaBiFunction<? super X, ? super Y, ? extends R, ? extends E>> implements RexBiFunction<X, Y, R, E> {
+
+    BiFunctionBridge(StackTracePolicy policy, LavaBiFunction<? super X, ? super Y, ? extends R, ? extends E> checked) { super(policy, checked); }
+
+    @Override
+    public R checkedApply(X x, Y y) throws E { return checked.checkedApply(x, y); }
+
+    @Override
+    public R apply(X x, Y y) {
+      try {
+        return checked.checkedApply(x, y);
+      } catch (Exception e) {
+        throw policy.wrap(checked, e);
+      }
+    }
+  }
+
+  private static final class ConditionBridge<E extends Exception>
+      extends Bridge<LavaCondition<? extends E>> implements RexCondition<E> {
+
+    ConditionBridge(StackTracePolicy policy, LavaCondition<? extends E> checked) { super(policy, checked); }
+
+    @Override
+    public boolean checkedTest() throws E { return checked.checkedTest(); }
+
+    @Override
+    public boolean getAsBoolean() {
+      try {
+        return checked.checkedTest();
+      } catch (Exception e) {
+        throw policy.wrap(checked, e);
+      }
+    }
+  }
+
+  private static final class PredicateBridge<X, E extends Exception>
+      extends Bridge<LavaPredicate<? super X, ? extends E>> implements RexPredicate<X, E> {
+
+    PredicateBridge(StackTracePolicy policy, LavaPredicate<? super X, ? extends E> checked) { super(policy, checked); }
+
+    @Override
+    public boolean checkedTest(X x) throws E { return checked.checkedTest(x); }
+
+    @Override
+    public boolean test(X x) {
+      try {
+        return checked.checkedTest(x);
+      } catch (Exception e) {
+        throw policy.wrap(checked, e);
+      }
+    }
+  }
+
+  private static final class BiPredicateBridge<X, Y, E extends Exception>
+      extends Bridge<LavaBiPredicate<? super X, ? super Y, ? extends E>> implements RexBiPredicate<X, Y, E> {
+
+    BiPredicateBridge(StackTracePolicy policy, LavaBiPredicate<? super X, ? super Y, ? extends E> checked) { super(policy, checked); }
+
+    @Override
+    public boolean checkedTest(X x, Y y) throws E { return checked.checkedTest(x, y); }
+
+    @Override
+    public boolean test(X x, Y y) {
+      try {
+        return checked.checkedTest(x, y);
+      } catch (Exception e) {
+        throw policy.wrap(checked, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package org.tinyj.lava.rex;
+
+import org.tinyj.lava.WrappedCheckedException;
+
+/**
+ * A {@link WrappedCheckedException} that does not capture a stack trace.
+ * <p>
+ * Created by {@link StackTracePolicy} when stack trace capture is disabled
+ * or skipped by sampling. The wrapped exception is available through
+ * {@link #getCause()} and still carries its own stack trace.
+ */
+final class StacklessWrappedCheckedException extends WrappedCheckedException {
+
+  private static final long serialVersionUID = 1L;
+
+  StacklessWrappedCheckedException(Exception cause) { super(cause); }
+
+  /**
+   * Skip walking the stack, the wrapper's stack trace stays empty.
+   *
+   * @return {@code this}
+   */
+  @Override
+  public synchronized Throwable fillInStackTrace() { return this; }
+}
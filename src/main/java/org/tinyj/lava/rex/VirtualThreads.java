@@ -0,0 +1,56 @@
+package org.tinyj.lava.rex;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared executor starting a new virtual thread per task on runtimes
+ * providing virtual threads. Elsewhere daemon platform threads from a
+ * cached pool are used.
+ * <p>
+ * Virtual threads are looked up reflectively, so the library keeps
+ * running on runtimes predating them.
+ */
+final class VirtualThreads {
+
+  private static final ExecutorService EXECUTOR;
+  private static final boolean VIRTUAL;
+
+  static {
+    ExecutorService executor;
+    try {
+      executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      executor = null;
+    }
+    VIRTUAL = executor != null;
+    EXECUTOR = executor != null ? executor : Executors.newCachedThreadPool(new DaemonThreadFactory());
+  }
+
+  private VirtualThreads() {}
+
+  /**
+   * @return executor running each task on its own virtual thread if
+   *     available, on pooled daemon threads otherwise
+   */
+  static ExecutorService executor() { return EXECUTOR; }
+
+  /**
+   * @return {@code true} if {@link #executor()} runs tasks on virtual threads
+   */
+  static boolean isVirtual() { return VIRTUAL; }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable task) {
+      final Thread thread = new Thread(task, "rex-worker-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AsyncTest {
+
+  @Test
+  public void async_completes_with_result() throws Exception {
+    assertThat(Rex.async(() -> "result").get()).isEqualTo("result");
+    assertThat(Rex.async(() -> "result", Runnable::run).getNow(null)).isEqualTo("result");
+  }
+
+  @Test
+  public void async_fails_with_original_exception() {
+    final IOException failure = new IOException();
+    final CompletableFuture<String> future = Rex.async(() -> {
+      throw failure;
+    }, Runnable::run);
+
+    assertThat(catchThrowable(future::get)).isInstanceOf(ExecutionException.class).hasCause(failure);
+    assertThat(catchThrowable(future::join).getCause()).isSameAs(failure);
+  }
+
+  @Test
+  public void thenApplyChecked_applies_function() throws Exception {
+    final CompletableFuture<Integer> future = Rex.thenApplyChecked(CompletableFuture.completedFuture("abc"), String::length);
+
+    assertThat(future.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void thenApplyChecked_fails_with_original_exception() {
+    final IOException failure = new IOException();
+    final CompletableFuture<String> future = Rex.thenApplyChecked(CompletableFuture.completedFuture("abc"), x -> {
+      throw failure;
+    });
+
+    assertThat(catchThrowable(future::get)).hasCause(failure);
+  }
+
+  @Test
+  public void upstream_failures_are_stripped_of_completion_exceptions() {
+    final IOException failure = new IOException();
+    final CompletableFuture<Integer> upstream = Rex.<String>async(() -> {
+      throw failure;
+    }, Runnable::run).thenApply(String::length).thenApply(x -> x + 1);
+    final CompletableFuture<Integer> future = Rex.thenApplyChecked(upstream, x -> x * 2);
+
+    future.whenComplete((value, thrown) -> assertThat(thrown).isSameAs(failure));
+    assertThat(catchThrowable(future::get)).hasCause(failure);
+  }
+
+  @Test
+  public void thenComposeChecked_composes_stages() throws Exception {
+    final CompletableFuture<Integer> future = Rex.thenComposeChecked(CompletableFuture.completedFuture("abc"),
+        x -> Rex.async(x::length, Runnable::run));
+
+    assertThat(future.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void thenComposeChecked_fails_with_original_exception() {
+    final IOException failure = new IOException();
+    final CompletableFuture<Integer> future = Rex.thenComposeChecked(CompletableFuture.completedFuture("abc"),
+        x -> Rex.<Integer>async(() -> {
+          throw failure;
+        }, Runnable::run).thenApply(y -> y + 1));
+
+    assertThat(catchThrowable(future::get)).hasCause(failure);
+  }
+}
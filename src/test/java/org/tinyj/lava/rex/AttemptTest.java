@@ -0,0 +1,93 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AttemptTest {
+
+  @Test
+  public void successful_attempt_yields_result() throws Exception {
+    final RexFunction<String, String, IOException> function = x -> x + x;
+
+    final Attempt<String, IOException> attempt = function.tryApply("x");
+
+    assertThat(attempt.isSuccess()).isTrue();
+    assertThat(attempt.get()).isEqualTo("xx");
+  }
+
+  @Test
+  public void failed_attempt_yields_checked_exception() {
+    final IOException originalException = new IOException();
+    final RexFunction<String, String, IOException> function = x -> { throw originalException; };
+
+    final Attempt<String, IOException> attempt = function.tryApply("x");
+
+    assertThat(attempt.isFailure()).isTrue();
+    assertThat(attempt.failure()).isSameAs(originalException);
+    assertThat(attempt.orElse("y")).isEqualTo("y");
+    assertThat(catchThrowable(attempt::get)).isSameAs(originalException);
+  }
+
+  @Test
+  public void unchecked_exception_falls_through() {
+    final RuntimeException originalException = new RuntimeException();
+    final RexSupplier<String, IOException> supplier = () -> { throw originalException; };
+
+    assertThat(catchThrowable(supplier::tryGet)).isSameAs(originalException);
+  }
+
+  @Test
+  public void successful_predicate_attempts_are_shared() {
+    final RexPredicate<String, IOException> predicate = x -> x.isEmpty();
+
+    assertThat(predicate.tryTest("")).isSameAs(predicate.tryTest(""));
+    assertThat(predicate.tryTest("x")).isSameAs(predicate.tryTest("x"));
+  }
+
+  @Test
+  public void primitive_attempt_is_reusable() {
+    final RexToIntFunction<String, NumberFormatException> parse = Integer::parseInt;
+    final RexToIntFunction<String, IOException> fail = x -> { throw new IOException(x); };
+    final PrimitiveAttempt<Exception> attempt = new PrimitiveAttempt<>();
+
+    assertThat(Rex.attempt(parse, "42", attempt)).isTrue();
+    assertThat(attempt.intValue()).isEqualTo(42);
+
+    assertThat(Rex.attempt(fail, "x", attempt)).isFalse();
+    assertThat(attempt.failure()).isInstanceOf(IOException.class).hasMessage("x");
+
+    assertThat(Rex.attempt(parse, "7", attempt)).isTrue();
+    assertThat(attempt.intValue()).isEqualTo(7);
+  }
+
+  @Test
+  public void primitive_attempt_does_not_return_stale_results() {
+    final RexToIntFunction<String, NumberFormatException> parseInt = Integer::parseInt;
+    final RexToDoubleFunction<String, NumberFormatException> parseDouble = Double::parseDouble;
+    final PrimitiveAttempt<Exception> attempt = new PrimitiveAttempt<>();
+
+    assertThat(Rex.attempt(parseDouble, "1.5", attempt)).isTrue();
+    assertThat(attempt.doubleValue()).isEqualTo(1.5);
+    assertThat(catchThrowable(attempt::longValue)).isInstanceOf(IllegalStateException.class);
+    assertThat(catchThrowable(attempt::intValue)).isInstanceOf(IllegalStateException.class);
+
+    assertThat(Rex.attempt(parseInt, "42", attempt)).isTrue();
+    assertThat(attempt.intValue()).isEqualTo(42);
+    assertThat(attempt.doubleValue()).isEqualTo(42.0);
+  }
+
+  @Test
+  public void primitive_attempt_does_not_truncate_long_results() {
+    final RexToLongFunction<String, NumberFormatException> parseLong = Long::parseLong;
+    final PrimitiveAttempt<Exception> attempt = new PrimitiveAttempt<>();
+
+    assertThat(Rex.attempt(parseLong, "4294967296", attempt)).isTrue();
+    assertThat(attempt.longValue()).isEqualTo(4294967296L);
+    assertThat(attempt.doubleValue()).isEqualTo(4294967296.0);
+    assertThat(catchThrowable(attempt::intValue)).isInstanceOf(IllegalStateException.class);
+  }
+}
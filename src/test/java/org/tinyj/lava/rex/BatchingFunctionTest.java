@@ -0,0 +1,132 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class BatchingFunctionTest {
+
+  private static Map<Integer, String> lookup(List<Integer> keys) {
+    final Map<Integer, String> values = new HashMap<>();
+    for (Integer key : keys) {
+      values.put(key, "value " + key);
+    }
+    return values;
+  }
+
+  @Test
+  public void single_call_is_loaded_after_window() throws Exception {
+    final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+    final BatchingFunction<Integer, String, ?> function = BatchingFunction.builder()
+        .window(Duration.ofMillis(1))
+        .build((List<Integer> keys) -> {
+          batches.add(keys);
+          return lookup(keys);
+        });
+
+    assertThat(function.apply(1)).isEqualTo("value 1");
+    assertThat(batches).containsExactly(Collections.singletonList(1));
+  }
+
+  @Test
+  public void concurrent_calls_are_coalesced_and_deduplicated() throws Exception {
+    final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+    final BatchingFunction<Integer, String, ?> function = BatchingFunction.builder()
+        .window(Duration.ofMillis(200))
+        .build((List<Integer> keys) -> {
+          batches.add(keys);
+          return lookup(keys);
+        });
+    final CountDownLatch start = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(10);
+    try {
+      final List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        final int key = i % 5;
+        futures.add(executor.submit(() -> {
+          start.await();
+          return function.checkedApply(key);
+        }));
+      }
+      start.countDown();
+      for (int i = 0; i < 10; i++) {
+        assertThat(futures.get(i).get()).isEqualTo("value " + i % 5);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(batches).hasSize(1);
+    assertThat(batches.get(0)).containsExactlyInAnyOrder(0, 1, 2, 3, 4);
+  }
+
+  @Test
+  public void full_batch_is_loaded_immediately() throws Exception {
+    final BatchingFunction<Integer, String, ?> function = BatchingFunction.builder()
+        .maxBatchSize(1)
+        .window(Duration.ofSeconds(10))
+        .build(BatchingFunctionTest::lookup);
+
+    final long start = System.nanoTime();
+    assertThat(function.apply(1)).isEqualTo("value 1");
+    assertThat(System.nanoTime() - start).isLessThan(Duration.ofSeconds(5).toNanos());
+  }
+
+  @Test
+  public void missing_keys_map_to_null() throws Exception {
+    final BatchingFunction<Integer, String, ?> function = BatchingFunction.builder()
+        .window(Duration.ZERO)
+        .build((List<Integer> keys) -> Collections.<Integer, String>emptyMap());
+
+    assertThat(function.apply(1)).isNull();
+  }
+
+  @Test
+  public void bulk_failure_is_rethrown_unchanged() {
+    final IOException failure = new IOException();
+    final BatchingFunction<Integer, String, IOException> function = BatchingFunction.builder()
+        .window(Duration.ZERO)
+        .build((List<Integer> keys) -> {
+          throw failure;
+        });
+
+    assertThat(catchThrowable(() -> function.checkedApply(1))).isSameAs(failure);
+  }
+
+  @Test
+  public void attempting_bulk_function_fails_per_key() throws Exception {
+    final IOException failure = new IOException();
+    final BatchingFunction<Integer, String, IOException> function = BatchingFunction.builder()
+        .window(Duration.ZERO)
+        .buildAttempting((List<Integer> keys) -> {
+          final Map<Integer, Attempt<String, IOException>> attempts = new HashMap<>();
+          for (Integer key : keys) {
+            attempts.put(key, key % 2 == 0 ? Attempt.success("even") : Attempt.failure(failure));
+          }
+          return attempts;
+        });
+
+    assertThat(function.checkedApply(2)).isEqualTo("even");
+    assertThat(catchThrowable(() -> function.checkedApply(3))).isSameAs(failure);
+  }
+
+  @Test
+  public void null_keys_are_rejected() {
+    final BatchingFunction<Integer, String, ?> function = BatchingFunction.builder()
+        .build(BatchingFunctionTest::lookup);
+
+    assertThat(catchThrowable(() -> function.apply(null))).isInstanceOf(NullPointerException.class);
+  }
+}
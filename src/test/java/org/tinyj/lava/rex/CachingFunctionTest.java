@@ -0,0 +1,195 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CachingFunctionTest {
+
+  @Test
+  public void results_are_computed_once_per_key() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final CachingFunction<String, Integer, ?> function = CachingFunction.builder().build((String x) -> {
+      invocations.incrementAndGet();
+      return x == null ? 0 : x.length();
+    });
+
+    assertThat(function.apply("a")).isEqualTo(1);
+    assertThat(function.apply("bb")).isEqualTo(2);
+    assertThat(function.apply("a")).isEqualTo(1);
+    assertThat(function.apply(null)).isEqualTo(0);
+    assertThat(function.apply(null)).isEqualTo(0);
+    assertThat(invocations.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void concurrent_misses_are_coalesced() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final CountDownLatch start = new CountDownLatch(1);
+    final CachingFunction<Integer, Integer, ?> function = CachingFunction.builder().build((Integer x) -> {
+      Thread.sleep(10);
+      return invocations.incrementAndGet();
+    });
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final Future<?>[] futures = new Future<?>[8];
+      for (int i = 0; i < futures.length; i++) {
+        futures[i] = executor.submit(() -> {
+          start.await();
+          return function.checkedApply(42);
+        });
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        assertThat(future.get()).isEqualTo(1);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(invocations.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void failures_are_not_cached_by_default() {
+    final AtomicInteger invocations = new AtomicInteger();
+    final CachingFunction<String, String, IOException> function = CachingFunction.builder().build((String x) -> {
+      invocations.incrementAndGet();
+      throw new IOException(x);
+    });
+
+    assertThat(catchThrowable(() -> function.checkedApply("a"))).isInstanceOf(IOException.class);
+    assertThat(catchThrowable(() -> function.checkedApply("a"))).isInstanceOf(IOException.class);
+    assertThat(invocations.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void failures_are_cached_if_configured() {
+    final AtomicInteger invocations = new AtomicInteger();
+    final IOException failure = new IOException();
+    final CachingFunction<String, String, IOException> function = CachingFunction.builder()
+        .cachingFailures()
+        .build((String x) -> {
+          invocations.incrementAndGet();
+          throw failure;
+        });
+
+    assertThat(catchThrowable(() -> function.checkedApply("a"))).isSameAs(failure);
+    assertThat(catchThrowable(() -> function.checkedApply("a"))).isSameAs(failure);
+    assertThat(invocations.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void unchecked_exceptions_are_never_cached() {
+    final AtomicInteger invocations = new AtomicInteger();
+    final CachingFunction<String, String, ?> function = CachingFunction.builder()
+        .cachingFailures()
+        .build((String x) -> {
+          invocations.incrementAndGet();
+          throw new IllegalStateException();
+        });
+
+    assertThat(catchThrowable(() -> function.apply("a"))).isInstanceOf(IllegalStateException.class);
+    assertThat(catchThrowable(() -> function.apply("a"))).isInstanceOf(IllegalStateException.class);
+    assertThat(invocations.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void results_expire_after_write() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final CachingFunction<String, Integer, ?> function = CachingFunction.builder()
+        .expireAfterWrite(Duration.ofMillis(1))
+        .build((String x) -> invocations.incrementAndGet());
+
+    assertThat(function.apply("a")).isEqualTo(1);
+    Thread.sleep(5);
+    assertThat(function.apply("a")).isEqualTo(2);
+  }
+
+  @Test
+  public void size_is_bounded() throws Exception {
+    final CachingFunction<Integer, Integer, ?> function = CachingFunction.builder()
+        .maximumSize(100)
+        .build((Integer x) -> x);
+
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(function.apply(i)).isEqualTo(i);
+    }
+    assertThat(function.estimatedSize()).isLessThanOrEqualTo(100);
+  }
+
+  @Test
+  public void frequently_used_entries_survive_a_scan() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final CachingFunction<Integer, Integer, ?> function = CachingFunction.builder()
+        .maximumSize(100)
+        .build((Integer x) -> {
+          invocations.incrementAndGet();
+          return x;
+        });
+    for (int round = 0; round < 5; round++) {
+      for (int i = 0; i < 50; i++) {
+        function.apply(i);
+      }
+    }
+    for (int i = 1_000; i < 1_500; i++) {
+      function.apply(i);
+    }
+
+    final int before = invocations.get();
+    for (int i = 0; i < 50; i++) {
+      function.apply(i);
+    }
+    assertThat(invocations.get() - before).isLessThan(10);
+  }
+
+  @Test
+  public void invalidated_results_are_recomputed() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final CachingFunction<String, Integer, ?> function = CachingFunction.builder()
+        .build((String x) -> invocations.incrementAndGet());
+
+    assertThat(function.apply("a")).isEqualTo(1);
+    function.invalidate("a");
+    assertThat(function.apply("a")).isEqualTo(2);
+    function.invalidateAll();
+    assertThat(function.apply("a")).isEqualTo(3);
+    assertThat(function.estimatedSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void bi_function_results_are_cached_per_argument_pair() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final RexBiFunction<Integer, Integer, Integer, ?> function = CachingFunction.builder()
+        .build((Integer x, Integer y) -> {
+          invocations.incrementAndGet();
+          return x + y;
+        });
+
+    assertThat(function.apply(1, 2)).isEqualTo(3);
+    assertThat(function.apply(1, 2)).isEqualTo(3);
+    assertThat(function.apply(2, 1)).isEqualTo(3);
+    assertThat(invocations.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void recursive_load_of_same_key_is_rejected() throws Exception {
+    final AtomicReference<CachingFunction<String, Integer, RuntimeException>> self = new AtomicReference<>();
+    final AtomicBoolean recurse = new AtomicBoolean(true);
+    self.set(CachingFunction.builder().build((String x) ->
+        recurse.getAndSet(false) ? self.get().apply(x) : x.length()));
+
+    assertThat(catchThrowable(() -> self.get().apply("a"))).isInstanceOf(IllegalStateException.class);
+    assertThat(self.get().apply("a")).isEqualTo(1);
+  }
+}
@@ -0,0 +1,130 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CircuitBreakerTest {
+
+  @Test
+  public void breaker_opens_once_failure_rate_is_exceeded() {
+    final AtomicInteger invocations = new AtomicInteger();
+    final CircuitBreaker breaker = CircuitBreaker.builder("test").minimumCalls(4).build();
+    final RexFunction<String, String, IOException> function = breaker.function((String x) -> {
+      invocations.incrementAndGet();
+      throw new IOException(x);
+    });
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(catchThrowable(() -> function.checkedApply("a"))).isInstanceOf(IOException.class);
+    }
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(catchThrowable(() -> function.checkedApply("a"))).isInstanceOf(CircuitBreakerOpenException.class);
+    assertThat(invocations.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void breaker_stays_closed_below_failure_rate() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final CircuitBreaker breaker = CircuitBreaker.builder("test").minimumCalls(4).failureRateThreshold(0.5).build();
+    final RexSupplier<Integer, IOException> supplier = breaker.supplier(() -> {
+      if (invocations.incrementAndGet() % 3 == 0) {
+        throw new IOException();
+      }
+      return invocations.get();
+    });
+
+    for (int i = 0; i < 30; i++) {
+      catchThrowable(supplier::checkedGet);
+    }
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(invocations.get()).isEqualTo(30);
+  }
+
+  @Test
+  public void rejections_are_preallocated_and_stackless() {
+    final CircuitBreaker breaker = CircuitBreaker.builder("test").minimumCalls(1).build();
+    final RexRunnable<IOException> runnable = breaker.runnable(() -> {
+      throw new IOException();
+    });
+    catchThrowable(runnable::checkedRun);
+
+    final Throwable first = catchThrowable(runnable::checkedRun);
+    final Throwable second = catchThrowable(runnable::checkedRun);
+    assertThat(first).isInstanceOf(CircuitBreakerOpenException.class).hasMessageContaining("test");
+    assertThat(second).isSameAs(first);
+    assertThat(first.getStackTrace()).isEmpty();
+  }
+
+  @Test
+  public void successful_trial_call_closes_breaker() throws Exception {
+    final boolean[] failing = {true};
+    final CircuitBreaker breaker = CircuitBreaker.builder("test")
+        .minimumCalls(1)
+        .openDuration(Duration.ofMillis(10))
+        .build();
+    final RexConsumer<String, IOException> consumer = breaker.consumer((String x) -> {
+      if (failing[0]) {
+        throw new IOException(x);
+      }
+    });
+    catchThrowable(() -> consumer.checkedAccept("a"));
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+    Thread.sleep(20);
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    failing[0] = false;
+    consumer.checkedAccept("a");
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  public void failed_trial_call_reopens_breaker() throws Exception {
+    final CircuitBreaker breaker = CircuitBreaker.builder("test")
+        .minimumCalls(1)
+        .openDuration(Duration.ofMillis(10))
+        .build();
+    final RexRunnable<IOException> runnable = breaker.runnable(() -> {
+      throw new IOException();
+    });
+    catchThrowable(runnable::checkedRun);
+
+    Thread.sleep(20);
+    assertThat(catchThrowable(runnable::checkedRun)).isInstanceOf(IOException.class);
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  public void unrecorded_exceptions_count_as_success() {
+    final CircuitBreaker breaker = CircuitBreaker.builder("test")
+        .minimumCalls(1)
+        .recordOn(FileNotFoundException.class)
+        .build();
+    final RexRunnable<IOException> runnable = breaker.runnable(() -> {
+      throw new IOException();
+    });
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(catchThrowable(runnable::checkedRun)).isInstanceOf(IOException.class);
+    }
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  public void reset_closes_breaker() {
+    final CircuitBreaker breaker = CircuitBreaker.builder("test").minimumCalls(1).build();
+    catchThrowable(breaker.runnable(() -> {
+      throw new IOException();
+    })::checkedRun);
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+    breaker.reset();
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+}
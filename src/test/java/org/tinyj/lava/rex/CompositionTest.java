@@ -0,0 +1,111 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CompositionTest {
+
+  @Test
+  public void andThenChecked_applies_stages_in_order() throws Exception {
+    final RexFunction<String, Integer, IOException> length = String::length;
+
+    final RexFunction<String, String, IOException> composed = length
+        .andThenChecked(x -> x * 2)
+        .andThenChecked(x -> x + 1)
+        .andThenChecked(String::valueOf);
+    assertThat(composed.checkedApply("abc")).isEqualTo("7");
+  }
+
+  @Test
+  public void composeChecked_applies_before_first() throws Exception {
+    final RexFunction<String, Integer, IOException> length = String::length;
+
+    final RexFunction<String, Integer, IOException> composed = length.composeChecked((String x) -> x.trim());
+    assertThat(composed.checkedApply("  abc ")).isEqualTo(3);
+  }
+
+  @Test
+  public void composition_keeps_checked_exception_and_wraps_once() {
+    final IOException failure = new IOException();
+    final RexFunction<String, Integer, IOException> length = String::length;
+    final RexFunction<String, Integer, IOException> composed = length
+        .<Integer>andThenChecked(x -> {
+          throw failure;
+        })
+        .andThenChecked(x -> x + 1);
+
+    assertThat(catchThrowable(() -> composed.checkedApply("a"))).isSameAs(failure);
+    final Throwable wrapped = catchThrowable(() -> composed.apply("a"));
+    assertThat(wrapped).isInstanceOf(WrappedCheckedException.class).hasCause(failure);
+  }
+
+  @Test
+  public void long_chains_are_flat() {
+    RexFunction<Integer, Integer, RuntimeException> chain = x -> x;
+    for (int i = 0; i < 10_000; i++) {
+      chain = chain.andThenChecked(x -> x + 1);
+    }
+
+    assertThat(chain.apply(0)).isEqualTo(10_000);
+  }
+
+  @Test
+  public void predicate_combinators_short_circuit() throws Exception {
+    final RexPredicate<Integer, IOException> positive = x -> x > 0;
+    final RexPredicate<Integer, IOException> failing = x -> {
+      throw new IOException();
+    };
+
+    assertThat(positive.andChecked(failing).checkedTest(-1)).isFalse();
+    assertThat(positive.orChecked(failing).checkedTest(1)).isTrue();
+    assertThat(catchThrowable(() -> positive.andChecked(failing).checkedTest(1))).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void predicate_combinators_combine() throws Exception {
+    final RexPredicate<Integer, IOException> positive = x -> x > 0;
+    final RexPredicate<Integer, IOException> evenSmall = positive
+        .andChecked(x -> x < 10)
+        .andChecked(x -> x % 2 == 0)
+        .orChecked(x -> x == 99);
+
+    assertThat(evenSmall.checkedTest(4)).isTrue();
+    assertThat(evenSmall.checkedTest(5)).isFalse();
+    assertThat(evenSmall.checkedTest(12)).isFalse();
+    assertThat(evenSmall.checkedTest(99)).isTrue();
+  }
+
+  @Test
+  public void negate_keeps_rex_type() throws Exception {
+    final RexPredicate<Integer, IOException> positive = x -> x > 0;
+
+    final RexPredicate<Integer, IOException> negated = positive.negate();
+    assertThat(negated.checkedTest(1)).isFalse();
+    assertThat(negated.checkedTest(-1)).isTrue();
+    assertThat(negated.negate()).isSameAs(positive);
+  }
+
+  @Test
+  public void bi_combinators_keep_rex_type() throws Exception {
+    final RexBiFunction<Integer, Integer, Integer, IOException> sum = Integer::sum;
+    final RexBiPredicate<Integer, Integer, IOException> less = (x, y) -> x < y;
+
+    assertThat(sum.andThenChecked(x -> x * 10).checkedApply(1, 2)).isEqualTo(30);
+    assertThat(less.andChecked((x, y) -> x > 0).checkedTest(1, 2)).isTrue();
+    assertThat(less.orChecked((x, y) -> x.equals(y)).checkedTest(2, 2)).isTrue();
+    assertThat(less.negate().checkedTest(1, 2)).isFalse();
+  }
+
+  @Test
+  public void null_stages_are_rejected_eagerly() {
+    final RexFunction<String, Integer, IOException> length = String::length;
+
+    assertThat(catchThrowable(() -> length.composeChecked(null))).isInstanceOf(NullPointerException.class);
+    assertThat(catchThrowable(() -> length.andThenChecked(null))).isInstanceOf(NullPointerException.class);
+  }
+}
@@ -0,0 +1,120 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ConcurrencyLimiterTest {
+
+  @Test
+  public void invocations_within_limit_pass() throws Exception {
+    final ConcurrencyLimiter limiter = ConcurrencyLimiter.builder("test").initialLimit(1).build();
+    final RexFunction<String, Integer, IOException> function = limiter.function(String::length);
+
+    assertThat(function.checkedApply("abc")).isEqualTo(3);
+    assertThat(function.checkedApply("ab")).isEqualTo(2);
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  public void excess_invocations_are_rejected() throws Exception {
+    final ConcurrencyLimiter limiter = ConcurrencyLimiter.builder("test").initialLimit(1).limitRange(1, 1).build();
+    final CountDownLatch entered = new CountDownLatch(1);
+    final CountDownLatch proceed = new CountDownLatch(1);
+    final RexRunnable<InterruptedException> blocking = limiter.runnable(() -> {
+      entered.countDown();
+      proceed.await();
+    });
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<?> first = executor.submit(blocking);
+      entered.await();
+      assertThat(limiter.getInFlight()).isEqualTo(1);
+
+      final Throwable rejected = catchThrowable(blocking::checkedRun);
+      assertThat(rejected).isInstanceOf(ConcurrencyLimitExceededException.class).hasMessageContaining("test");
+      assertThat(catchThrowable(blocking::checkedRun)).isSameAs(rejected);
+      assertThat(rejected.getStackTrace()).isEmpty();
+
+      proceed.countDown();
+      first.get();
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  public void excess_invocations_wait_for_permit() throws Exception {
+    final ConcurrencyLimiter limiter = ConcurrencyLimiter.builder("test")
+        .initialLimit(1)
+        .limitRange(1, 1)
+        .maxWait(Duration.ofSeconds(10))
+        .build();
+    final RexSupplier<String, InterruptedException> sleeping = limiter.supplier(() -> {
+      Thread.sleep(20);
+      return "done";
+    });
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final Future<?>[] futures = new Future<?>[4];
+      for (int i = 0; i < futures.length; i++) {
+        futures[i] = executor.submit(sleeping::checkedGet);
+      }
+      for (Future<?> future : futures) {
+        assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("done");
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void permits_are_released_on_failure() {
+    final ConcurrencyLimiter limiter = ConcurrencyLimiter.builder("test").initialLimit(1).build();
+    final RexConsumer<String, IOException> failing = limiter.consumer((String x) -> {
+      throw new IOException(x);
+    });
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(catchThrowable(() -> failing.checkedAccept("a"))).isInstanceOf(IOException.class);
+    }
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  public void limit_decreases_when_latency_rises() throws Exception {
+    final ConcurrencyLimiter limiter = ConcurrencyLimiter.builder("test").initialLimit(100).build();
+    final long[] sleepMillis = {1};
+    final RexRunnable<InterruptedException> runnable = limiter.runnable(() -> Thread.sleep(sleepMillis[0]));
+    for (int i = 0; i < 10; i++) {
+      runnable.checkedRun();
+    }
+
+    sleepMillis[0] = 20;
+    for (int i = 0; i < 10; i++) {
+      runnable.checkedRun();
+    }
+    assertThat(limiter.getLimit()).isLessThan(100);
+  }
+
+  @Test
+  public void limit_increases_while_in_use_and_fast() throws Exception {
+    final ConcurrencyLimiter limiter = ConcurrencyLimiter.builder("test").initialLimit(1).build();
+    final RexRunnable<InterruptedException> runnable = limiter.runnable(() -> Thread.sleep(1));
+    for (int i = 0; i < 10; i++) {
+      runnable.checkedRun();
+    }
+
+    assertThat(limiter.getLimit()).isGreaterThan(1);
+  }
+}
@@ -0,0 +1,71 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class DeadlineTest {
+
+  @Test
+  public void result_is_returned_within_deadline() throws Exception {
+    assertThat(Rex.withDeadline(Duration.ofSeconds(10), () -> "result")).isEqualTo("result");
+  }
+
+  @Test
+  public void deadline_is_current_within_scope_only() throws Exception {
+    assertThat(Deadline.current()).isEmpty();
+    assertThat(Rex.withDeadline(Duration.ofSeconds(10), () -> Deadline.current().isPresent())).isTrue();
+    assertThat(Deadline.current()).isEmpty();
+  }
+
+  @Test
+  public void checked_exceptions_are_rethrown_unchanged() {
+    final IOException failure = new IOException();
+
+    assertThat(catchThrowable(() -> Rex.withDeadline(Duration.ofSeconds(10), () -> {
+      throw failure;
+    }))).isSameAs(failure);
+  }
+
+  @Test
+  public void overrunning_body_is_interrupted() throws Exception {
+    final CountDownLatch interrupted = new CountDownLatch(1);
+
+    final Throwable thrown = catchThrowable(() -> Rex.withDeadline(Duration.ofMillis(20), () -> {
+      try {
+        Thread.sleep(10_000);
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+    }));
+    assertThat(thrown).isInstanceOf(DeadlineExceededException.class);
+    assertThat(thrown.getStackTrace()).isEmpty();
+    assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void nested_deadline_does_not_extend_enclosing_one() throws Exception {
+    final Duration remaining = Rex.withDeadline(Duration.ofMillis(500),
+        () -> Rex.withDeadline(Duration.ofHours(1), Deadline::currentRemaining));
+
+    assertThat(remaining).isLessThanOrEqualTo(Duration.ofMillis(500));
+  }
+
+  @Test
+  public void spent_budget_fails_fast() {
+    final Throwable thrown = catchThrowable(() -> Rex.withDeadline(Duration.ofMillis(50), () -> {
+      Thread.sleep(60);
+      Deadline.checkCurrent();
+    }));
+
+    assertThat(thrown).isInstanceOf(DeadlineExceededException.class);
+    assertThat(catchThrowable(() -> Rex.withDeadline(Duration.ZERO, () -> "never")))
+        .isInstanceOf(DeadlineExceededException.class);
+  }
+}
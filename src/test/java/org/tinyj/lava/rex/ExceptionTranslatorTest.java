@@ -0,0 +1,110 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CancellationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.tinyj.lava.utils.LavaFun.function;
+
+public class ExceptionTranslatorTest {
+
+  @AfterMethod
+  public void restore_default_translator() {
+    ExceptionTranslator.setDefault(ExceptionTranslator.none());
+    Thread.interrupted();
+  }
+
+  @Test
+  public void most_specific_handler_is_used() {
+    final ExceptionTranslator translator = ExceptionTranslator.builder()
+        .translate(IOException.class, UncheckedIOException::new)
+        .translate(FileNotFoundException.class, IllegalStateException::new)
+        .build();
+
+    assertThat(translator.translate(new EOFException())).isInstanceOf(UncheckedIOException.class);
+    assertThat(translator.translate(new FileNotFoundException())).isInstanceOf(IllegalStateException.class);
+    assertThat(translator.translate(new IOException())).isInstanceOf(UncheckedIOException.class);
+  }
+
+  @Test
+  public void exception_without_handler_is_not_translated() {
+    final ExceptionTranslator translator = ExceptionTranslator.builder()
+        .translate(IOException.class, UncheckedIOException::new)
+        .build();
+
+    assertThat(translator.translate(new Exception())).isNull();
+    assertThat(ExceptionTranslator.none().translate(new IOException())).isNull();
+  }
+
+  @Test
+  public void handler_returning_null_falls_back_to_wrapping() {
+    final IOException originalException = new IOException();
+    final StackTracePolicy policy = StackTracePolicy.full()
+        .translating(ExceptionTranslator.builder().translate(IOException.class, e -> null).build());
+
+    assertThat(policy.wrap(originalException))
+        .isInstanceOf(WrappedCheckedException.class)
+        .hasCause(originalException);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void unchecked_types_are_rejected() {
+    ExceptionTranslator.builder().translate(IllegalStateException.class, e -> e);
+  }
+
+  @Test
+  public void standard_translator_restores_interrupt_status() {
+    final InterruptedException originalException = new InterruptedException();
+
+    final RuntimeException translated = ExceptionTranslator.standard().translate(originalException);
+
+    assertThat(translated)
+        .isInstanceOf(CancellationException.class)
+        .hasCause(originalException);
+    assertThat(Thread.currentThread().isInterrupted()).isTrue();
+  }
+
+  @Test
+  public void default_translator_applies_to_rex_interfaces() {
+    final IOException originalException = new IOException();
+    ExceptionTranslator.setDefault(ExceptionTranslator.standard());
+
+    final Throwable thrown = catchThrowable(() -> Rex.rex(function(x -> { throw originalException; })).apply("x"));
+
+    assertThat(thrown)
+        .isInstanceOf(UncheckedIOException.class)
+        .hasCause(originalException);
+  }
+
+  @Test
+  public void per_wrapper_translator_overrides_default_translator() {
+    final IOException originalException = new IOException();
+    ExceptionTranslator.setDefault(ExceptionTranslator.standard());
+    final StackTracePolicy policy = StackTracePolicy.none().translating(ExceptionTranslator.none());
+
+    final Throwable thrown = catchThrowable(() -> policy.rex(function(x -> { throw originalException; })).apply("x"));
+
+    assertThat(thrown)
+        .isInstanceOf(WrappedCheckedException.class)
+        .hasCause(originalException);
+    assertThat(thrown.getStackTrace()).isEmpty();
+  }
+
+  @Test
+  public void to_builder_extends_translator() {
+    final ExceptionTranslator translator = ExceptionTranslator.standard().toBuilder()
+        .translate(Exception.class, IllegalStateException::new)
+        .build();
+
+    assertThat(translator.translate(new IOException())).isInstanceOf(UncheckedIOException.class);
+    assertThat(translator.translate(new Exception())).isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,135 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+import org.tinyj.lava.LavaSupplier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class FanOutTest {
+
+  @Test
+  public void invokeAll_returns_results_in_task_order() throws Exception {
+    final List<LavaSupplier<Integer, Exception>> tasks = Arrays.asList(
+        () -> {
+          Thread.sleep(20);
+          return 1;
+        },
+        () -> 2,
+        () -> 3);
+
+    assertThat(Rex.invokeAll(tasks)).containsExactly(1, 2, 3);
+    assertThat(Rex.invokeAll(Collections.<LavaSupplier<Integer, Exception>>emptyList())).isEmpty();
+  }
+
+  @Test
+  public void invokeAll_cancels_siblings_and_rethrows_first_failure() throws Exception {
+    final IOException failure = new IOException();
+    final CountDownLatch sleeping = new CountDownLatch(1);
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    final List<LavaSupplier<Integer, Exception>> tasks = Arrays.asList(
+        () -> {
+          sleeping.countDown();
+          try {
+            Thread.sleep(10_000);
+          } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw e;
+          }
+          return 1;
+        },
+        () -> {
+          sleeping.await();
+          throw failure;
+        });
+
+    assertThat(catchThrowable(() -> Rex.invokeAll(tasks))).isSameAs(failure);
+    assertThat(interrupted.await(0, TimeUnit.SECONDS)).isTrue();
+    assertThat(failure.getSuppressed()).isEmpty();
+  }
+
+  @Test
+  public void interrupted_caller_waits_for_subtasks_to_terminate() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final AtomicBoolean terminated = new AtomicBoolean();
+    final AtomicBoolean terminatedBeforeReturn = new AtomicBoolean();
+    final List<LavaSupplier<Integer, Exception>> tasks = Collections.singletonList(() -> {
+      try {
+        started.countDown();
+        Thread.sleep(10_000);
+        return 1;
+      } finally {
+        final long cleanupEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        while (System.nanoTime() - cleanupEnd < 0) {
+          Thread.yield();
+        }
+        terminated.set(true);
+      }
+    });
+    final Thread caller = new Thread(() -> {
+      catchThrowable(() -> Rex.invokeAll(tasks));
+      terminatedBeforeReturn.set(terminated.get());
+    });
+
+    caller.start();
+    started.await();
+    caller.interrupt();
+    caller.join(5_000);
+    assertThat(terminatedBeforeReturn).isTrue();
+  }
+
+  @Test
+  public void invokeAny_returns_first_success() throws Exception {
+    final AtomicBoolean slowCompleted = new AtomicBoolean();
+    final List<LavaSupplier<String, Exception>> tasks = Arrays.asList(
+        () -> {
+          Thread.sleep(10_000);
+          slowCompleted.set(true);
+          return "slow";
+        },
+        () -> {
+          throw new IOException();
+        },
+        () -> "fast");
+
+    assertThat(Rex.invokeAny(tasks)).isEqualTo("fast");
+    assertThat(slowCompleted.get()).isFalse();
+  }
+
+  @Test
+  public void invokeAny_rethrows_first_failure_with_others_suppressed() {
+    final IOException first = new IOException("first");
+    final IOException second = new IOException("second");
+    final List<LavaSupplier<String, Exception>> tasks = Arrays.asList(
+        () -> {
+          throw first;
+        },
+        () -> {
+          Thread.sleep(20);
+          throw second;
+        });
+
+    assertThat(catchThrowable(() -> Rex.invokeAny(tasks))).isSameAs(first);
+    assertThat(first.getSuppressed()).containsExactly(second);
+  }
+
+  @Test
+  public void current_deadline_bounds_fan_out() {
+    final List<LavaSupplier<Integer, Exception>> tasks = Collections.singletonList(() -> {
+      Thread.sleep(10_000);
+      return 1;
+    });
+
+    assertThat(catchThrowable(() -> Rex.withDeadline(Duration.ofMillis(20), () -> Rex.invokeAll(tasks))))
+        .isInstanceOf(DeadlineExceededException.class);
+  }
+}
@@ -0,0 +1,112 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ForEachTest {
+
+  @Test
+  public void random_access_list_is_iterated_in_order() throws Exception {
+    final List<String> visited = new ArrayList<>();
+
+    Rex.forEach(Arrays.asList("a", "b", "c"), visited::add);
+
+    assertThat(visited).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  public void sequential_list_is_iterated_in_order() throws Exception {
+    final List<String> visited = new ArrayList<>();
+
+    Rex.forEach(new LinkedList<>(Arrays.asList("a", "b", "c")), visited::add);
+
+    assertThat(visited).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  public void iterable_is_iterated() throws Exception {
+    final List<String> visited = new ArrayList<>();
+    final Iterable<String> iterable = new TreeSet<>(Arrays.asList("b", "a"));
+
+    Rex.forEach(iterable, visited::add);
+
+    assertThat(visited).containsExactly("a", "b");
+  }
+
+  @Test
+  public void array_is_iterated_in_order() throws Exception {
+    final List<String> visited = new ArrayList<>();
+
+    Rex.forEach(new String[]{"a", "b", "c"}, visited::add);
+
+    assertThat(visited).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  public void map_entries_are_iterated() throws Exception {
+    final Map<String, Integer> map = new LinkedHashMap<>();
+    map.put("a", 1);
+    map.put("b", 2);
+    final List<String> visited = new ArrayList<>();
+
+    Rex.forEach(map, (key, value) -> visited.add(key + value));
+
+    assertThat(visited).containsExactly("a1", "b2");
+  }
+
+  @Test
+  public void checked_exception_is_rethrown_unchanged() {
+    final IOException originalException = new IOException();
+    final List<String> visited = new ArrayList<>();
+
+    final Throwable thrown = catchThrowable(() -> Rex.forEach(Arrays.asList("a", "b", "c"), x -> {
+      visited.add(x);
+      if (x.equals("b")) {
+        throw originalException;
+      }
+    }));
+
+    assertThat(thrown).isSameAs(originalException);
+    assertThat(visited).containsExactly("a", "b");
+  }
+
+  @Test(expectedExceptions = ConcurrentModificationException.class)
+  public void growing_random_access_list_is_detected() throws Exception {
+    final List<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+
+    Rex.forEach(list, list::add);
+  }
+
+  @Test
+  public void shrinking_random_access_list_is_detected() {
+    final List<String> list = new ArrayList<>(Arrays.asList("a", "b", "c"));
+    final List<String> visited = new ArrayList<>();
+
+    final Throwable thrown = catchThrowable(() -> Rex.forEach(list, x -> {
+      visited.add(x);
+      list.remove(x);
+    }));
+
+    assertThat(thrown).isInstanceOf(ConcurrentModificationException.class);
+    assertThat(visited).containsExactly("a");
+  }
+
+  @Test
+  public void growing_random_access_list_is_detected_before_next_element() {
+    final List<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+    final List<String> visited = new ArrayList<>();
+
+    final Throwable thrown = catchThrowable(() -> Rex.forEach(list, x -> {
+      visited.add(x);
+      list.add(x);
+    }));
+
+    assertThat(thrown).isInstanceOf(ConcurrentModificationException.class);
+    assertThat(visited).containsExactly("a");
+  }
+}
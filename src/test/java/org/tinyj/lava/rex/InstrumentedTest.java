@@ -0,0 +1,117 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class InstrumentedTest {
+
+  @Test
+  public void invocations_and_failures_are_counted() throws Exception {
+    final RexFunction<Integer, Integer, IOException> function = Rex.instrumented("counted", (Integer x) -> {
+      if (x < 0) {
+        throw new IOException();
+      }
+      return x;
+    });
+
+    assertThat(function.checkedApply(1)).isEqualTo(1);
+    assertThat(function.checkedApply(2)).isEqualTo(2);
+    assertThat(catchThrowable(() -> function.checkedApply(-1))).isInstanceOf(IOException.class);
+    assertThat(catchThrowable(() -> function.apply(null))).isInstanceOf(NullPointerException.class);
+
+    final InvocationMetrics metrics = MetricsRegistry.global().metrics("counted");
+    assertThat(metrics.getInvocations()).isEqualTo(4);
+    assertThat(metrics.getFailures()).isEqualTo(2);
+    assertThat(metrics.getFailuresByType())
+        .containsEntry(IOException.class.getName(), 1L)
+        .containsEntry(NullPointerException.class.getName(), 1L);
+  }
+
+  @Test
+  public void lambdas_instrumented_under_same_name_share_metrics() throws Exception {
+    final RexRunnable<?> first = Rex.instrumented("shared", () -> {});
+    final RexSupplier<String, ?> second = Rex.instrumented("shared", () -> "value");
+
+    first.run();
+    assertThat(second.get()).isEqualTo("value");
+    assertThat(MetricsRegistry.global().metrics("shared").getInvocations()).isEqualTo(2);
+  }
+
+  @Test
+  public void latencies_are_recorded() throws Exception {
+    final RexRunnable<InterruptedException> sleeping = Rex.instrumented("latency", () -> Thread.sleep(5));
+    for (int i = 0; i < 10; i++) {
+      sleeping.checkedRun();
+    }
+
+    final InvocationMetrics metrics = MetricsRegistry.global().metrics("latency");
+    assertThat(metrics.getMeanLatencyNanos()).isGreaterThanOrEqualTo(5_000_000);
+    assertThat(metrics.getP50LatencyNanos()).isGreaterThanOrEqualTo(5_000_000);
+    assertThat(metrics.getP999LatencyNanos()).isLessThanOrEqualTo(metrics.getMaxLatencyNanos());
+
+    metrics.reset();
+    assertThat(metrics.getInvocations()).isZero();
+    assertThat(metrics.getP99LatencyNanos()).isZero();
+  }
+
+  @Test
+  public void histogram_quantiles_overestimate_by_less_than_a_quarter() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (long nanos = 1; nanos <= 1_000_000; nanos++) {
+      histogram.record(nanos);
+    }
+
+    assertThat(histogram.quantile(0.5)).isBetween(500_000L, 625_000L);
+    assertThat(histogram.quantile(0.99)).isBetween(990_000L, 1_237_500L);
+    assertThat(histogram.quantile(1)).isGreaterThanOrEqualTo(1_000_000L);
+  }
+
+  @Test
+  public void metrics_are_published_as_mbeans() throws Exception {
+    final MetricsRegistry registry = new MetricsRegistry();
+    registry.metrics("jmx-before");
+    registry.registerMBeans();
+    try {
+      registry.metrics("jmx-after");
+
+      assertThat(ManagementFactory.getPlatformMBeanServer()
+          .isRegistered(new ObjectName("org.tinyj.lava.rex:type=InvocationMetrics,name=\"jmx-before\""))).isTrue();
+      assertThat(ManagementFactory.getPlatformMBeanServer()
+          .getAttribute(new ObjectName("org.tinyj.lava.rex:type=InvocationMetrics,name=\"jmx-after\""), "Invocations"))
+          .isEqualTo(0L);
+    } finally {
+      registry.unregisterMBeans();
+    }
+    assertThat(ManagementFactory.getPlatformMBeanServer()
+        .isRegistered(new ObjectName("org.tinyj.lava.rex:type=InvocationMetrics,name=\"jmx-before\""))).isFalse();
+  }
+
+  @Test
+  public void metrics_created_while_publishing_are_published() throws Exception {
+    final MetricsRegistry registry = new MetricsRegistry();
+    final Thread creator = new Thread(() -> {
+      for (int i = 0; i < 200; i++) {
+        registry.metrics("jmx-race-" + i);
+      }
+    });
+
+    creator.start();
+    registry.registerMBeans();
+    try {
+      creator.join();
+      for (int i = 0; i < 200; i++) {
+        assertThat(ManagementFactory.getPlatformMBeanServer()
+            .isRegistered(new ObjectName("org.tinyj.lava.rex:type=InvocationMetrics,name=\"jmx-race-" + i + "\"")))
+            .isTrue();
+      }
+    } finally {
+      registry.unregisterMBeans();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package org.tinyj.lava.rex;
+
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.tinyj.lava.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InvokeAllocationTest {
+
+  private static final int INVOCATIONS = 100_000;
+
+  private com.sun.management.ThreadMXBean threads;
+
+  private final LavaRunnable<Exception> runnable = () -> {};
+  private final LavaSupplier<String, Exception> supplier = () -> "x";
+  private final LavaFunction<String, String, Exception> function = x -> x;
+  private final LavaBiFunction<String, String, String, Exception> biFunction = (x, y) -> x;
+  private final LavaConsumer<String, Exception> consumer = x -> {};
+  private final LavaBiConsumer<String, String, Exception> biConsumer = (x, y) -> {};
+  private final LavaCondition<Exception> condition = () -> true;
+  private final LavaPredicate<String, Exception> predicate = Objects::nonNull;
+  private final LavaBiPredicate<String, String, Exception> biPredicate = Objects::equals;
+
+  @BeforeClass
+  public void setup() {
+    if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+      throw new SkipException("thread allocation counters not available");
+    }
+    threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    if (!threads.isThreadAllocatedMemorySupported()) {
+      throw new SkipException("thread allocation counters not available");
+    }
+    threads.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  public void invoke_runnable_allocates_nothing() {
+    assertThat(allocatedBytes(() -> Rex.invoke(runnable))).isLessThan(INVOCATIONS);
+  }
+
+  @Test
+  public void invoke_supplier_allocates_nothing() {
+    assertThat(allocatedBytes(() -> Rex.invoke(supplier))).isLessThan(INVOCATIONS);
+  }
+
+  @Test
+  public void invoke_function_allocates_nothing() {
+    assertThat(allocatedBytes(() -> Rex.invoke(function, "x"))).isLessThan(INVOCATIONS);
+  }
+
+  @Test
+  public void invoke_biFunction_allocates_nothing() {
+    assertThat(allocatedBytes(() -> Rex.invoke(biFunction, "x", "y"))).isLessThan(INVOCATIONS);
+  }
+
+  @Test
+  public void invoke_consumer_allocates_nothing() {
+    assertThat(allocatedBytes(() -> Rex.invoke(consumer, "x"))).isLessThan(INVOCATIONS);
+  }
+
+  @Test
+  public void invoke_biConsumer_allocates_nothing() {
+    assertThat(allocatedBytes(() -> Rex.invoke(biConsumer, "x", "y"))).isLessThan(INVOCATIONS);
+  }
+
+  @Test
+  public void invoke_condition_allocates_nothing() {
+    assertThat(allocatedBytes(() -> Rex.invoke(condition))).isLessThan(INVOCATIONS);
+  }
+
+  @Test
+  public void invoke_predicate_allocates_nothing() {
+    assertThat(allocatedBytes(() -> Rex.invoke(predicate, "x"))).isLessThan(INVOCATIONS);
+  }
+
+  @Test
+  public void invoke_biPredicate_allocates_nothing() {
+    assertThat(allocatedBytes(() -> Rex.invoke(biPredicate, "x", "y"))).isLessThan(INVOCATIONS);
+  }
+
+  /**
+   * Total bytes allocated by the current thread while running
+   * {@code invocation} {@value #INVOCATIONS} times. A single allocation per
+   * invocation amounts to at least 16 bytes each.
+   */
+  private long allocatedBytes(Runnable invocation) {
+    final long threadId = Thread.currentThread().getId();
+    final long start = threads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < INVOCATIONS; i++) {
+      invocation.run();
+    }
+    return threads.getThreadAllocatedBytes(threadId) - start;
+  }
+}
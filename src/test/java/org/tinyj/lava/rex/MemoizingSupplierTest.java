@@ -0,0 +1,100 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class MemoizingSupplierTest {
+
+  @Test
+  public void value_is_computed_once() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final MemoizingSupplier<Integer, ?> supplier = MemoizingSupplier.of(invocations::incrementAndGet);
+
+    assertThat(supplier.isComputed()).isFalse();
+    assertThat(supplier.get()).isEqualTo(1);
+    assertThat(supplier.get()).isEqualTo(1);
+    assertThat(supplier.isComputed()).isTrue();
+    assertThat(invocations.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void value_is_computed_once_under_contention() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final CountDownLatch start = new CountDownLatch(1);
+    final MemoizingSupplier<Integer, ?> supplier = MemoizingSupplier.of(() -> {
+      Thread.sleep(10);
+      return invocations.incrementAndGet();
+    });
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final Future<?>[] futures = new Future<?>[8];
+      for (int i = 0; i < futures.length; i++) {
+        futures[i] = executor.submit(() -> {
+          start.await();
+          return supplier.get();
+        });
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        assertThat(future.get()).isEqualTo(1);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(invocations.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void failures_are_retried_by_default() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final MemoizingSupplier<Integer, IOException> supplier = MemoizingSupplier.of(() -> {
+      if (invocations.incrementAndGet() == 1) {
+        throw new IOException();
+      }
+      return invocations.get();
+    });
+
+    assertThat(catchThrowable(supplier::checkedGet)).isInstanceOf(IOException.class);
+    assertThat(supplier.checkedGet()).isEqualTo(2);
+  }
+
+  @Test
+  public void cached_failure_is_rethrown() {
+    final AtomicInteger invocations = new AtomicInteger();
+    final IOException originalException = new IOException();
+    final MemoizingSupplier<Integer, IOException> supplier = MemoizingSupplier.cachingFailures(() -> {
+      invocations.incrementAndGet();
+      throw originalException;
+    });
+
+    assertThat(catchThrowable(supplier::checkedGet)).isSameAs(originalException);
+    assertThat(catchThrowable(supplier::checkedGet)).isSameAs(originalException);
+    assertThat(invocations.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void cached_failure_expires() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final MemoizingSupplier<Integer, IOException> supplier = MemoizingSupplier.cachingFailures(() -> {
+      if (invocations.incrementAndGet() == 1) {
+        throw new IOException();
+      }
+      return invocations.get();
+    }, Duration.ofMillis(20));
+
+    assertThat(catchThrowable(supplier::checkedGet)).isInstanceOf(IOException.class);
+    assertThat(catchThrowable(supplier::checkedGet)).isInstanceOf(IOException.class);
+    Thread.sleep(40);
+    assertThat(supplier.checkedGet()).isEqualTo(2);
+  }
+}
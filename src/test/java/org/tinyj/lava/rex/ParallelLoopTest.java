@@ -0,0 +1,105 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ParallelLoopTest {
+
+  private static List<Integer> range(int n) {
+    final List<Integer> list = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      list.add(i);
+    }
+    return list;
+  }
+
+  @Test
+  public void parallelMap_keeps_order() throws Exception {
+    final List<Integer> results = Rex.parallelMap(range(10_000), x -> x * 2, 4);
+
+    assertThat(results).hasSize(10_000);
+    for (int i = 0; i < results.size(); i++) {
+      assertThat(results.get(i)).isEqualTo(i * 2);
+    }
+  }
+
+  @Test
+  public void parallelMap_handles_empty_and_sequential_cases() throws Exception {
+    assertThat(Rex.parallelMap(Collections.<Integer>emptyList(), x -> x)).isEmpty();
+    assertThat(Rex.parallelMap(range(3), x -> x + 1, 1)).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  public void parallelForEach_visits_every_element_once() throws Exception {
+    final ConcurrentHashMap<Integer, Integer> visits = new ConcurrentHashMap<>();
+
+    Rex.parallelForEach(range(10_000), x -> visits.merge(x, 1, Integer::sum));
+    assertThat(visits).hasSize(10_000);
+    assertThat(visits.values()).containsOnly(1);
+  }
+
+  @Test
+  public void first_failure_is_rethrown_and_remaining_work_skipped() {
+    final IOException failure = new IOException();
+    final AtomicInteger invocations = new AtomicInteger();
+
+    final Throwable thrown = catchThrowable(() -> Rex.parallelForEach(range(100_000), x -> {
+      invocations.incrementAndGet();
+      if (x == 0) {
+        throw failure;
+      }
+      Thread.sleep(1);
+    }, 2));
+    assertThat(thrown).isSameAs(failure);
+    assertThat(invocations.get()).isLessThan(100_000);
+  }
+
+  @Test
+  public void concurrent_failures_are_suppressed() {
+    final CountDownLatch started = new CountDownLatch(4);
+
+    final Throwable thrown = catchThrowable(() -> Rex.parallelMap(range(4), x -> {
+      started.countDown();
+      if (!started.await(10, TimeUnit.SECONDS)) {
+        throw new IllegalStateException("elements did not run concurrently");
+      }
+      throw new IOException("element " + x);
+    }, 4));
+
+    assertThat(thrown).isInstanceOf(IOException.class);
+    assertThat(thrown.getSuppressed()).hasSize(3).allMatch(e -> e instanceof IOException);
+    final Set<String> messages = new HashSet<>();
+    messages.add(thrown.getMessage());
+    for (Throwable suppressed : thrown.getSuppressed()) {
+      messages.add(suppressed.getMessage());
+    }
+    assertThat(messages).containsOnly("element 0", "element 1", "element 2", "element 3");
+  }
+
+  @Test
+  public void parallelism_one_runs_on_calling_thread() throws Exception {
+    final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+
+    Rex.parallelForEach(range(10_000), x -> workers.add(Thread.currentThread()), 1);
+    assertThat(workers).containsOnly(Thread.currentThread());
+  }
+
+  @Test
+  public void invalid_parallelism_is_rejected() {
+    assertThat(catchThrowable(() -> Rex.parallelMap(range(1), x -> x, 0)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
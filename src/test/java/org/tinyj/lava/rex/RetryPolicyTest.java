@@ -0,0 +1,113 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RetryPolicyTest {
+
+  private static RetryPolicy.Builder noDelay() {
+    return RetryPolicy.builder().backoff(Duration.ZERO, Duration.ZERO);
+  }
+
+  @Test
+  public void success_is_returned_without_retry() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final RexSupplier<Integer, IOException> supplier = noDelay().build().supplier(invocations::incrementAndGet);
+
+    assertThat(supplier.checkedGet()).isEqualTo(1);
+    assertThat(invocations.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void transient_failures_are_retried() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final RexFunction<String, String, IOException> function = noDelay().maxAttempts(3).build()
+        .function((String x) -> {
+          if (invocations.incrementAndGet() < 3) {
+            throw new IOException();
+          }
+          return x;
+        });
+
+    assertThat(function.checkedApply("a")).isEqualTo("a");
+    assertThat(invocations.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void last_failure_is_rethrown_with_earlier_ones_suppressed() {
+    final AtomicInteger invocations = new AtomicInteger();
+    final RexRunnable<IOException> runnable = noDelay().maxAttempts(3).build()
+        .runnable(() -> {
+          throw new IOException("attempt " + invocations.incrementAndGet());
+        });
+
+    final Throwable thrown = catchThrowable(runnable::checkedRun);
+    assertThat(thrown).isInstanceOf(IOException.class).hasMessage("attempt 3");
+    assertThat(thrown.getSuppressed()).extracting(Throwable::getMessage).containsExactly("attempt 1", "attempt 2");
+  }
+
+  @Test
+  public void only_selected_types_are_retried() {
+    final AtomicInteger invocations = new AtomicInteger();
+    final RetryPolicy policy = noDelay().retryOn(FileNotFoundException.class).maxAttempts(5).build();
+    final RexConsumer<String, IOException> consumer = policy.consumer((String x) -> {
+      invocations.incrementAndGet();
+      throw new IOException(x);
+    });
+
+    assertThat(catchThrowable(() -> consumer.checkedAccept("a"))).isInstanceOf(IOException.class);
+    assertThat(invocations.get()).isEqualTo(1);
+    assertThat(policy.isRetryable(new FileNotFoundException())).isTrue();
+  }
+
+  @Test
+  public void unchecked_and_interrupted_exceptions_are_not_retried_by_default() {
+    final RetryPolicy policy = RetryPolicy.builder().build();
+
+    assertThat(policy.isRetryable(new IOException())).isTrue();
+    assertThat(policy.isRetryable(new IllegalStateException())).isFalse();
+    assertThat(policy.isRetryable(new InterruptedException())).isFalse();
+  }
+
+  @Test
+  public void retries_are_limited_by_shared_budget() {
+    final AtomicInteger invocations = new AtomicInteger();
+    final RetryBudget budget = RetryBudget.of(2, Duration.ofHours(1));
+    final RetryPolicy policy = noDelay().maxAttempts(10).budget(budget).build();
+    final RexSupplier<String, IOException> supplier = policy.supplier(() -> {
+      invocations.incrementAndGet();
+      throw new IOException();
+    });
+
+    assertThat(catchThrowable(supplier::checkedGet)).isInstanceOf(IOException.class);
+    assertThat(catchThrowable(supplier::checkedGet)).isInstanceOf(IOException.class);
+    assertThat(invocations.get()).isEqualTo(4);
+    assertThat(budget.tryAcquire()).isFalse();
+  }
+
+  @Test
+  public void backoff_delays_retries() throws Exception {
+    final AtomicInteger invocations = new AtomicInteger();
+    final RexSupplier<Integer, IOException> supplier = RetryPolicy.builder()
+        .backoff(Duration.ofMillis(20), Duration.ofMillis(20))
+        .jitter(0)
+        .build()
+        .supplier(() -> {
+          if (invocations.incrementAndGet() < 2) {
+            throw new IOException();
+          }
+          return invocations.get();
+        });
+
+    final long start = System.nanoTime();
+    assertThat(supplier.checkedGet()).isEqualTo(2);
+    assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+  }
+}
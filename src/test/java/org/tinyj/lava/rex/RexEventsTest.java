@@ -0,0 +1,91 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.tinyj.lava.LavaRunnable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RexEventsTest {
+
+  private final List<Object> events = new ArrayList<>();
+
+  private final RexEventListener recorder = new RexEventListener() {
+    @Override
+    public void checkedExceptionWrapped(Object lambda, Exception exception) {
+      events.add(lambda);
+      events.add(exception);
+    }
+
+    @Override
+    public void slowInvocation(String name, long nanos, Throwable failure) {
+      events.add(name);
+      events.add(failure);
+    }
+  };
+
+  @AfterMethod
+  public void disable_events() {
+    RexEvents.setListener(null);
+    RexEvents.setSlowInvocationThreshold(null);
+    events.clear();
+  }
+
+  @Test
+  public void wrapping_checked_exception_is_reported_with_lambda() {
+    final IOException failure = new IOException();
+    final RexFunction<String, String, IOException> function = x -> {
+      throw failure;
+    };
+    RexEvents.setListener(recorder);
+
+    catchThrowable(() -> function.apply("a"));
+    catchThrowable(() -> Rex.invoke(function, "a"));
+    assertThat(events).containsExactly(function, failure, function, failure);
+  }
+
+  @Test
+  public void unchecked_exceptions_are_not_reported() {
+    final RexRunnable<?> runnable = () -> {
+      throw new IllegalStateException();
+    };
+    RexEvents.setListener(recorder);
+
+    catchThrowable(runnable::run);
+    assertThat(events).isEmpty();
+  }
+
+  @Test
+  public void failing_listener_does_not_mask_exception() {
+    final IOException failure = new IOException();
+    RexEvents.setListener(new RexEventListener() {
+      @Override
+      public void checkedExceptionWrapped(Object lambda, Exception exception) {
+        throw new IllegalStateException();
+      }
+    });
+
+    final LavaRunnable<IOException> failing = () -> {
+      throw failure;
+    };
+
+    assertThat(catchThrowable(() -> Rex.invoke(failing))).hasCause(failure);
+  }
+
+  @Test
+  public void slow_instrumented_invocations_are_reported() throws Exception {
+    RexEvents.setListener(recorder);
+    RexEvents.setSlowInvocationThreshold(Duration.ofMillis(5));
+
+    Rex.instrumented("events-fast", () -> {}).checkedRun();
+    Rex.instrumented("events-slow", () -> Thread.sleep(10)).checkedRun();
+    assertThat(events).containsExactly("events-slow", null);
+    assertThat(RexEvents.getSlowInvocationThreshold()).isEqualTo(Duration.ofMillis(5));
+  }
+}
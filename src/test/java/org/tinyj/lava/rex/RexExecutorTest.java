@@ -0,0 +1,75 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+import org.tinyj.lava.LavaSupplier;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RexExecutorTest {
+
+  private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+  private final RexExecutor executor = new RexExecutor(executorService);
+
+  @AfterClass
+  public void shutdown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void checked_exception_from_supplier_causes_execution_exception() throws Exception {
+    final Exception originalException = new IOException();
+
+    final Future<Object> future = executor.submit(() -> { throw originalException; });
+    final Throwable thrown = catchThrowable(future::get);
+
+    assertThat(thrown)
+        .isInstanceOf(ExecutionException.class)
+        .hasCause(originalException);
+  }
+
+  @Test
+  public void checked_exception_from_runnable_causes_execution_exception() throws Exception {
+    final Exception originalException = new IOException();
+
+    final Future<Void> future = executor.submit(Rex.runnable(() -> { throw originalException; }));
+    final Throwable thrown = catchThrowable(future::get);
+
+    assertThat(thrown)
+        .isInstanceOf(ExecutionException.class)
+        .hasCause(originalException);
+  }
+
+  @Test
+  public void invokeAll_returns_futures_in_task_order() throws Exception {
+    final List<LavaSupplier<String, ?>> tasks = Arrays.asList(() -> "x", () -> "y");
+
+    final List<Future<String>> futures = executor.invokeAll(tasks);
+
+    assertThat(futures.get(0).get()).isEqualTo("x");
+    assertThat(futures.get(1).get()).isEqualTo("y");
+  }
+
+  @Test
+  public void invokeAny_returns_result_of_successful_task() throws Exception {
+    final List<LavaSupplier<String, ?>> tasks = Arrays.asList(() -> { throw new IOException(); }, () -> "y");
+
+    assertThat(executor.invokeAny(tasks)).isEqualTo("y");
+  }
+
+  @Test
+  public void callable_returns_rex_callable_as_is() {
+    final RexCallable<String, ?> callable = () -> "x";
+
+    assertThat(Rex.callable(callable)).isSameAs(callable);
+  }
+}
@@ -0,0 +1,74 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.io.IOException;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RexPrimitiveTest {
+
+  @Test
+  public void primitive_lambdas_are_usable_in_primitive_streams() {
+    final int result = Stream.of("1", "2", "3")
+        .mapToInt(Rex.toIntFunction(RexPrimitiveTest::parse))
+        .map(Rex.intUnaryOp(x -> x * 2))
+        .filter(Rex.intPredicate(x -> x > 2))
+        .sum();
+
+    assertThat(result).isEqualTo(10);
+  }
+
+  @Test
+  public void checked_exception_from_intUnaryOperator_is_wrapped_into_unchecked_exception() {
+    final Exception originalException = new IOException();
+
+    final Throwable thrown = catchThrowable(() -> IntStream.of(1)
+        .map(Rex.intUnaryOp(x -> { throw originalException; }))
+        .sum());
+
+    assertThat(thrown)
+        .isInstanceOf(WrappedCheckedException.class)
+        .hasCause(originalException);
+  }
+
+  @Test
+  public void unchecked_exception_from_longPredicate_falls_through() {
+    final RuntimeException originalException = new RuntimeException();
+
+    final Throwable thrown = catchThrowable(() -> LongStream.of(1)
+        .filter(Rex.longPredicate(x -> { throw originalException; }))
+        .count());
+
+    assertThat(thrown).isSameAs(originalException);
+  }
+
+  @Test
+  public void invoke_doubleBinaryOperator_wraps_checked_exception() {
+    final Exception originalException = new IOException();
+    final RexDoubleBinaryOperator<?> operator = (x, y) -> { throw originalException; };
+
+    final Throwable thrown = catchThrowable(() -> Rex.invoke(operator, 1.0, 2.0));
+
+    assertThat(thrown)
+        .isInstanceOf(WrappedCheckedException.class)
+        .hasCause(originalException);
+  }
+
+  @Test
+  public void objIntConsumer_accepts_unboxed_values() {
+    final StringBuilder result = IntStream.range(0, 3)
+        .collect(StringBuilder::new, Rex.objIntConsumer(StringBuilder::append), StringBuilder::append);
+
+    assertThat(result.toString()).isEqualTo("012");
+  }
+
+  private static int parse(String s) throws IOException {
+    return Integer.parseInt(s);
+  }
+}
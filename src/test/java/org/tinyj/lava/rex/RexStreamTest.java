@@ -0,0 +1,62 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RexStreamTest {
+
+  @Test
+  public void stages_accept_lava_lambdas() throws Exception {
+    assertThat(RexStream.of(Stream.of("1", "2", "3"), IOException.class)
+        .map(RexStreamTest::parse)
+        .filter(x -> x > 1)
+        .toList())
+        .containsExactly(2, 3);
+  }
+
+  @Test
+  public void terminal_operation_rethrows_original_exception() {
+    final IOException originalException = new IOException();
+
+    final Throwable thrown = catchThrowable(() -> RexStream.of(Stream.of("x"), IOException.class)
+        .map(x -> { throw originalException; })
+        .toList());
+
+    assertThat(thrown).isSameAs(originalException);
+  }
+
+  @Test
+  public void terminal_operation_rethrows_original_exception_of_parallel_stream() {
+    final IOException originalException = new IOException();
+
+    final Throwable thrown = catchThrowable(() -> RexStream.of(IntStream.range(0, 10_000).boxed(), IOException.class)
+        .parallel()
+        .forEach(x -> {
+          if (x == 5_000) {
+            throw originalException;
+          }
+        }));
+
+    assertThat(thrown).isSameAs(originalException);
+  }
+
+  @Test
+  public void unchecked_exception_falls_through() {
+    final RuntimeException originalException = new RuntimeException();
+
+    final Throwable thrown = catchThrowable(() -> RexStream.of(Stream.of("x"), IOException.class)
+        .anyMatch(x -> { throw originalException; }));
+
+    assertThat(thrown).isSameAs(originalException);
+  }
+
+  private static int parse(String s) throws IOException {
+    return Integer.parseInt(s);
+  }
+}
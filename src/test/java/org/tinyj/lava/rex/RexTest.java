@@ -355,6 +355,69 @@ public class RexTest {
     assertThat(result).isTrue();
   }
 
+  @Test
+  public void rex_returns_rex_runnable_as_is() throws Exception {
+    final RexRunnable<?> rexRunnable = () -> {};
+
+    assertThat(rex(rexRunnable)).isSameAs(rexRunnable);
+  }
+
+  @Test
+  public void rex_returns_rex_consumer_as_is() throws Exception {
+    final RexConsumer<String, ?> rexConsumer = x -> {};
+
+    assertThat(rex(rexConsumer)).isSameAs(rexConsumer);
+  }
+
+  @Test
+  public void rex_returns_rex_biConsumer_as_is() throws Exception {
+    final RexBiConsumer<String, String, ?> rexBiConsumer = (x, y) -> {};
+
+    assertThat(rex(rexBiConsumer)).isSameAs(rexBiConsumer);
+  }
+
+  @Test
+  public void rex_returns_rex_supplier_as_is() throws Exception {
+    final RexSupplier<String, ?> rexSupplier = () -> "x";
+
+    assertThat(rex(rexSupplier)).isSameAs(rexSupplier);
+  }
+
+  @Test
+  public void rex_returns_rex_function_as_is() throws Exception {
+    final RexFunction<String, String, ?> rexFunction = x -> x;
+
+    assertThat(rex(rexFunction)).isSameAs(rexFunction);
+  }
+
+  @Test
+  public void rex_returns_rex_biFunction_as_is() throws Exception {
+    final RexBiFunction<String, String, String, ?> rexBiFunction = (x, y) -> x;
+
+    assertThat(rex(rexBiFunction)).isSameAs(rexBiFunction);
+  }
+
+  @Test
+  public void rex_returns_rex_condition_as_is() throws Exception {
+    final RexCondition<?> rexCondition = () -> true;
+
+    assertThat(rex(rexCondition)).isSameAs(rexCondition);
+  }
+
+  @Test
+  public void rex_returns_rex_predicate_as_is() throws Exception {
+    final RexPredicate<String, ?> rexPredicate = x -> true;
+
+    assertThat(rex(rexPredicate)).isSameAs(rexPredicate);
+  }
+
+  @Test
+  public void rex_returns_rex_biPredicate_as_is() throws Exception {
+    final RexBiPredicate<String, String, ?> rexBiPredicate = (x, y) -> true;
+
+    assertThat(rex(rexBiPredicate)).isSameAs(rexBiPredicate);
+  }
+
   private static <T, E extends Exception> T raise(E e) throws E {
     throw e;
   }
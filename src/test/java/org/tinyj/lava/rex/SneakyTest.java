@@ -0,0 +1,50 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+import org.tinyj.lava.LavaFunction;
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SneakyTest {
+
+  @Test
+  public void sneaky_bridge_rethrows_checked_exception_unchanged() {
+    final IOException originalException = new IOException();
+    final LavaFunction<String, String, IOException> checked = x -> { throw originalException; };
+    final Function<String, String> function = Rex.sneaky(checked);
+
+    assertThat(catchThrowable(() -> function.apply("x"))).isSameAs(originalException);
+  }
+
+  @Test
+  public void rethrowing_restores_checked_exception_type() {
+    final IOException originalException = new IOException();
+    final LavaFunction<String, String, IOException> checked = x -> { throw originalException; };
+
+    try {
+      Rex.rethrowing(IOException.class, () -> Rex.sneaky(checked).apply("x"));
+    } catch (IOException e) {
+      assertThat(e).isSameAs(originalException);
+      return;
+    }
+    throw new AssertionError("IOException expected");
+  }
+
+  @Test
+  public void rethrowing_wraps_other_checked_exceptions() {
+    final SQLException originalException = new SQLException();
+    final LavaFunction<String, String, SQLException> checked = x -> { throw originalException; };
+
+    final Throwable thrown = catchThrowable(() -> Rex.rethrowing(IOException.class, () -> Rex.sneaky(checked).apply("x")));
+
+    assertThat(thrown)
+        .isInstanceOf(WrappedCheckedException.class)
+        .hasCause(originalException);
+  }
+}
@@ -0,0 +1,115 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.Test;
+import org.tinyj.lava.LavaSupplier;
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SourceSpliteratorTest {
+
+  @Test
+  public void stream_ends_with_empty_optional() {
+    assertThat(Rex.stream(source(5, new AtomicInteger())).collect(Collectors.toList()))
+        .containsExactly(0, 1, 2, 3, 4);
+  }
+
+  @Test
+  public void prefetching_stream_keeps_order() {
+    assertThat(Rex.stream(source(1000, new AtomicInteger()), 16).collect(Collectors.toList()))
+        .hasSize(1000)
+        .isSorted();
+  }
+
+  @Test
+  public void stream_is_ordered_and_nonnull() {
+    final Spliterator<Integer> spliterator = Rex.stream(source(5, new AtomicInteger())).spliterator();
+
+    assertThat(spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.NONNULL)).isTrue();
+  }
+
+  @Test
+  public void parallel_stream_splits_into_batches() {
+    final long sum = Rex.stream(source(100_000, new AtomicInteger()), 64)
+        .parallel()
+        .mapToLong(x -> x)
+        .sum();
+
+    assertThat(sum).isEqualTo(4_999_950_000L);
+  }
+
+  @Test
+  public void source_failure_is_wrapped() {
+    final IOException originalException = new IOException();
+
+    final Throwable thrown = catchThrowable(() -> Rex.stream(failing(3, originalException), 4).count());
+
+    assertThat(thrown)
+        .isInstanceOf(WrappedCheckedException.class)
+        .hasCause(originalException);
+  }
+
+  @Test
+  public void elements_before_failure_are_delivered() {
+    final IOException originalException = new IOException();
+    final AtomicInteger delivered = new AtomicInteger();
+
+    catchThrowable(() -> Rex.stream(failing(3, originalException), 4).forEach(x -> delivered.incrementAndGet()));
+
+    assertThat(delivered.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void rex_stream_rethrows_source_failure_unchanged() {
+    final IOException originalException = new IOException();
+
+    final Throwable thrown = catchThrowable(() -> RexStream.generate(failing(3, originalException), 4).toList());
+
+    assertThat(thrown).isSameAs(originalException);
+  }
+
+  @Test
+  public void closing_stream_stops_prefetching() throws Exception {
+    final AtomicInteger fetched = new AtomicInteger();
+
+    try (Stream<Integer> stream = Rex.stream(source(Integer.MAX_VALUE, fetched), 8)) {
+      assertThat(stream.findFirst()).contains(0);
+    }
+    Thread.sleep(50);
+    final int afterClose = fetched.get();
+    Thread.sleep(50);
+
+    assertThat(fetched.get()).isEqualTo(afterClose).isLessThan(100);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void prefetch_must_not_be_negative() {
+    Rex.stream(source(1, new AtomicInteger()), -1);
+  }
+
+  private static LavaSupplier<Optional<Integer>, IOException> source(int size, AtomicInteger fetched) {
+    return () -> {
+      final int next = fetched.getAndIncrement();
+      return next < size ? Optional.of(next) : Optional.empty();
+    };
+  }
+
+  private static LavaSupplier<Optional<Integer>, IOException> failing(int failAt, IOException failure) {
+    final AtomicInteger fetched = new AtomicInteger();
+    return () -> {
+      final int next = fetched.getAndIncrement();
+      if (next == failAt) {
+        throw failure;
+      }
+      return Optional.of(next);
+    };
+  }
+}
@@ -0,0 +1,115 @@
+package org.tinyj.lava.rex;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.tinyj.lava.WrappedCheckedException;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.tinyj.lava.utils.LavaFun.function;
+
+public class StackTracePolicyTest {
+
+  @AfterMethod
+  public void restore_default_policy() {
+    StackTracePolicy.setDefault(StackTracePolicy.full());
+  }
+
+  @Test
+  public void full_policy_captures_stack_trace() {
+    final Exception originalException = new IOException();
+
+    final RuntimeException wrapped = StackTracePolicy.full().wrap(originalException);
+
+    assertThat(wrapped)
+        .isInstanceOf(WrappedCheckedException.class)
+        .hasCause(originalException);
+    assertThat(wrapped.getStackTrace()).isNotEmpty();
+  }
+
+  @Test
+  public void none_policy_captures_no_stack_trace() {
+    final Exception originalException = new IOException();
+
+    final RuntimeException wrapped = StackTracePolicy.none().wrap(originalException);
+
+    assertThat(wrapped)
+        .isInstanceOf(WrappedCheckedException.class)
+        .hasCause(originalException);
+    assertThat(wrapped.getStackTrace()).isEmpty();
+    assertThat(originalException.getStackTrace()).isNotEmpty();
+  }
+
+  @Test
+  public void sampled_policy_captures_some_stack_traces() {
+    final StackTracePolicy policy = StackTracePolicy.sampled(4);
+    int captured = 0;
+
+    for (int i = 0; i < 1000; i++) {
+      if (policy.wrap(new IOException()).getStackTrace().length > 0) {
+        captured++;
+      }
+    }
+
+    assertThat(captured).isBetween(1, 999);
+  }
+
+  @Test
+  public void unchecked_exception_is_not_wrapped() {
+    final RuntimeException originalException = new RuntimeException();
+
+    assertThat(StackTracePolicy.none().wrap(originalException)).isSameAs(originalException);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void sample_rate_must_be_positive() {
+    StackTracePolicy.sampled(0);
+  }
+
+  @Test
+  public void default_policy_applies_to_rex_interfaces() {
+    final Exception originalException = new IOException();
+    StackTracePolicy.setDefault(StackTracePolicy.none());
+
+    final Throwable thrown = catchThrowable(() -> Rex.rex(function(x -> { throw originalException; })).apply("x"));
+
+    assertThat(thrown)
+        .isInstanceOf(WrappedCheckedException.class)
+        .hasCause(originalException);
+    assertThat(thrown.getStackTrace()).isEmpty();
+  }
+
+  @Test
+  public void per_wrapper_policy_overrides_default_policy() {
+    final Exception originalException = new IOException();
+
+    final Throwable thrown = catchThrowable(() -> StackTracePolicy.none().rex(function(x -> { throw originalException; })).apply("x"));
+
+    assertThat(thrown)
+        .isInstanceOf(WrappedCheckedException.class)
+        .hasCause(originalException);
+    assertThat(thrown.getStackTrace()).isEmpty();
+  }
+
+  @Test
+  public void bridging_twice_with_same_policy_returns_bridge_as_is() {
+    final StackTracePolicy policy = StackTracePolicy.sampled(8);
+    final RexFunction<String, String, ?> bridged = policy.rex(function(x -> x));
+
+    assertThat(policy.rex(bridged)).isSameAs(bridged);
+    assertThat(Rex.rex(bridged)).isSameAs(bridged);
+  }
+
+  @Test
+  public void bridging_with_another_policy_replaces_bridge() {
+    final Exception originalException = new IOException();
+    final RexFunction<String, String, ?> bridged = StackTracePolicy.full().rex(function(x -> { throw originalException; }));
+
+    final Throwable thrown = catchThrowable(() -> StackTracePolicy.none().rex(bridged).apply("x"));
+
+    assertThat(thrown).hasCause(originalException);
+    assertThat(thrown.getStackTrace()).isEmpty();
+  }
+}